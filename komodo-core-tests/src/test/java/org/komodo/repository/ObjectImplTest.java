@@ -33,6 +33,7 @@ import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.komodo.core.KomodoLexicon;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.KomodoObject;
@@ -209,6 +210,14 @@ public final class ObjectImplTest extends AbstractLocalRepositoryTest {
         assertThat( this.kobject.getTypeIdentifier( getTransaction() ), is( KomodoType.UNKNOWN ) );
     }
 
+    @Test
+    public void shouldIdentifyTypeAfterPrimaryTypeChanges() throws Exception {
+        assertThat( this.kobject.getTypeIdentifier( getTransaction() ), is( KomodoType.UNKNOWN ) );
+
+        this.kobject.setPrimaryType( getTransaction(), KomodoLexicon.Folder.NODE_TYPE );
+        assertThat( this.kobject.getTypeIdentifier( getTransaction() ), is( KomodoType.FOLDER ) );
+    }
+
     @Test
     public void shouldNotAllowRemovingObjectsWithReservedPaths() throws Exception {
         for ( final String reservedPath : RepositoryImpl.getReservedPaths(getTransaction()) ) {
@@ -354,6 +363,36 @@ public final class ObjectImplTest extends AbstractLocalRepositoryTest {
         assertThat( _repo.komodoWorkspace( getTransaction() ).getChildren( getTransaction() ).length, is( 0 ) );
     }
 
+    @Test
+    public void shouldNotFindRemovedChildAfterItWasAccessed() throws Exception {
+        final String name = "kid";
+        final KomodoObject child = this.kobject.addChild( getTransaction(), name, null );
+        assertThat( child.getName( getTransaction() ), is( name ) );
+
+        this.kobject.removeChild( getTransaction(), name );
+        assertThat( this.kobject.hasChild( getTransaction(), name ), is( false ) );
+
+        try {
+            child.getName( getTransaction() );
+            fail();
+        } catch ( final KException e ) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldFindRenamedObjectAfterItWasAccessed() throws Exception {
+        final String name = "kid";
+        final String newName = "newKid";
+        final KomodoObject child = this.kobject.addChild( getTransaction(), name, null );
+        assertThat( child.getName( getTransaction() ), is( name ) );
+
+        child.rename( getTransaction(), newName );
+        assertThat( child.getName( getTransaction() ), is( newName ) );
+        assertThat( this.kobject.hasChild( getTransaction(), name ), is( false ) );
+        assertThat( this.kobject.hasChild( getTransaction(), newName ), is( true ) );
+    }
+
     @Test
     @Ignore("Mapping issue MODE-2463 - a remove then a re-add cannot be conducted in the same transaction")
     public void testRemoveThenAdd() throws Exception {
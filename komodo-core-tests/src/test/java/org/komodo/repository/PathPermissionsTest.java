@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import org.junit.Test;
+import org.komodo.spi.repository.Repository.OperationType;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public final class PathPermissionsTest {
+
+    private final PathPermissions permissions = new PathPermissions()
+        .allow( OperationType.READ_OPERATION, "/a/b", PathPermissions.Scope.SELF )
+        .allow( OperationType.READ_OPERATION, "/a/b/" + PathPermissions.HOME, PathPermissions.Scope.SUBTREE )
+        .allow( OperationType.READ_OPERATION, "/a/b/" + PathPermissions.ANY, PathPermissions.Scope.SELF )
+        .allow( OperationType.REMOVE_OPERATION, "/a/c", PathPermissions.Scope.DESCENDANTS );
+
+    @Test
+    public void shouldAllowSelf() {
+        assertThat( this.permissions.isAllowed( OperationType.READ_OPERATION, "/a/b", "bob" ), is( true ) );
+        assertThat( this.permissions.isAllowed( OperationType.READ_OPERATION, "/a/b/", "bob" ), is( true ) );
+        assertThat( this.permissions.isAllowed( OperationType.READ_OPERATION, "/a", "bob" ), is( false ) );
+    }
+
+    @Test
+    public void shouldAllowSubtreeOfHome() {
+        assertThat( this.permissions.isAllowed( OperationType.READ_OPERATION, "/a/b/bob", "bob" ), is( true ) );
+        assertThat( this.permissions.isAllowed( OperationType.READ_OPERATION, "/a/b/bob/x/y", "bob" ), is( true ) );
+    }
+
+    @Test
+    public void shouldAllowOnlyAnyOtherHomeItself() {
+        assertThat( this.permissions.isAllowed( OperationType.READ_OPERATION, "/a/b/alice", "bob" ), is( true ) );
+        assertThat( this.permissions.isAllowed( OperationType.READ_OPERATION, "/a/b/alice/x", "bob" ), is( false ) );
+    }
+
+    @Test
+    public void shouldMatchWholeSegments() {
+        assertThat( this.permissions.isAllowed( OperationType.READ_OPERATION, "/a/b/bobby/x", "bob" ), is( false ) );
+        assertThat( this.permissions.isAllowed( OperationType.REMOVE_OPERATION, "/a/cd/x", "bob" ), is( false ) );
+    }
+
+    @Test
+    public void shouldAllowOnlyDescendants() {
+        assertThat( this.permissions.isAllowed( OperationType.REMOVE_OPERATION, "/a/c", "bob" ), is( false ) );
+        assertThat( this.permissions.isAllowed( OperationType.REMOVE_OPERATION, "/a/c/x", "bob" ), is( true ) );
+    }
+
+    @Test
+    public void shouldNotAllowOperationWithoutRules() {
+        assertThat( this.permissions.isAllowed( OperationType.CHILD_OPERATION, "/a/b", "bob" ), is( false ) );
+    }
+
+}
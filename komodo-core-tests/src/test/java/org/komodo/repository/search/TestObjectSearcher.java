@@ -23,21 +23,26 @@ package org.komodo.repository.search;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.core.KomodoLexicon.Search;
 import org.komodo.core.KomodoLexicon.Search.WhereClause;
+import org.komodo.repository.IndexRegistry;
 import org.komodo.repository.RepositoryImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.query.LogicalOperator;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository.KeywordCriteria;
+import org.komodo.spi.repository.Repository.QueryCursor;
+import org.komodo.spi.repository.Repository.QueryRow;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.test.utils.AbstractLocalRepositoryTest;
 import org.modeshape.jcr.JcrNtLexicon;
@@ -273,6 +278,20 @@ public class TestObjectSearcher extends AbstractLocalRepositoryTest {
         assertEquals(expected, os.toString(getTransaction()));
     }
 
+    @Test
+    public void addWhereClauseContainsOrderedByScore() throws Exception {
+        String expected = "SELECT [jcr:path], [mode:localName] FROM [nt:unstructured] AS p1 " +
+                                    "WHERE ISDESCENDANTNODE('p1', '" + userWksp + "') AND ( " +
+                                     "CONTAINS(p1.[name], 'bob')" +
+                                     " ) ORDER BY SCORE(p1) DESC";
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(JcrConstants.NT_UNSTRUCTURED, "p1");
+        os.addWhereContainsClause(null, "p1", "name", "bob");
+        os.setOrderByScore(true);
+
+        assertEquals(expected, os.toString(getTransaction()));
+    }
+
     @Test
     public void addWhereClauseComparisonProperty() throws Exception {
         String expected = "SELECT [jcr:path], [mode:localName] FROM [nt:unstructured] AS p1 " +
@@ -354,6 +373,90 @@ public class TestObjectSearcher extends AbstractLocalRepositoryTest {
         assertEquals(testNodes.length, searchObjects.size());
     }
 
+    @Test
+    public void executePagedQuery() throws Exception {
+        KomodoObject[] testNodes = createTestData();
+
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(KomodoLexicon.VdbModel.NODE_TYPE);
+
+        QueryCursor cursor = os.searchObjects(getTransaction(), 1, 2, true);
+        assertEquals(testNodes.length, cursor.getTotal());
+        assertTrue(cursor.hasNext());
+        assertNotNull(cursor.next());
+        assertTrue(cursor.hasNext());
+        assertNotNull(cursor.next());
+        assertFalse(cursor.hasNext());
+
+        cursor = os.searchObjects(getTransaction(), 4, -1, false);
+        assertEquals(QueryCursor.TOTAL_NOT_COUNTED, cursor.getTotal());
+        assertTrue(cursor.hasNext());
+        cursor.next();
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void executePagedQueryCountingTotalBeyondLastPage() throws Exception {
+        KomodoObject[] testNodes = createTestData();
+
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(KomodoLexicon.VdbModel.NODE_TYPE);
+
+        // the last page is only as long as the remaining matches
+        QueryCursor cursor = os.searchObjects(getTransaction(), testNodes.length - 1, 2, true);
+        assertEquals(testNodes.length, cursor.getTotal());
+        assertTrue(cursor.hasNext());
+        assertNotNull(cursor.next());
+        assertFalse(cursor.hasNext());
+
+        cursor = os.searchObjects(getTransaction(), testNodes.length + 1, 2, true);
+        assertEquals(testNodes.length, cursor.getTotal());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void selectColumns() throws Exception {
+        String expected = "SELECT [jcr:path], [mode:localName], [vdb:modelDefinition] FROM [tko:workspace] " +
+                                        "WHERE ISDESCENDANTNODE('" + userWksp + "')";
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(KomodoLexicon.Komodo.WORKSPACE, null);
+        os.addSelectColumn(KomodoLexicon.VdbModel.MODEL_DEFINITION);
+        os.addSelectColumn(KomodoLexicon.VdbModel.MODEL_DEFINITION);
+        assertEquals(expected, os.toString(getTransaction()));
+    }
+
+    @Test
+    public void executeProjectionQuery() throws Exception {
+        KomodoObject[] testNodes = createTestData();
+
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(KomodoLexicon.VdbModel.NODE_TYPE, "nt");
+        os.addSelectColumn(KomodoLexicon.VdbModel.MODEL_DEFINITION);
+
+        List<QueryRow> rows = os.searchRows(getTransaction(), 0, -1);
+        assertEquals(testNodes.length, rows.size());
+
+        for (QueryRow row : rows) {
+            assertTrue(row.getPath().startsWith(userWksp));
+            assertTrue(row.getValue("mode:localName").startsWith("test"));
+            assertEquals(DDL, row.getValue(KomodoLexicon.VdbModel.MODEL_DEFINITION));
+        }
+
+        assertEquals(2, os.searchRows(getTransaction(), 3, 5).size());
+    }
+
+    @Test( expected = KException.class )
+    public void shouldFailWhenPagedQueryIsExhausted() throws Exception {
+        createTestData();
+
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(KomodoLexicon.VdbModel.NODE_TYPE);
+
+        QueryCursor cursor = os.searchObjects(getTransaction(), 5, 1, false);
+        assertFalse(cursor.hasNext());
+        cursor.next();
+    }
+
     @Test
     public void executeFromQueryWithWhere() throws Exception {
         assertNotNull(_repo);
@@ -385,6 +488,53 @@ public class TestObjectSearcher extends AbstractLocalRepositoryTest {
         }
     }
 
+    @Test
+    public void executeRankedKeywordQueryWithHighlighting() throws Exception {
+        KomodoObject workspace = _repo.komodoWorkspace(getTransaction());
+        KomodoObject[] testNodes = createTestData();
+        testNodes[0].setProperty(getTransaction(), KomodoLexicon.VdbModel.MODEL_DEFINITION, "CREATE VIEW orders AS SELECT * FROM customers");
+        commit();
+
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(JcrConstants.NT_UNSTRUCTURED, "nt");
+        os.addWhereContainsClause(null, "nt", KomodoLexicon.VdbModel.MODEL_DEFINITION, "customers");
+        os.setOrderByScore(true);
+
+        List<KomodoObject> searchObjects = os.searchObjects(getTransaction());
+        assertEquals(1, searchObjects.size());
+        assertEquals(testNodes[0].getAbsolutePath(), searchObjects.get(0).getAbsolutePath());
+        assertEquals(workspace.getAbsolutePath(), searchObjects.get(0).getParent(getTransaction()).getAbsolutePath());
+
+        assertEquals("...FROM <b>customers</b>", os.highlight(getTransaction(), searchObjects.get(0), 14));
+        assertEquals("CREATE VIEW orders AS SELECT * FROM <b>customers</b>", os.highlight(getTransaction(), searchObjects.get(0), -1));
+    }
+
+    @Test
+    public void executeIndexedKeywordQuery() throws Exception {
+        KomodoObject[] testNodes = createTestData();
+
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(KomodoLexicon.VdbModel.NODE_TYPE, "nt");
+        os.addWhereKeywordClause(null, "nt", "test");
+
+        // only the name index covers the type and the keyword is matched as a prefix
+        String expected = "SELECT [jcr:path], [mode:localName] FROM [tko:vdbModel] AS nt " +
+                                         "WHERE ISDESCENDANTNODE('nt', '" + userWksp + "') AND ( " +
+                                         "CONTAINS(nt.[mode:localName], 'test*')" +
+                                         " )";
+        assertEquals(expected, os.toString(getTransaction()));
+        assertEquals(testNodes.length, os.searchObjects(getTransaction()).size());
+
+        // the plan answers the keyword from the full-text index instead of scanning
+        IndexRegistry registry = ((RepositoryImpl)_repo).getIndexRegistry();
+        String query = "SELECT [jcr:path] FROM [tko:vdbModel] AS nt WHERE CONTAINS(nt.[mode:localName], 'test*')";
+        assertEquals(testNodes.length, _repo.query(getTransaction(), query).size());
+
+        String[] indexes = registry.getIndexesUsed(query);
+        assertNotNull(indexes);
+        assertTrue(Arrays.asList(indexes).contains("textByName"));
+    }
+
     @Test
     public void executeFromQueryWithParentWhere() throws Exception {
         int sourceTotal = 5;
@@ -1135,4 +1285,24 @@ public class TestObjectSearcher extends AbstractLocalRepositoryTest {
             // Nothing to do
         }
     }
+
+    @Test
+    public void shouldBindParameterValuesOfPreparedSearch() throws Exception {
+        createTestData();
+
+        String alias = JcrNtLexicon.Namespace.PREFIX;
+        ObjectSearcher os = new ObjectSearcher(_repo);
+        os.setFromType(KomodoLexicon.VdbModel.NODE_TYPE, alias);
+        os.addWhereCompareClause(null, alias, KomodoLexicon.VdbModel.MODEL_DEFINITION, ComparisonOperator.EQUALS, "{definition}");
+
+        os.setParameterValue("definition", DDL);
+        assertEquals(5, os.searchObjects(getTransaction()).size());
+
+        // same statement so the prepared query is reused with the new value
+        os.setParameterValue("definition", TEIIDSQL);
+        assertEquals(0, os.searchObjects(getTransaction()).size());
+
+        os.setParameterValue("definition", "it's " + DDL);
+        assertEquals(0, os.searchObjects(getTransaction()).size());
+    }
 }
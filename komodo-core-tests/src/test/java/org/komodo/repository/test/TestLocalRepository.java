@@ -30,29 +30,56 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Method;
+import java.net.URLEncoder;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 import javax.jcr.Node;
+import javax.jcr.Session;
+import javax.management.ObjectName;
 import org.junit.Before;
 import org.junit.Test;
 import org.komodo.core.KomodoLexicon;
+import org.komodo.repository.IndexRegistry;
 import org.komodo.repository.ObjectImpl;
+import org.komodo.repository.PreparedQueryCache;
 import org.komodo.repository.RepositoryImpl;
+import org.komodo.repository.RepositoryImpl.UnitOfWorkImpl;
 import org.komodo.repository.SynchronousCallback;
 import org.komodo.repository.SynchronousNestedCallback;
+import org.komodo.repository.TransactionMetrics;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.Descriptor;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.BulkLoad;
+import org.komodo.spi.repository.Repository.BulkLoadListener;
+import org.komodo.spi.repository.Repository.ClearListener;
 import org.komodo.spi.repository.Repository.Id;
 import org.komodo.spi.repository.Repository.KeywordCriteria;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
 import org.komodo.spi.repository.Repository.UnitOfWorkListener;
+import org.komodo.spi.repository.RepositoryChange;
+import org.komodo.spi.repository.RepositoryChangeListener;
+import org.komodo.spi.repository.RepositoryObserver;
 import org.komodo.test.utils.AbstractLocalRepositoryTest;
 import org.modeshape.jcr.JcrNtLexicon;
 import org.teiid.modeshape.sequencer.vdb.lexicon.VdbLexicon;
@@ -232,6 +259,575 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
         transaction.commit();
     }
 
+    @Test
+    public void shouldReuseSessionOfRollbackTransaction() throws Exception {
+        final SynchronousCallback firstCallback = new SynchronousCallback();
+        final UnitOfWork first = _repo.createTransaction(TEST_USER, "firstReadTx", true, firstCallback);
+        final Session firstSession = session(first);
+        first.commit();
+
+        assertTrue(firstCallback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertFalse(firstCallback.hasError());
+        assertThat(first.getState(), is(State.ROLLED_BACK));
+        assertThat(firstSession.isLive(), is(true));
+
+        final SynchronousCallback secondCallback = new SynchronousCallback();
+        final UnitOfWork second = _repo.createTransaction(TEST_USER, "secondReadTx", true, secondCallback);
+        assertThat(session(second), is(firstSession));
+        second.commit();
+
+        assertTrue(secondCallback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertThat(second.getState(), is(State.ROLLED_BACK));
+    }
+
+    @Test
+    public void shouldNotKeepChangesOfPooledRollbackTransaction() throws Exception {
+        final String name = this.name.getMethodName();
+
+        final SynchronousCallback readCallback = new SynchronousCallback();
+        final UnitOfWork readTx = _repo.createTransaction(TEST_USER, "readTx", true, readCallback);
+        _repo.add(readTx, null, name, null);
+        readTx.commit();
+        assertTrue(readCallback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+
+        final SynchronousCallback nextCallback = new SynchronousCallback();
+        final UnitOfWork nextTx = _repo.createTransaction(TEST_USER, "nextReadTx", true, nextCallback);
+        assertThat(session(nextTx).hasPendingChanges(), is(false));
+        assertThat(_repo.getFromWorkspace(nextTx, name), is(nullValue()));
+        nextTx.commit();
+        assertTrue(nextCallback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void shouldSeeCommittedChangesInPooledRollbackTransaction() throws Exception {
+        final String name = this.name.getMethodName();
+        _repo.add(getTransaction(), null, name, null);
+        commit();
+
+        final SynchronousCallback readCallback = new SynchronousCallback();
+        final UnitOfWork readTx = _repo.createTransaction(TEST_USER, "readTx", true, readCallback);
+        assertThat(_repo.getFromWorkspace(readTx, name), is(notNullValue()));
+        readTx.commit();
+        assertTrue(readCallback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void shouldCommitAsynchronously() throws Exception {
+        final String name = this.name.getMethodName();
+        final SynchronousCallback callback = new SynchronousCallback();
+        final UnitOfWork transaction = _repo.createTransactionAsync(TEST_USER, name, false, callback)
+                                            .get(TIME_TO_WAIT, TimeUnit.MINUTES);
+        assertThat(transaction.isRollbackOnly(), is(false));
+        _repo.add(transaction, null, name, null);
+
+        final UnitOfWork committed = transaction.commitAsync(TIME_TO_WAIT, TimeUnit.MINUTES).get();
+        assertThat(committed, is(transaction));
+        assertThat(committed.getState(), is(State.COMMITTED));
+        assertTrue(callback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+
+        final UnitOfWork readTx = _repo.createTransactionAsync(TEST_USER, "readTx", true, null).get();
+        assertThat(_repo.getFromWorkspace(readTx, name), is(notNullValue()));
+        assertThat(readTx.commitAsync().get(TIME_TO_WAIT, TimeUnit.MINUTES).getState(), is(State.ROLLED_BACK));
+    }
+
+    @Test
+    public void shouldUseRepositorySynchronouslyInStageChainedToAsyncCommit() throws Exception {
+        final String name = this.name.getMethodName();
+        final UnitOfWork transaction = _repo.createTransactionAsync(TEST_USER, name, false, null)
+                                            .get(TIME_TO_WAIT, TimeUnit.MINUTES);
+        _repo.add(transaction, null, name, null);
+
+        // the chained stage needs the engine worker of the same user to create and commit its transaction
+        final CompletableFuture< State > chained = transaction.commitAsync().thenApply(new Function< UnitOfWork, State >() {
+
+            @Override
+            public State apply( final UnitOfWork committed ) {
+                try {
+                    final SynchronousCallback chainedCallback = new SynchronousCallback();
+                    final UnitOfWork next = _repo.createTransaction(TEST_USER, name + "-chained", false, chainedCallback);
+                    _repo.add(next, null, name + "-chained", null);
+                    next.commit();
+
+                    assertTrue(chainedCallback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+                    return next.getState();
+                } catch (final Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+        });
+
+        assertThat(chained.get(TIME_TO_WAIT, TimeUnit.MINUTES), is(State.COMMITTED));
+
+        final UnitOfWork readTx = _repo.createTransaction(TEST_USER, "readTx", true, null);
+        assertThat(_repo.getFromWorkspace(readTx, name + "-chained"), is(notNullValue()));
+        readTx.commit();
+    }
+
+    @Test
+    public void shouldCompleteAsyncCommitExceptionallyWhenAlreadyFinished() throws Exception {
+        final UnitOfWork transaction = _repo.createTransaction(TEST_USER, this.name.getMethodName(), true, null);
+        transaction.commitAsync().get(TIME_TO_WAIT, TimeUnit.MINUTES);
+
+        try {
+            transaction.commitAsync().get(TIME_TO_WAIT, TimeUnit.MINUTES);
+            fail();
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause() instanceof KException, is(true));
+            assertThat(transaction.getState(), is(State.ERROR));
+        }
+    }
+
+    @Test
+    public void shouldNotifyChangeListenersOfCommittedChanges() throws Exception {
+        final String name = this.name.getMethodName();
+        final CountDownLatch added = new CountDownLatch(1);
+        final List<RepositoryChange> received = new CopyOnWriteArrayList<>();
+        final RepositoryChangeListener listener = new RepositoryChangeListener() {
+
+            @Override
+            public void changesOccurred(final List<RepositoryChange> changes) {
+                for (final RepositoryChange change : changes) {
+                    if ((change.getType() == RepositoryChange.Type.NODE_ADDED) && change.getPath().endsWith(name)) {
+                        received.addAll(changes);
+                        added.countDown();
+                    }
+                }
+            }
+
+        };
+
+        _repo.addChangeListener(listener);
+
+        try {
+            final KomodoObject kobject = _repo.add(getTransaction(), null, name, null);
+            final String path = kobject.getAbsolutePath();
+            commit();
+
+            assertTrue(added.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+
+            boolean found = false;
+            for (final RepositoryChange change : received) {
+                if (change.getPath().equals(path) && (change.getType() == RepositoryChange.Type.NODE_ADDED)) {
+                    found = true;
+                    break;
+                }
+            }
+
+            assertTrue(found);
+        } finally {
+            _repo.removeChangeListener(listener);
+        }
+    }
+
+    @Test
+    public void shouldProvisionDeclaredIndexesAndRecordTheirUsage() throws Exception {
+        final IndexRegistry registry = ((RepositoryImpl)_repo).getIndexRegistry();
+
+        for (final IndexRegistry.Declaration declaration : registry.getDeclarations()) {
+            assertThat(registry.getStatistics(declaration.getName()), is(notNullValue()));
+        }
+
+        final String query = "SELECT [jcr:path] FROM [tko:rule] WHERE [tko:nodeType] = 'vdb:virtualDatabase'";
+        final long hits = registry.getStatistics("rulesByNodeType").getHits();
+        final long misses = registry.getMisses();
+
+        _repo.query(getTransaction(), query);
+
+        // the plan chose the rule index for its index access node rather than only considering it
+        final String[] indexes = registry.getIndexesUsed(query);
+        assertThat(indexes, is(notNullValue()));
+        assertThat(Arrays.asList(indexes).contains("rulesByNodeType"), is(true));
+        assertThat(registry.getStatistics("rulesByNodeType").getHits(), is(hits + 1));
+        assertThat(registry.getMisses(), is(misses));
+    }
+
+    @Test
+    public void shouldNotDeclareIndexDuplicatingConfiguredNodeTypeIndex() throws Exception {
+        for (final IndexRegistry.Declaration declaration : ((RepositoryImpl)_repo).getIndexRegistry().getDeclarations()) {
+            assertThat(declaration.getPropertyName().equals("jcr:primaryType"), is(false));
+        }
+    }
+
+    @Test
+    public void shouldCommitBulkLoadInChunks() throws Exception {
+        final String name = this.name.getMethodName();
+        final List<Integer> chunks = new CopyOnWriteArrayList<>();
+        final BulkLoad bulkLoad = _repo.createBulkLoad(TEST_USER, name, 10, new BulkLoadListener() {
+
+            @Override
+            public void chunkCommitted(final BulkLoad load) {
+                chunks.add(load.getChunkCount());
+            }
+
+        });
+
+        final KomodoObject root = _repo.add(bulkLoad.getTransaction(), null, name, null);
+        bulkLoad.setRootPath(root.getAbsolutePath());
+        bulkLoad.nodesWritten(1);
+
+        for (int i = 0; i < 24; ++i) {
+            _repo.add(bulkLoad.getTransaction(), root.getAbsolutePath(), "child" + i, null);
+            bulkLoad.nodesWritten(1);
+        }
+
+        bulkLoad.complete();
+
+        assertThat(bulkLoad.getNodeCount(), is(25L));
+        assertThat(bulkLoad.getChunkCount(), is(3));
+        assertThat(chunks.size(), is(3));
+        assertThat(_repo.getFromWorkspace(getTransaction(), root.getAbsolutePath()).getChildren(getTransaction()).length, is(24));
+    }
+
+    @Test
+    public void shouldRemovePartialSubtreeWhenBulkLoadIsRolledBack() throws Exception {
+        final String name = this.name.getMethodName();
+        final BulkLoad bulkLoad = _repo.createBulkLoad(TEST_USER, name, 2, null);
+
+        final KomodoObject root = _repo.add(bulkLoad.getTransaction(), null, name, null);
+        bulkLoad.setRootPath(root.getAbsolutePath());
+        _repo.add(bulkLoad.getTransaction(), root.getAbsolutePath(), "child", null);
+        bulkLoad.nodesWritten(2);
+        assertThat(bulkLoad.getChunkCount(), is(1));
+
+        _repo.add(bulkLoad.getTransaction(), root.getAbsolutePath(), "uncommitted", null);
+        bulkLoad.rollback();
+
+        assertThat(_repo.getFromWorkspace(getTransaction(), root.getAbsolutePath()), is(nullValue()));
+
+        try {
+            bulkLoad.getTransaction();
+            fail();
+        } catch (final KException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldCopyCommittedSubtree() throws Exception {
+        final String name = this.name.getMethodName();
+        final KomodoObject source = _repo.add(getTransaction(), null, name, null);
+        source.setProperty(getTransaction(), "single", "elvis");
+        source.setProperty(getTransaction(), "multiple", "elvis", "sledge");
+        source.addChild(getTransaction(), "child", null).addChild(getTransaction(), "grandchild", null);
+        commit();
+
+        final KomodoObject copy = _repo.copy(getTransaction(), source.getAbsolutePath(), null, "copy");
+        commit();
+
+        assertThat(copy.getProperty(getTransaction(), "single").getStringValue(getTransaction()), is("elvis"));
+        assertThat(copy.getProperty(getTransaction(), "multiple").getValues(getTransaction()).length, is(2));
+        assertThat(copy.getChild(getTransaction(), "child").hasChild(getTransaction(), "grandchild"), is(true));
+        assertThat(source.hasChild(getTransaction(), "child"), is(true));
+    }
+
+    @Test
+    public void shouldDiscardCopyWhenTransactionIsRolledBack() throws Exception {
+        final String name = this.name.getMethodName();
+        final KomodoObject source = _repo.add(getTransaction(), null, name, null);
+        source.setProperty(getTransaction(), "single", "elvis");
+        source.addChild(getTransaction(), "child", null).addChild(getTransaction(), "grandchild", null);
+        commit();
+
+        // nothing is pending but the copy still belongs to the transaction
+        final String copyPath = _repo.copy(getTransaction(), source.getAbsolutePath(), null, "copy").getAbsolutePath();
+        rollback();
+
+        assertThat(_repo.getFromWorkspace(getTransaction(), copyPath), is(nullValue()));
+        assertThat(_repo.getFromWorkspace(getTransaction(), source.getAbsolutePath() + "/child/grandchild"), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldCopyUncommittedSubtree() throws Exception {
+        final String name = this.name.getMethodName();
+        final KomodoObject source = _repo.add(getTransaction(), null, name, null);
+        source.setProperty(getTransaction(), "single", "elvis");
+        source.addChild(getTransaction(), "child", null).addChild(getTransaction(), "grandchild", null);
+
+        // source is pending so the copy must come from the transaction's session
+        final KomodoObject copy = _repo.copy(getTransaction(), source.getAbsolutePath(), null, "copy");
+        commit();
+
+        assertThat(copy.getProperty(getTransaction(), "single").getStringValue(getTransaction()), is("elvis"));
+        assertThat(copy.getChild(getTransaction(), "child").hasChild(getTransaction(), "grandchild"), is(true));
+    }
+
+    @Test
+    public void shouldRestoreFullBackup() throws Exception {
+        final String name = this.name.getMethodName();
+        _repo.add(getTransaction(), null, name, null).setProperty(getTransaction(), "elvis", "presley");
+        commit();
+
+        final ByteArrayOutputStream backup = new ByteArrayOutputStream();
+        _repo.backup(backup);
+
+        _repo.remove(getTransaction(), name);
+        _repo.add(getTransaction(), null, "afterBackup", null);
+        commit();
+
+        _repo.restore(new ByteArrayInputStream(backup.toByteArray()));
+
+        final KomodoObject restored = _repo.getFromWorkspace(getTransaction(), name);
+        assertThat(restored, is(notNullValue()));
+        assertThat(restored.getProperty(getTransaction(), "elvis").getStringValue(getTransaction()), is("presley"));
+        assertThat(_repo.getFromWorkspace(getTransaction(), "afterBackup"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldLeaveContentUnchangedWhenRestoreFails() throws Exception {
+        final String name = this.name.getMethodName();
+        _repo.add(getTransaction(), null, name, null);
+        commit();
+
+        // a full backup whose only subtree is not a system view document
+        final ByteArrayOutputStream backup = new ByteArrayOutputStream();
+
+        try (final ZipOutputStream zip = new ZipOutputStream(backup)) {
+            final Properties manifest = new Properties();
+            manifest.setProperty("created", Long.toString(System.currentTimeMillis()));
+            manifest.setProperty("incremental", Boolean.FALSE.toString());
+            zip.putNextEntry(new ZipEntry("manifest.properties"));
+            manifest.store(zip, null);
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry("subtree/" + URLEncoder.encode(RepositoryImpl.KOMODO_ROOT + "/broken", "UTF-8")));
+            zip.write("<sv:node".getBytes("UTF-8"));
+            zip.closeEntry();
+        }
+
+        try {
+            _repo.restore(new ByteArrayInputStream(backup.toByteArray()));
+            fail();
+        } catch (final KException e) {
+            // expected
+        }
+
+        assertThat(_repo.getFromWorkspace(getTransaction(), name), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldRestoreIncrementalBackup() throws Exception {
+        final String name = this.name.getMethodName();
+        _repo.add(getTransaction(), null, name, null);
+        _repo.add(getTransaction(), null, "removedLater", null);
+        commit();
+
+        final ByteArrayOutputStream full = new ByteArrayOutputStream();
+        final long since = _repo.backup(full);
+
+        _repo.add(getTransaction(), null, "addedLater", null);
+        _repo.remove(getTransaction(), "removedLater");
+        commit();
+
+        // the journal is written asynchronously so wait for it to record the commit
+        ByteArrayOutputStream incremental = null;
+
+        for (int i = 0; (i < 50) && ((incremental == null) || (countSubtrees(incremental) == 0)); ++i) {
+            if (incremental != null) {
+                Thread.sleep(100);
+            }
+
+            incremental = new ByteArrayOutputStream();
+            _repo.backup(incremental, since);
+        }
+
+        _repo.remove(getTransaction(), name, "addedLater");
+        commit();
+
+        _repo.restore(new ByteArrayInputStream(full.toByteArray()));
+        _repo.restore(new ByteArrayInputStream(incremental.toByteArray()));
+
+        assertThat(_repo.getFromWorkspace(getTransaction(), name), is(notNullValue()));
+        assertThat(_repo.getFromWorkspace(getTransaction(), "addedLater"), is(notNullValue()));
+        assertThat(_repo.getFromWorkspace(getTransaction(), "removedLater"), is(nullValue()));
+    }
+
+    private int countSubtrees(final ByteArrayOutputStream backup) throws Exception {
+        int count = 0;
+
+        try (final ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(backup.toByteArray()))) {
+            ZipEntry entry = null;
+
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().startsWith("subtree/")) {
+                    ++count;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    @Test
+    public void shouldResetToSnapshot() throws Exception {
+        final String name = this.name.getMethodName();
+        _repo.add(getTransaction(), null, name, null);
+        commit();
+
+        _repo.snapshot();
+
+        _repo.remove(getTransaction(), name);
+        _repo.add(getTransaction(), null, "afterSnapshot", null);
+        commit();
+
+        _repo.reset();
+
+        assertThat(_repo.getFromWorkspace(getTransaction(), name), is(notNullValue()));
+        assertThat(_repo.getFromWorkspace(getTransaction(), "afterSnapshot"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReportProgressWhenCleared() throws Exception {
+        final String name = this.name.getMethodName();
+        _repo.add(getTransaction(), null, name, null).addChild(getTransaction(), "child", null);
+        commit();
+
+        final List<String> cleared = new CopyOnWriteArrayList<>();
+        final ClearListener listener = new ClearListener() {
+
+            @Override
+            public void subtreeCleared(final String path, final int count, final int total) {
+                assertThat(count, is(cleared.size() + 1));
+                cleared.add(path);
+            }
+        };
+
+        final String workspacePath = RepositoryImpl.KOMODO_ROOT + StringConstants.FORWARD_SLASH + KomodoLexicon.Komodo.WORKSPACE;
+        final String workspaceId = session(getTransaction()).getNode(workspacePath).getIdentifier();
+        commit();
+
+        _repoObserver.resetLatch();
+        _repo.clear(listener);
+        assertTrue(_repoObserver.getLatch().await(TIME_TO_WAIT, TimeUnit.MINUTES));
+
+        // the children of the workspace are removed but the workspace itself is kept
+        assertThat(cleared.isEmpty(), is(false));
+        assertThat(cleared.contains(workspacePath), is(false));
+        assertTrue(cleared.get(0).startsWith(workspacePath + StringConstants.FORWARD_SLASH));
+        assertThat(session(getTransaction()).getNode(workspacePath).getIdentifier(), is(workspaceId));
+        assertThat(_repo.getFromWorkspace(getTransaction(), name), is(nullValue()));
+    }
+
+    @Test
+    public void shouldCommitTransactionsOfOneUserInOrder() throws Exception {
+        final String name = this.name.getMethodName();
+        final KomodoObject kobject = _repo.add(getTransaction(), null, name, null);
+        final String path = kobject.getAbsolutePath();
+        commit();
+
+        final int numTx = 10;
+        final List<Integer> committed = new CopyOnWriteArrayList<>();
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(numTx);
+        final UnitOfWork[] transactions = new UnitOfWork[numTx];
+
+        for (int i = 0; i < numTx; ++i) {
+            final int index = i;
+            transactions[i] = _repo.createTransaction(TEST_USER, name + i, false, new UnitOfWorkListener() {
+
+                @Override
+                public void respond(final Object results) {
+                    committed.add(index);
+                    done.countDown();
+                }
+
+                @Override
+                public void errorOccurred(final Throwable error) {
+                    errors.add(error);
+                    done.countDown();
+                }
+            });
+
+            _repo.getFromWorkspace(transactions[i], path).setProperty(transactions[i], "order", Integer.toString(i));
+        }
+
+        // queued without waiting so they are all pending on the user's worker together
+        for (final UnitOfWork transaction : transactions) {
+            transaction.commit();
+        }
+
+        assertTrue(done.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertThat(errors.isEmpty(), is(true));
+
+        for (int i = 0; i < numTx; ++i) {
+            assertThat(committed.get(i), is(i));
+        }
+
+        final Property order = _repo.getFromWorkspace(getTransaction(), path).getProperty(getTransaction(), "order");
+        assertThat(order.getStringValue(getTransaction()), is(Integer.toString(numTx - 1)));
+    }
+
+    @Test
+    public void shouldClearOnlyAfterQueuedCommitsHaveRun() throws Exception {
+        final String name = this.name.getMethodName();
+        final CountDownLatch committed = new CountDownLatch(1);
+        final UnitOfWork transaction = _repo.createTransaction(TEST_USER, name, false, new UnitOfWorkListener() {
+
+            @Override
+            public void respond(final Object results) {
+                committed.countDown();
+            }
+
+            @Override
+            public void errorOccurred(final Throwable error) {
+                // count is checked below
+            }
+        });
+        _repo.add(transaction, null, name, null);
+
+        final List<Long> pendingCommits = new CopyOnWriteArrayList<>();
+        final RepositoryObserver observer = new RepositoryObserver() {
+
+            @Override
+            public void eventOccurred() {
+                pendingCommits.add(committed.getCount());
+            }
+
+            @Override
+            public void errorOccurred(final Throwable e) {
+                // not expected
+            }
+        };
+
+        _repo.addObserver(observer);
+
+        try {
+            _repoObserver.resetLatch();
+
+            // the clear is queued behind the commit by the barrier placed on every worker
+            transaction.commit();
+            _repo.clear(null);
+
+            assertTrue(_repoObserver.getLatch().await(TIME_TO_WAIT, TimeUnit.MINUTES));
+            assertThat(transaction.getState(), is(State.COMMITTED));
+            assertThat(pendingCommits.isEmpty(), is(false));
+            assertThat(pendingCommits.get(0), is(0L));
+            assertThat(_repo.getFromWorkspace(getTransaction(), name), is(nullValue()));
+        } finally {
+            _repo.removeObserver(observer);
+        }
+    }
+
+    @Test
+    public void shouldRecordTransactionPhaseMetrics() throws Exception {
+        final TransactionMetrics metrics = _repo.getTransactionMetrics();
+        metrics.reset();
+
+        final String name = this.name.getMethodName();
+        _repo.add(getTransaction(), null, name, null).addChild(getTransaction(), "child", null);
+        commit();
+
+        assertTrue(metrics.getCommits() >= 1);
+        assertThat(metrics.getFailures(), is(0L));
+        assertThat(metrics.getHistogram(TransactionMetrics.Phase.TOTAL).getCount(), is(metrics.getCommits()));
+        assertTrue(metrics.getNodeCounts().getMax() >= 2);
+
+        // also available through JMX
+        final Set<ObjectName> names = ManagementFactory.getPlatformMBeanServer()
+                                                       .queryNames(new ObjectName(TransactionMetrics.JMX_DOMAIN + ":type=TransactionMetrics,*"), null);
+        assertThat(names.isEmpty(), is(false));
+    }
+
     @Test
     public void shouldCreateUpdateTransaction() throws Exception {
         // setup
@@ -275,6 +871,118 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
         assertThat(doesNotExist, is(nullValue()));
     }
 
+    private String addReferenceable(final String name) throws Exception {
+        final KomodoObject kobject = _repo.add(getTransaction(), null, name, null);
+        kobject.addDescriptor(getTransaction(), "mix:referenceable");
+        return kobject.getRawProperty(getTransaction(), "jcr:uuid").getStringValue(getTransaction());
+    }
+
+    @Test
+    public void shouldGetUsingId() throws Exception {
+        final String id = addReferenceable(this.name.getMethodName());
+        commit();
+
+        final KomodoObject kobject = _repo.getUsingId(getTransaction(), id);
+        assertThat(kobject, is(notNullValue()));
+        assertThat(kobject.getName(getTransaction()), is(this.name.getMethodName()));
+    }
+
+    @Test
+    public void shouldGetUsingIds() throws Exception {
+        final String id1 = addReferenceable("first");
+        final String id2 = addReferenceable("second");
+        commit();
+
+        final KomodoObject[] kobjects = _repo.getUsingIds(getTransaction(), id2, "unknownId", id1);
+        assertThat(kobjects.length, is(3));
+        assertThat(kobjects[0].getName(getTransaction()), is("second"));
+        assertThat(kobjects[1], is(nullValue()));
+        assertThat(kobjects[2].getName(getTransaction()), is("first"));
+    }
+
+    @Test
+    public void shouldGetUsingIdAfterRename() throws Exception {
+        final String id = addReferenceable(this.name.getMethodName());
+        commit();
+
+        _repo.getUsingId(getTransaction(), id).rename(getTransaction(), "renamed");
+        commit();
+
+        final KomodoObject kobject = _repo.getUsingId(getTransaction(), id);
+        assertThat(kobject, is(notNullValue()));
+        assertThat(kobject.getName(getTransaction()), is("renamed"));
+    }
+
+    @Test
+    public void shouldDropPreparedQueriesWhenTransactionFinishes() throws Exception {
+        final String query = "SELECT [jcr:path] FROM [nt:unstructured] WHERE [jcr:name] = '" + this.name.getMethodName() + "'";
+
+        final UnitOfWorkImpl writeTx = ( UnitOfWorkImpl )getTransaction();
+        _repo.query(writeTx, query);
+        assertThat(writeTx.getPreparedQueries().isEmpty(), is(false));
+        commit();
+        assertThat(writeTx.getPreparedQueries(), is(nullValue()));
+
+        // a pooled read session keeps its queries after being returned
+        final UnitOfWorkImpl readTx = ( UnitOfWorkImpl )createTransaction(TEST_USER, "readQuery", true, null);
+        _repo.query(readTx, query);
+        final PreparedQueryCache cache = readTx.getPreparedQueries();
+        assertThat(cache.isEmpty(), is(false));
+        readTx.commit();
+
+        final UnitOfWorkImpl nextReadTx = ( UnitOfWorkImpl )createTransaction(TEST_USER, "nextReadQuery", true, null);
+        assertThat(nextReadTx.getSession(), is(readTx.getSession()));
+        assertTrue(nextReadTx.getPreparedQueries() == cache);
+        nextReadTx.commit();
+    }
+
+    @Test( expected = KException.class )
+    public void shouldFailToGetUsingIdWhenIdIsDuplicated() throws Exception {
+        final String id = addReferenceable("first");
+
+        // an imported node can carry the jcr:uuid of another node
+        final KomodoObject duplicate = _repo.add(getTransaction(), null, "second", null);
+        final String uuidPath = duplicate.getAbsolutePath() + "/jcr:uuid";
+        final CountDownLatch observed = new CountDownLatch(1);
+        final RepositoryChangeListener listener = new RepositoryChangeListener() {
+
+            @Override
+            public void changesOccurred(final List<RepositoryChange> changes) {
+                for (final RepositoryChange change : changes) {
+                    if (change.getPath().equals(uuidPath)) {
+                        observed.countDown();
+                    }
+                }
+            }
+
+        };
+
+        _repo.addChangeListener(listener);
+
+        try {
+            session(getTransaction()).getNode(duplicate.getAbsolutePath()).setProperty("jcr:uuid", id);
+            commit();
+
+            // the duplicate is known once the change feed has reported the commit
+            assertTrue(observed.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        } finally {
+            _repo.removeChangeListener(listener);
+        }
+
+        _repo.getUsingId(getTransaction(), id);
+    }
+
+    @Test
+    public void shouldNotGetUsingIdAfterRemove() throws Exception {
+        final String id = addReferenceable(this.name.getMethodName());
+        commit();
+
+        _repo.getUsingId(getTransaction(), id).remove(getTransaction());
+        commit();
+
+        assertThat(_repo.getUsingId(getTransaction(), id), is(nullValue()));
+    }
+
     @Test
     public void shouldGetType() {
         assertThat(_repo.getType(), is(Repository.Type.LOCAL));
@@ -36,22 +36,31 @@ import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import javax.jcr.Session;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.komodo.core.KomodoLexicon;
+import org.komodo.repository.CacheMetrics;
 import org.komodo.repository.LocalRepository;
 import org.komodo.repository.LocalRepository.LocalRepositoryId;
 import org.komodo.repository.RepositoryImpl;
+import org.komodo.repository.RepositoryImpl.UnitOfWorkImpl;
+import org.komodo.repository.SharedRepository;
 import org.komodo.repository.SynchronousCallback;
 import org.komodo.spi.KException;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.State;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.RepositoryClient;
+import org.komodo.spi.repository.RepositoryChange;
+import org.komodo.spi.repository.RepositoryChangeListener;
 import org.komodo.spi.repository.RepositoryClientEvent;
 import org.komodo.test.utils.AbstractLoggingTest;
 import org.komodo.test.utils.LocalRepositoryObserver;
@@ -113,7 +122,11 @@ public class TestLocalRepositoryPersistence extends AbstractLoggingTest implemen
         assertNotNull(configUrl);
 
         LocalRepositoryId id = new LocalRepositoryId(configUrl, DEFAULT_LOCAL_WORKSPACE_NAME);
-        _repo = new LocalRepository(id);
+        initLocalRepository(new LocalRepository(id));
+    }
+
+    private void initLocalRepository(LocalRepository repository) throws Exception {
+        _repo = repository;
         assertThat(_repo.getState(), is(State.NOT_REACHABLE));
         assertThat(_repo.ping(), is(false));
 
@@ -352,6 +365,296 @@ public class TestLocalRepositoryPersistence extends AbstractLoggingTest implemen
         assertTrue(foundWksp);
     }
 
+    @Test
+    public void testProductionRepositoryCacheProfile() throws Exception {
+        System.setProperty(SystemConstants.CACHE_PROFILE, "small");
+
+        try {
+            initLocalRepository(LocalRepository.class, PRODUCTION_REPOSITORY_CONFIG);
+            assertNotNull(_repo);
+
+            UnitOfWork uow = _repo.createTransaction(RepositoryImpl.SYSTEM_USER, "test-cache-profile", true, null);
+            assertEquals(1, _repo.searchByType(uow, KomodoLexicon.Komodo.NODE_TYPE).size());
+            uow.commit();
+
+            final CacheMetrics metrics = _repo.getCacheMetrics();
+            assertNotNull(metrics);
+            assertEquals("small", metrics.getProfile());
+            assertTrue(metrics.getEntryCount() >= 0);
+            assertTrue(metrics.getHits() + metrics.getMisses() > 0);
+            assertTrue(metrics.getEvictions() >= 0);
+        } finally {
+            System.clearProperty(SystemConstants.CACHE_PROFILE);
+        }
+    }
+
+    @Test
+    public void testProductionRepositoryUnknownCacheProfile() throws Exception {
+        System.setProperty(SystemConstants.CACHE_PROFILE, "huge");
+
+        try {
+            initLocalRepository(LocalRepository.class, PRODUCTION_REPOSITORY_CONFIG);
+            assertNotNull(_repo);
+
+            UnitOfWork uow = _repo.createTransaction(RepositoryImpl.SYSTEM_USER, "test-unknown-cache-profile", true, null);
+            assertEquals(1, _repo.searchByType(uow, KomodoLexicon.Komodo.NODE_TYPE).size());
+            uow.commit();
+
+            // the unprofiled cache configuration is used and its statistics come from this repository's cache
+            final CacheMetrics metrics = _repo.getCacheMetrics();
+            assertNotNull(metrics);
+            assertNull(metrics.getProfile());
+            assertTrue(metrics.getHits() + metrics.getMisses() > 0);
+        } finally {
+            System.clearProperty(SystemConstants.CACHE_PROFILE);
+        }
+    }
+
+    @Test
+    public void testSharedRepositoryConfiguration() throws Exception {
+        String dataDir = System.getProperty(SystemConstants.ENGINE_DATA_DIR);
+        File sharedDataDir = new File(System.getProperty("java.io.tmpdir"), "komodo-shared-repository-test");
+        if (sharedDataDir.exists())
+            FileUtils.removeDirectoryAndChildren(sharedDataDir);
+
+        System.setProperty(SystemConstants.ENGINE_DATA_DIR, sharedDataDir.getAbsolutePath());
+
+        try {
+            SharedRepository shared = new SharedRepository();
+            assertEquals(Repository.Type.SHARED, shared.getType());
+
+            initLocalRepository(shared);
+            assertNotNull(_repo);
+
+            UnitOfWork uow = _repo.createTransaction(RepositoryImpl.SYSTEM_USER, "test-shared-repository", true, null);
+            assertEquals(1, _repo.searchByType(uow, KomodoLexicon.Komodo.NODE_TYPE).size());
+            uow.commit();
+
+            // a single member cluster on the loopback address
+            assertEquals(1, shared.getClusterSize());
+            assertNotNull(shared.getNodeName());
+        } finally {
+            if (dataDir == null)
+                System.clearProperty(SystemConstants.ENGINE_DATA_DIR);
+            else
+                System.setProperty(SystemConstants.ENGINE_DATA_DIR, dataDir);
+        }
+    }
+
+    @Test
+    public void testInMemoryRepositoryResetsToInitialContent() throws Exception {
+        initLocalRepository(new LocalRepository(LocalRepository.IN_MEMORY_LOCAL_REPOSITORY_ID));
+        assertNotNull(_repo);
+
+        // the initial snapshot is taken before observers are told the repository has started
+        assertThat(_repo.getState(), is(State.REACHABLE));
+
+        SynchronousCallback callback = new SynchronousCallback();
+        UnitOfWork uow = _repo.createTransaction(TEST_USER, "test-in-memory-add", false, callback);
+        _repo.add(uow, null, "afterStart", null);
+        uow.commit();
+
+        assertTrue(callback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertFalse(callback.hasError());
+
+        _repo.reset();
+
+        uow = _repo.createTransaction(TEST_USER, "test-in-memory-reset", true, null);
+        assertNull(_repo.getFromWorkspace(uow, "afterStart"));
+        assertNotNull(_repo.komodoWorkspace(uow));
+        uow.commit();
+    }
+
+    private void startSecondRepository(LocalRepository repository, LocalRepositoryObserver observer) throws Exception {
+        repository.addObserver(observer);
+        repository.notify(RepositoryClientEvent.createStartedEvent(mock(RepositoryClient.class)));
+
+        assertTrue(observer.getLatch().await(1, TimeUnit.MINUTES));
+        assertNull(observer.getError());
+        assertThat(repository.getState(), is(State.REACHABLE));
+    }
+
+    private void stopSecondRepository(LocalRepository repository, LocalRepositoryObserver observer) throws Exception {
+        observer.resetLatch();
+        repository.notify(RepositoryClientEvent.createShuttingDownEvent(mock(RepositoryClient.class)));
+
+        try {
+            assertTrue(observer.getLatch().await(1, TimeUnit.MINUTES));
+        } finally {
+            repository.removeObserver(observer);
+        }
+    }
+
+    @Test
+    public void testSharedRepositoryReplicatesBetweenInstances() throws Exception {
+        String dataDir = System.getProperty(SystemConstants.ENGINE_DATA_DIR);
+        File firstDataDir = new File(System.getProperty("java.io.tmpdir"), "komodo-shared-repository-first");
+        File secondDataDir = new File(System.getProperty("java.io.tmpdir"), "komodo-shared-repository-second");
+
+        for (File dir : new File[] {firstDataDir, secondDataDir}) {
+            if (dir.exists())
+                FileUtils.removeDirectoryAndChildren(dir);
+        }
+
+        final String name = "replicated";
+        final CountDownLatch added = new CountDownLatch(1);
+        final RepositoryChangeListener listener = new RepositoryChangeListener() {
+
+            @Override
+            public void changesOccurred(final List<RepositoryChange> changes) {
+                for (final RepositoryChange change : changes) {
+                    if ((change.getType() == RepositoryChange.Type.NODE_ADDED) && change.getPath().endsWith(name)) {
+                        added.countDown();
+                    }
+                }
+            }
+
+        };
+
+        SharedRepository second = null;
+        LocalRepositoryObserver secondObserver = new LocalRepositoryObserver();
+
+        try {
+            // each instance keeps its own copy of the content and listens on its own ports
+            System.setProperty(SystemConstants.ENGINE_DATA_DIR, firstDataDir.getAbsolutePath());
+            System.setProperty(SystemConstants.CLUSTER_PORT, "7800");
+            SharedRepository first = new SharedRepository();
+            initLocalRepository(first);
+
+            System.setProperty(SystemConstants.ENGINE_DATA_DIR, secondDataDir.getAbsolutePath());
+            System.setProperty(SystemConstants.CLUSTER_PORT, "7810");
+            second = new SharedRepository();
+            startSecondRepository(second, secondObserver);
+
+            // each instance reports the cluster of its own engine
+            assertEquals(2, first.getClusterSize());
+            assertEquals(2, second.getClusterSize());
+            assertNotNull(first.getNodeName());
+            assertNotNull(second.getNodeName());
+            assertFalse(first.getNodeName().equals(second.getNodeName()));
+
+            second.addChangeListener(listener);
+
+            SynchronousCallback callback = new SynchronousCallback();
+            UnitOfWork uow = first.createTransaction(TEST_USER, "test-shared-commit", false, callback);
+            first.add(uow, null, name, null);
+            uow.commit();
+
+            assertTrue(callback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+            assertFalse(callback.hasError());
+
+            // the change event and the content reach the other instance
+            assertTrue(added.await(1, TimeUnit.MINUTES));
+
+            uow = second.createTransaction(TEST_USER, "test-shared-read", true, null);
+            assertNotNull(second.getFromWorkspace(uow, name));
+            uow.commit();
+        } finally {
+            System.clearProperty(SystemConstants.CLUSTER_PORT);
+
+            if (dataDir == null)
+                System.clearProperty(SystemConstants.ENGINE_DATA_DIR);
+            else
+                System.setProperty(SystemConstants.ENGINE_DATA_DIR, dataDir);
+
+            if (second != null) {
+                second.removeChangeListener(listener);
+                stopSecondRepository(second, secondObserver);
+            }
+        }
+    }
+
+    private static final String GROUP_COMMIT_PARENT = "/groupCommit";
+
+    private Session session(UnitOfWork uow) {
+        return ((UnitOfWorkImpl)uow).getSession();
+    }
+
+    /**
+     * Starts a repository that saves commits arriving within 2 seconds of each other in one cache transaction and
+     * creates the node the group commit tests add their nodes to.
+     */
+    private void initGroupCommitRepository() throws Exception {
+        System.setProperty(SystemConstants.GROUP_COMMIT_WINDOW, "2000");
+
+        try {
+            initLocalRepository(TEST_LEVELDB_REPOSITORY_CONFIG);
+        } finally {
+            System.clearProperty(SystemConstants.GROUP_COMMIT_WINDOW);
+        }
+
+        SynchronousCallback callback = new SynchronousCallback();
+        UnitOfWork uow = _repo.createTransaction(TEST_USER, "test-group-commit-parent", false, callback);
+        session(uow).getRootNode().addNode(GROUP_COMMIT_PARENT.substring(1), JcrConstants.NT_UNSTRUCTURED);
+        uow.commit();
+
+        assertTrue(callback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertFalse(callback.hasError());
+    }
+
+    private boolean groupCommitNodeExists(String name) throws Exception {
+        UnitOfWork uow = _repo.createTransaction(TEST_USER, "test-group-commit-exists", true, null);
+
+        try {
+            return session(uow).nodeExists(GROUP_COMMIT_PARENT + '/' + name);
+        } finally {
+            uow.commit();
+        }
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        initGroupCommitRepository();
+
+        int memberCount = 3;
+        SynchronousCallback[] callbacks = new SynchronousCallback[memberCount];
+
+        // the transactions of one user are committed by the same worker so they arrive within one group
+        for (int i = 0; i < memberCount; ++i) {
+            callbacks[i] = new SynchronousCallback();
+            UnitOfWork uow = _repo.createTransaction(TEST_USER, "test-group-commit-" + i, false, callbacks[i]);
+            session(uow).getNode(GROUP_COMMIT_PARENT).addNode("member" + i, JcrConstants.NT_UNSTRUCTURED);
+            uow.commit();
+        }
+
+        for (int i = 0; i < memberCount; ++i) {
+            assertTrue(callbacks[i].await(TIME_TO_WAIT, TimeUnit.MINUTES));
+            assertFalse(callbacks[i].hasError());
+            assertTrue(groupCommitNodeExists("member" + i));
+        }
+    }
+
+    @Test
+    public void testGroupCommitWithFailingMember() throws Exception {
+        initGroupCommitRepository();
+
+        SynchronousCallback[] callbacks = new SynchronousCallback[3];
+
+        for (int i = 0; i < callbacks.length; ++i) {
+            callbacks[i] = new SynchronousCallback();
+            UnitOfWork uow = _repo.createTransaction(TEST_USER, "test-group-commit-failure-" + i, false, callbacks[i]);
+
+            // an nt:file without its mandatory jcr:content child cannot be saved
+            String type = ((i == 1) ? JcrConstants.NT_FILE : JcrConstants.NT_UNSTRUCTURED);
+            session(uow).getNode(GROUP_COMMIT_PARENT).addNode("member" + i, type);
+            uow.commit();
+        }
+
+        for (SynchronousCallback callback : callbacks) {
+            assertTrue(callback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        }
+
+        // only the failing member gets an error, the members saved before and after it are committed
+        assertFalse(callbacks[0].hasError());
+        assertTrue(groupCommitNodeExists("member0"));
+
+        assertTrue(callbacks[1].hasError());
+        assertFalse(groupCommitNodeExists("member1"));
+
+        assertFalse(callbacks[2].hasError());
+        assertTrue(groupCommitNodeExists("member2"));
+    }
+
     private KomodoObject createMySqlDriver(UnitOfWork uow, KomodoObject parent, String name) throws Exception {
         KomodoObject driver = parent.addChild(uow, name, DataVirtLexicon.ResourceFile.DRIVER_FILE_NODE_TYPE);
         InputStream contentStream = TestUtilities.mySqlDriver();
@@ -22,16 +22,22 @@
 package org.komodo.repository.validation;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import java.io.File;
 import java.util.List;
+import java.util.regex.PatternSyntaxException;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.komodo.spi.KException;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.ValidationManager;
 import org.komodo.spi.repository.validation.Result;
 import org.komodo.spi.repository.validation.Rule;
+import org.komodo.spi.repository.validation.Rule.ValidationType;
 import org.komodo.test.utils.AbstractLocalRepositoryTest;
 
 @SuppressWarnings( { "javadoc", "nls" } )
@@ -52,12 +58,15 @@ public final class ValidationManagerImplTest extends AbstractLocalRepositoryTest
     private static String RULES_FILE_CHILD_TYPE_MUST_NOT_EXIST_RULE = "childTypeMustNotExistRule.xml";
     private static String RULES_FILE_CHILD_PROP_MUST_EXIST_RULE = "childPropMustExistRule.xml";
     private static String RULES_FILE_CHILD_PROP_MUST_NOT_EXIST_RULE = "childPropMustNotExistRule.xml";
+    private static String RULES_FILE_INVALID_PATTERN_RULE = "invalidPatternRule.xml";
+    private static String RULES_FILE_MIXIN_RULES = "mixinRules.xml";
 
     private static String VDB_NAME = "vdbname";
     private static String VDB_TYPE = "vdb:virtualDatabase";
     private static String DATA_ROLE_NAME = "rolename";
     private static String DATA_ROLE_TYPE = "vdb:dataRole";
     private static String MODEL_TYPE = "vdb:declarativeModel";
+    private static String MIXIN_TYPE = "mix:title";
 
     private static ValidationManager _validationMgr;
 
@@ -389,6 +398,166 @@ public final class ValidationManagerImplTest extends AbstractLocalRepositoryTest
         assertThat( result.getMessage(), is( "The VDB version must be between 1 and 5." ));
     }
 
+    @Test
+    public void shouldOnlyShareCommittedRuleChanges() throws Exception {
+        final KomodoObject kobject = _repo.add( getTransaction(), null, VDB_NAME, VDB_TYPE );
+        kobject.setProperty( getTransaction(), "vdb:version", "0" );
+
+        String testFilePath = getClass().getClassLoader().getResource(RULES_FILE_PROP_VALUE_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        final Rule[] rules = _validationMgr.getRules( getTransaction(), kobject );
+        assertThat( rules.length, is( 1 ) );
+        assertThat( rules[ 0 ].evaluate( getTransaction(), kobject ).isOK(), is( false ) );
+
+        // the transaction disabling the rule sees the change right away
+        final String ruleId = rules[ 0 ].getName( getTransaction() );
+        _validationMgr.setRuleEnabled( getTransaction(), false, ruleId );
+        assertThat( _validationMgr.getRules( getTransaction(), kobject )[ 0 ], is( instanceOf( ProblemRule.class ) ) );
+
+        // other transactions still use the committed rule
+        final TestTransactionListener otherCallback = new TestTransactionListener();
+        final UnitOfWork other = createTransaction( TEST_USER, txId( this.name.getMethodName(), "other" ), false, otherCallback );
+        final Rule[] otherRules = _validationMgr.getRules( other, kobject );
+        assertThat( otherRules.length, is( 1 ) );
+        assertThat( otherRules[ 0 ], is( instanceOf( RuleImpl.class ) ) );
+        rollback( other, otherCallback );
+
+        // once committed the change is shared
+        commit();
+        assertThat( _validationMgr.getRules( getTransaction(), kobject )[ 0 ], is( instanceOf( ProblemRule.class ) ) );
+        assertThat( _validationMgr.getRule( getTransaction(), ruleId ).isEnabled( getTransaction() ), is( false ) );
+    }
+
+    @Test
+    public void shouldNotShareRuleChangedThroughSetterOnceRolledBack() throws Exception {
+        final KomodoObject kobject = _repo.add( getTransaction(), null, VDB_NAME, VDB_TYPE );
+        kobject.setProperty( getTransaction(), "vdb:version", "0" );
+
+        String testFilePath = getClass().getClassLoader().getResource(RULES_FILE_PROP_VALUE_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        // the shared rule is compiled as committed
+        final Rule rule = _validationMgr.getRules( getTransaction(), kobject )[ 0 ];
+        assertThat( isDisabled( rule, getTransaction(), kobject ), is( false ) );
+        commit();
+
+        // the transaction disabling the shared rule sees its own change
+        rule.setEnabled( getTransaction(), false );
+        assertThat( isDisabled( rule, getTransaction(), kobject ), is( true ) );
+
+        // other transactions do not
+        final TestTransactionListener otherCallback = new TestTransactionListener();
+        final UnitOfWork other = createTransaction( TEST_USER, txId( this.name.getMethodName(), "other" ), false, otherCallback );
+        assertThat( isDisabled( rule, other, kobject ), is( false ) );
+        rollback( other, otherCallback );
+
+        // nor does anyone once the change is rolled back
+        rollback();
+        assertThat( isDisabled( rule, getTransaction(), kobject ), is( false ) );
+    }
+
+    private boolean isDisabled( final Rule rule,
+                                final UnitOfWork transaction,
+                                final KomodoObject kobject ) throws Exception {
+        // a disabled rule reports that it is not enabled at the INFO level
+        return ( rule.evaluate( transaction, kobject ).getLevel() == Outcome.Level.INFO );
+    }
+
+    @Test
+    public void shouldOnlyGetRulesForObjectType() throws Exception {
+        final KomodoObject vdb = _repo.add( getTransaction(), null, VDB_NAME, VDB_TYPE );
+        final KomodoObject dataRole = vdb.addChild( getTransaction(), DATA_ROLE_NAME, DATA_ROLE_TYPE );
+
+        String testFilePath = getClass().getClassLoader().getResource(RULES_FILE_RELATIONAL_RULES).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        final Rule[] allRules = _validationMgr.getAllRules( getTransaction() );
+
+        for ( final KomodoObject kobject : new KomodoObject[] { vdb, dataRole } ) {
+            final String type = kobject.getPrimaryType( getTransaction() ).getName();
+            final Rule[] rules = _validationMgr.getRules( getTransaction(), kobject );
+            assertThat( rules.length > 0, is( true ) );
+
+            // same rules as testing every rule
+            int numApplicable = 0;
+
+            for ( final Rule rule : allRules ) {
+                if ( rule.isApplicable( getTransaction(), kobject ) ) {
+                    ++numApplicable;
+                }
+            }
+
+            assertThat( rules.length, is( numApplicable ) );
+
+            for ( final Rule rule : rules ) {
+                assertThat( rule.getNodeType( getTransaction() ), is( type ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldGetMixinRulesInDefinitionOrder() throws Exception {
+        final KomodoObject vdb = _repo.add( getTransaction(), null, VDB_NAME, VDB_TYPE );
+        vdb.addDescriptor( getTransaction(), MIXIN_TYPE );
+        final KomodoObject otherVdb = _repo.add( getTransaction(), null, "othervdb", VDB_TYPE );
+
+        String testFilePath = getClass().getClassLoader().getResource(RULES_FILE_MIXIN_RULES).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        // the mixin rule is defined before the rules of the primary type
+        final Rule[] allRules = _validationMgr.getAllRules( getTransaction() );
+        assertThat( allRules.length, is( 3 ) );
+        assertThat( allRules[ 0 ].getNodeType( getTransaction() ), is( MIXIN_TYPE ) );
+
+        // the rules of the mixin are merged with those of the primary type in definition order
+        final Rule[] rules = _validationMgr.getRules( getTransaction(), vdb );
+        assertThat( rules.length, is( allRules.length ) );
+
+        for ( int i = 0; i < rules.length; ++i ) {
+            assertThat( rules[ i ].getName( getTransaction() ), is( allRules[ i ].getName( getTransaction() ) ) );
+        }
+
+        // an object without the mixin only gets the rules of its primary type
+        final Rule[] otherRules = _validationMgr.getRules( getTransaction(), otherVdb );
+        assertThat( otherRules.length, is( 2 ) );
+
+        for ( final Rule rule : otherRules ) {
+            assertThat( rule.getNodeType( getTransaction() ), is( VDB_TYPE ) );
+        }
+    }
+
+    @Test
+    public void shouldOnlyFailRuleWithInvalidPattern() throws Exception {
+        final KomodoObject kobject = _repo.add( getTransaction(), null, VDB_NAME, VDB_TYPE );
+        kobject.setProperty( getTransaction(), "vdb:version", "0" );
+
+        String testFilePath = getClass().getClassLoader().getResource(RULES_FILE_INVALID_PATTERN_RULE).getFile();
+        _validationMgr.importRules( getTransaction(), new File( testFilePath ), true );
+        commit();
+
+        // the rule with the invalid pattern does not stop the other rules being found and evaluated
+        final Rule[] rules = _validationMgr.getRules( getTransaction(), kobject );
+        assertThat( rules.length, is( 2 ) );
+
+        for ( final Rule rule : rules ) {
+            if ( rule.getValidationType( getTransaction() ) == ValidationType.PROPERTY ) {
+                assertThat( rule.evaluate( getTransaction(), kobject ).isOK(), is( false ) );
+            } else {
+                try {
+                    rule.evaluate( getTransaction(), kobject );
+                    fail( "Rule with an invalid pattern should fail when evaluated" );
+                } catch ( final KException e ) {
+                    assertThat( e.getCause(), is( instanceOf( PatternSyntaxException.class ) ) );
+                }
+            }
+        }
+    }
+
     @Test
     public void shouldVerifyImportedChildRequiredEvaluationSuccess() throws Exception {
         // setup KomodoObject
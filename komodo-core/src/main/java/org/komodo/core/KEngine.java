@@ -33,9 +33,11 @@ import org.komodo.core.event.KEvent;
 import org.komodo.core.event.KListener;
 import org.komodo.modeshape.lib.LogConfigurator;
 import org.komodo.repository.LocalRepository;
+import org.komodo.repository.SharedRepository;
 import org.komodo.spi.KErrorHandler;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.RepositoryClient;
 import org.komodo.spi.repository.RepositoryClientEvent;
@@ -89,7 +91,14 @@ public final class KEngine implements RepositoryClient, StringConstants {
      */
     public Repository getDefaultRepository() {
         if (this.defaultRepository == null) {
-            defaultRepository = new LocalRepository();
+            final String type = System.getProperty(SystemConstants.REPOSITORY_TYPE, Repository.Type.LOCAL.name());
+
+            if (Repository.Type.SHARED.name().equalsIgnoreCase(type)) {
+                defaultRepository = new SharedRepository();
+            } else {
+                defaultRepository = new LocalRepository();
+            }
+
             try {
                 add(defaultRepository);
             } catch (Exception ex) {
@@ -0,0 +1,245 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.util.concurrent.ExecutionException;
+import org.komodo.spi.KException;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.BulkLoad;
+import org.komodo.spi.repository.Repository.BulkLoadListener;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * A {@link BulkLoad bulk load} that commits a new transaction each time the chunk size is reached. Each commit is awaited so
+ * that the sequencers of a chunk have finished, and its session released, before the next chunk is written. A chunk size of
+ * zero writes everything in the transaction committed by {@link #complete()}.
+ *
+ * @see SystemConstants#BULK_LOAD_CHUNK_SIZE
+ */
+final class BulkLoadImpl implements BulkLoad, StringConstants {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * The chunk size used when a load is created with {@link BulkLoad#CONFIGURED_CHUNK_SIZE}.
+     */
+    static final int CHUNK_SIZE = Math.max( 0, Integer.getInteger( SystemConstants.BULK_LOAD_CHUNK_SIZE, DEFAULT_CHUNK_SIZE ) );
+
+    private final Repository repository;
+    private final String userName;
+    private final String name;
+    private final int chunkSize;
+    private final BulkLoadListener listener;
+
+    private UnitOfWork transaction;
+    private String rootPath;
+    private int chunkCount = 0;
+    private long nodeCount = 0;
+    private int pending = 0;
+    private boolean finished = false;
+
+    BulkLoadImpl( final Repository repository,
+                  final String userName,
+                  final String name,
+                  final int chunkSize,
+                  final BulkLoadListener listener ) throws KException {
+        ArgCheck.isNotNull( repository, "repository" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( chunkSize >= CONFIGURED_CHUNK_SIZE ), "chunkSize is invalid" ); //$NON-NLS-1$
+
+        this.repository = repository;
+        this.userName = userName;
+        this.name = name;
+        this.chunkSize = ( ( chunkSize == CONFIGURED_CHUNK_SIZE ) ? CHUNK_SIZE : chunkSize );
+        this.listener = listener;
+        this.transaction = nextTransaction();
+    }
+
+    private UnitOfWork nextTransaction() throws KException {
+        return this.repository.createTransaction( this.userName, this.name + HYPHEN + this.chunkCount, false, null );
+    }
+
+    private void checkNotFinished() throws KException {
+        if ( this.finished ) {
+            throw new KException( Messages.getString( Messages.Komodo.BULK_LOAD_FINISHED, this.name ) );
+        }
+    }
+
+    private void await( final UnitOfWork uow ) throws KException {
+        try {
+            uow.commitAsync().get();
+        } catch ( final ExecutionException e ) {
+            final Throwable cause = e.getCause();
+
+            if ( cause instanceof KException ) {
+                throw ( KException )cause;
+            }
+
+            throw new KException( cause );
+        } catch ( final InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new KException( e );
+        }
+    }
+
+    private void commitChunk() throws KException {
+        try {
+            await( this.transaction );
+        } catch ( final KException e ) {
+            rollback();
+            throw e;
+        }
+
+        ++this.chunkCount;
+        this.pending = 0;
+        LOGGER.debug( "BulkLoad {0}: committed chunk {1}, {2} nodes written", this.name, this.chunkCount, this.nodeCount ); //$NON-NLS-1$
+
+        if ( this.listener != null ) {
+            this.listener.chunkCommitted( this );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository.BulkLoad#complete()
+     */
+    @Override
+    public void complete() throws KException {
+        checkNotFinished();
+        commitChunk();
+        this.finished = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository.BulkLoad#getChunkCount()
+     */
+    @Override
+    public int getChunkCount() {
+        return this.chunkCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository.BulkLoad#getNodeCount()
+     */
+    @Override
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository.BulkLoad#getRootPath()
+     */
+    @Override
+    public String getRootPath() {
+        return this.rootPath;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository.BulkLoad#getTransaction()
+     */
+    @Override
+    public UnitOfWork getTransaction() throws KException {
+        checkNotFinished();
+        return this.transaction;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository.BulkLoad#nodesWritten(int)
+     */
+    @Override
+    public void nodesWritten( final int count ) throws KException {
+        ArgCheck.isTrue( ( count >= 0 ), "count cannot be negative" ); //$NON-NLS-1$
+        checkNotFinished();
+
+        this.nodeCount += count;
+        this.pending += count;
+
+        if ( ( this.chunkSize > 0 ) && ( this.pending >= this.chunkSize ) ) {
+            commitChunk();
+            this.transaction = nextTransaction();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository.BulkLoad#rollback()
+     */
+    @Override
+    public void rollback() throws KException {
+        if ( this.finished ) {
+            return;
+        }
+
+        this.finished = true;
+
+        if ( this.transaction.getState() == State.NOT_STARTED ) {
+            this.transaction.rollback();
+        }
+
+        if ( ( this.chunkCount == 0 ) || ( this.rootPath == null ) ) {
+            return;
+        }
+
+        LOGGER.debug( "BulkLoad {0}: removing {1} after {2} committed chunks", this.name, this.rootPath, this.chunkCount ); //$NON-NLS-1$
+        final UnitOfWork uow = this.repository.createTransaction( this.userName, this.name + "-rollback", false, null ); //$NON-NLS-1$
+
+        try {
+            if ( this.repository.getFromWorkspace( uow, this.rootPath ) != null ) {
+                this.repository.remove( uow, this.rootPath );
+            }
+        } catch ( final KException e ) {
+            uow.rollback();
+            throw e;
+        }
+
+        await( uow );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository.BulkLoad#setRootPath(java.lang.String)
+     */
+    @Override
+    public void setRootPath( final String rootPath ) {
+        ArgCheck.isNotEmpty( rootPath, "rootPath" ); //$NON-NLS-1$
+        this.rootPath = rootPath;
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import org.infinispan.Cache;
+import org.infinispan.stats.Stats;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * The statistics Infinispan keeps for the cache holding the local repository content. They are read from the cache the
+ * repository's engine started, so they are only available when the cache configuration enables statistics.
+ */
+public class CacheMetrics {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * @param cache
+     *        the cache holding the repository content (cannot be <code>null</code>)
+     * @param profile
+     *        the cache profile the cache was configured with (can be <code>null</code> if not configured from a profile)
+     * @return the metrics of the cache or <code>null</code> if the cache does not keep statistics
+     */
+    public static CacheMetrics find( final Cache< ?, ? > cache,
+                                     final String profile ) {
+        ArgCheck.isNotNull( cache, "cache" ); //$NON-NLS-1$
+
+        if ( !cache.getCacheConfiguration().jmxStatistics().enabled() ) {
+            LOGGER.debug( "CacheMetrics.find: cache {0} does not keep statistics", cache.getName() ); //$NON-NLS-1$
+            return null;
+        }
+
+        return new CacheMetrics( cache, profile );
+    }
+
+    private final Cache< ?, ? > cache;
+    private final String cacheName;
+    private final String profile;
+
+    private CacheMetrics( final Cache< ?, ? > cache,
+                          final String profile ) {
+        this.cache = cache;
+        this.cacheName = cache.getName();
+        this.profile = profile;
+    }
+
+    /**
+     * @return the name of the cache (never empty)
+     */
+    public String getCacheName() {
+        return this.cacheName;
+    }
+
+    /**
+     * @return the number of entries held in memory or <code>-1</code> if unavailable
+     */
+    public long getEntryCount() {
+        final Stats stats = stats();
+        return ( ( stats == null ) ? -1 : stats.getCurrentNumberOfEntries() );
+    }
+
+    /**
+     * @return the number of entries evicted from memory or <code>-1</code> if unavailable
+     */
+    public long getEvictions() {
+        final Stats stats = stats();
+        return ( ( stats == null ) ? -1 : stats.getEvictions() );
+    }
+
+    /**
+     * @return the ratio of reads found in memory to all reads or <code>-1</code> if unavailable
+     */
+    public double getHitRatio() {
+        final Stats stats = stats();
+
+        if ( ( stats == null ) || ( stats.getHits() < 0 ) || ( stats.getMisses() < 0 ) ) {
+            return -1;
+        }
+
+        final long reads = ( stats.getHits() + stats.getMisses() );
+        return ( ( reads == 0 ) ? 0 : ( ( double )stats.getHits() / reads ) );
+    }
+
+    /**
+     * @return the number of reads found in memory or <code>-1</code> if unavailable
+     */
+    public long getHits() {
+        final Stats stats = stats();
+        return ( ( stats == null ) ? -1 : stats.getHits() );
+    }
+
+    /**
+     * @return the number of reads not found in memory or <code>-1</code> if unavailable
+     */
+    public long getMisses() {
+        final Stats stats = stats();
+        return ( ( stats == null ) ? -1 : stats.getMisses() );
+    }
+
+    /**
+     * @return the cache profile the cache was configured with or <code>null</code> if not configured from a profile
+     * @see org.komodo.spi.constants.SystemConstants#CACHE_PROFILE
+     */
+    public String getProfile() {
+        return this.profile;
+    }
+
+    private Stats stats() {
+        try {
+            return this.cache.getAdvancedCache().getStats();
+        } catch ( final Exception e ) {
+            LOGGER.debug( "CacheMetrics.stats: unable to read statistics of cache {0}", e, this.cacheName ); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return this.cacheName + "[profile=" + this.profile + ", entries=" + getEntryCount() + ", hitRatio=" + getHitRatio() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+               + ", evictions=" + getEvictions() + ']'; //$NON-NLS-1$
+    }
+
+}
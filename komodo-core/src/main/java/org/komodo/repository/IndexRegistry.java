@@ -0,0 +1,527 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.jcr.PropertyType;
+import javax.jcr.Session;
+import javax.jcr.query.Query;
+import org.komodo.core.KomodoLexicon;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+import org.modeshape.jcr.api.JcrConstants;
+import org.modeshape.jcr.api.Workspace;
+import org.modeshape.jcr.api.index.IndexColumnDefinition;
+import org.modeshape.jcr.api.index.IndexColumnDefinitionTemplate;
+import org.modeshape.jcr.api.index.IndexDefinition;
+import org.modeshape.jcr.api.index.IndexDefinition.IndexKind;
+import org.modeshape.jcr.api.index.IndexDefinitionTemplate;
+import org.modeshape.jcr.api.index.IndexManager;
+import org.modeshape.jcr.api.query.QueryResult;
+import org.teiid.modeshape.sequencer.dataservice.lexicon.DataVirtLexicon;
+import org.teiid.modeshape.sequencer.ddl.TeiidDdlLexicon;
+import org.teiid.modeshape.sequencer.vdb.lexicon.VdbLexicon;
+
+/**
+ * The indexes backing the lookups and keyword searches made against the Komodo lexicon. Indexes not already defined by the repository
+ * configuration are provisioned when the engine starts. The registry also records, for every index, how long it took to
+ * build and how many queries used it, and how many queries could not use any index.
+ */
+public class IndexRegistry implements StringConstants {
+
+    /**
+     * The name of the index provider declared in the local repository configuration. Value is {@value} .
+     */
+    public static final String LOCAL_PROVIDER = "local"; //$NON-NLS-1$
+
+    /**
+     * The name of the Lucene index provider declared in the local repository configuration. Full-text indexes backing
+     * <code>CONTAINS</code> criteria use this provider. Value is {@value} .
+     */
+    public static final String TEXT_PROVIDER = "lucene"; //$NON-NLS-1$
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * The maximum number of query plans remembered. Statements are only explained the first time they are seen.
+     */
+    private static final int MAX_PLANS = 500;
+
+    /**
+     * An index over a property of a Komodo lexicon node type.
+     */
+    public static final class Declaration {
+
+        private final String name;
+        private final String nodeType;
+        private final String propertyName;
+        private final int propertyType;
+        private final IndexKind kind;
+        private final String provider;
+
+        /**
+         * Declares a value index using the {@link IndexRegistry#LOCAL_PROVIDER local provider}.
+         *
+         * @param name
+         *        the index name (cannot be empty)
+         * @param nodeType
+         *        the node type whose nodes are indexed (cannot be empty)
+         * @param propertyName
+         *        the indexed property (cannot be empty)
+         * @param propertyType
+         *        the {@link PropertyType JCR type} of the indexed property
+         */
+        public Declaration( final String name,
+                            final String nodeType,
+                            final String propertyName,
+                            final int propertyType ) {
+            this( name, nodeType, propertyName, propertyType, IndexKind.VALUE, LOCAL_PROVIDER );
+        }
+
+        /**
+         * @param name
+         *        the index name (cannot be empty)
+         * @param nodeType
+         *        the node type whose nodes are indexed (cannot be empty)
+         * @param propertyName
+         *        the indexed property (cannot be empty)
+         * @param propertyType
+         *        the {@link PropertyType JCR type} of the indexed property
+         * @param kind
+         *        the kind of index (cannot be <code>null</code>)
+         * @param provider
+         *        the name of the index provider (cannot be empty)
+         */
+        public Declaration( final String name,
+                            final String nodeType,
+                            final String propertyName,
+                            final int propertyType,
+                            final IndexKind kind,
+                            final String provider ) {
+            ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
+            ArgCheck.isNotEmpty( nodeType, "nodeType" ); //$NON-NLS-1$
+            ArgCheck.isNotEmpty( propertyName, "propertyName" ); //$NON-NLS-1$
+            ArgCheck.isNotNull( kind, "kind" ); //$NON-NLS-1$
+            ArgCheck.isNotEmpty( provider, "provider" ); //$NON-NLS-1$
+
+            this.name = name;
+            this.nodeType = nodeType;
+            this.propertyName = propertyName;
+            this.propertyType = propertyType;
+            this.kind = kind;
+            this.provider = provider;
+        }
+
+        /**
+         * @return the kind of index (never <code>null</code>)
+         */
+        public IndexKind getKind() {
+            return this.kind;
+        }
+
+        /**
+         * @return the index name (never empty)
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * @return the node type whose nodes are indexed (never empty)
+         */
+        public String getNodeType() {
+            return this.nodeType;
+        }
+
+        /**
+         * @return the name of the index provider (never empty)
+         */
+        public String getProvider() {
+            return this.provider;
+        }
+
+        /**
+         * @return the indexed property (never empty)
+         */
+        public String getPropertyName() {
+            return this.propertyName;
+        }
+
+        /**
+         * @return the JCR type of the indexed property
+         */
+        public int getPropertyType() {
+            return this.propertyType;
+        }
+
+    }
+
+    /**
+     * The usage of one index.
+     */
+    public static final class Statistics {
+
+        private final String name;
+        private final AtomicLong hits = new AtomicLong();
+        private volatile long buildTime = -1;
+
+        Statistics( final String name ) {
+            this.name = name;
+        }
+
+        /**
+         * @return the time in milliseconds taken to build the index when it was provisioned, or <code>-1</code> if the index
+         *         was defined by the repository configuration
+         */
+        public long getBuildTime() {
+            return this.buildTime;
+        }
+
+        /**
+         * @return the number of query executions that used the index
+         */
+        public long getHits() {
+            return this.hits.get();
+        }
+
+        /**
+         * @return the index name (never empty)
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            return this.name + "[hits=" + getHits() + ", buildTime=" + this.buildTime + "ms]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+
+    }
+
+    private static final String NAME = "jcr:name"; //$NON-NLS-1$
+    private static final String LOCAL_NAME = "mode:localName"; //$NON-NLS-1$
+    private static final String BASE_TYPE = "nt:base"; //$NON-NLS-1$
+
+    // the index chosen for an index access node of a query plan
+    private static final Pattern INDEX_USED = Pattern.compile( "INDEX_SPECIFICATION=\\(?([^,\\s\\)\\]]+)" ); //$NON-NLS-1$
+
+    private final List< Declaration > declarations = new ArrayList<>();
+    private final ConcurrentHashMap< String, Statistics > statistics = new ConcurrentHashMap<>();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final Map< String, String[] > plans = new LinkedHashMap< String, String[] >( 16, 0.75f, true ) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry< String, String[] > eldest ) {
+            return ( size() > MAX_PLANS );
+        }
+
+    };
+
+    /**
+     * Constructs a registry declaring the indexes used by the workspace, search, connection, data service, VDB and
+     * validation rule lookups.
+     */
+    public IndexRegistry() {
+        declare( new Declaration( "nodesByName", BASE_TYPE, NAME, PropertyType.NAME ) ); //$NON-NLS-1$
+        declare( new Declaration( "connectionsByJndiName", //$NON-NLS-1$
+                                  DataVirtLexicon.Connection.NODE_TYPE,
+                                  DataVirtLexicon.Connection.JNDI_NAME,
+                                  PropertyType.STRING ) );
+        declare( new Declaration( "dataServicesByName", //$NON-NLS-1$
+                                  DataVirtLexicon.DataService.NODE_TYPE,
+                                  LOCAL_NAME,
+                                  PropertyType.STRING ) );
+        declare( new Declaration( "vdbsByName", VdbLexicon.Vdb.VIRTUAL_DATABASE, LOCAL_NAME, PropertyType.STRING ) ); //$NON-NLS-1$
+        declare( new Declaration( "rulesByNodeType", //$NON-NLS-1$
+                                  KomodoLexicon.Rule.RULE_NODE_TYPE,
+                                  KomodoLexicon.Rule.NODE_TYPE,
+                                  PropertyType.STRING ) );
+
+        // full-text indexes over the names, descriptions, DDL and SQL searched by keyword. Only the name index covers every
+        // node, the others are limited to the types the property is searched on so other commits do not update them.
+        declareText( "textByName", BASE_TYPE, LOCAL_NAME ); //$NON-NLS-1$
+        declareText( "textByDescription", VdbLexicon.Vdb.VIRTUAL_DATABASE, VdbLexicon.Vdb.DESCRIPTION ); //$NON-NLS-1$
+        declareText( "textByLibraryDescription", //$NON-NLS-1$
+                     KomodoLexicon.LibraryComponent.MIXIN_TYPE,
+                     KomodoLexicon.LibraryComponent.DESCRIPTION );
+        declareText( "textByModelDefinition", VdbLexicon.Vdb.DECLARATIVE_MODEL, VdbLexicon.Model.MODEL_DEFINITION ); //$NON-NLS-1$
+        declareText( "textBySchemaRendition", KomodoLexicon.Schema.NODE_TYPE, KomodoLexicon.Schema.RENDITION ); //$NON-NLS-1$
+        declareText( "textByQueryExpression", //$NON-NLS-1$
+                     TeiidDdlLexicon.CreateTable.VIEW_STATEMENT,
+                     TeiidDdlLexicon.CreateTable.QUERY_EXPRESSION );
+        declareText( "textByProcedureStatement", //$NON-NLS-1$
+                     TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT,
+                     TeiidDdlLexicon.CreateProcedure.STATEMENT );
+    }
+
+    private void declareText( final String name,
+                              final String nodeType,
+                              final String propertyName ) {
+        declare( new Declaration( name, nodeType, propertyName, PropertyType.STRING, IndexKind.TEXT, TEXT_PROVIDER ) );
+    }
+
+    /**
+     * Must be called before the registry is {@link #provision(Session) provisioned}.
+     *
+     * @param declaration
+     *        the index to add (cannot be <code>null</code>)
+     */
+    public void declare( final Declaration declaration ) {
+        ArgCheck.isNotNull( declaration, "declaration" ); //$NON-NLS-1$
+        this.declarations.add( declaration );
+    }
+
+    /**
+     * @return the declared indexes (never <code>null</code>)
+     */
+    public List< Declaration > getDeclarations() {
+        return Collections.unmodifiableList( this.declarations );
+    }
+
+    /**
+     * A search of <code>nt:base</code> or <code>nt:unstructured</code> nodes is a search of every type so all the full-text
+     * indexed properties are returned.
+     *
+     * @param nodeType
+     *        the node type being searched (cannot be empty)
+     * @return the properties with a full-text index covering nodes of the type, in declaration order (never
+     *         <code>null</code> but can be empty)
+     */
+    public List< String > getTextPropertyNames( final String nodeType ) {
+        ArgCheck.isNotEmpty( nodeType, "nodeType" ); //$NON-NLS-1$
+        final boolean anyType = BASE_TYPE.equals( nodeType ) || JcrConstants.NT_UNSTRUCTURED.equals( nodeType );
+        final List< String > result = new ArrayList<>();
+
+        for ( final Declaration declaration : this.declarations ) {
+            if ( ( declaration.getKind() == IndexKind.TEXT )
+                 && ( anyType
+                      || BASE_TYPE.equals( declaration.getNodeType() )
+                      || nodeType.equals( declaration.getNodeType() ) )
+                 && !result.contains( declaration.getPropertyName() ) ) {
+                result.add( declaration.getPropertyName() );
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of query executions that did not use any index
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * @return the usage of each index known to the repository (never <code>null</code>)
+     */
+    public Collection< Statistics > getStatistics() {
+        return Collections.unmodifiableCollection( this.statistics.values() );
+    }
+
+    /**
+     * @param indexName
+     *        the name of the index whose usage is being requested (cannot be empty)
+     * @return the usage or <code>null</code> if the index is not known
+     */
+    public Statistics getStatistics( final String indexName ) {
+        ArgCheck.isNotEmpty( indexName, "indexName" ); //$NON-NLS-1$
+        return this.statistics.get( indexName );
+    }
+
+    /**
+     * Registers the declared indexes that the repository does not already define and whose provider is configured.
+     * ModeShape builds each index as it is registered so the time taken is recorded as its build time.
+     *
+     * @param session
+     *        the session used to access the index manager (cannot be <code>null</code>)
+     * @throws Exception
+     *         if an index cannot be registered
+     */
+    public void provision( final Session session ) throws Exception {
+        ArgCheck.isNotNull( session, "session" ); //$NON-NLS-1$
+
+        final IndexManager manager = ( ( Workspace )session.getWorkspace() ).getIndexManager();
+        final Map< String, IndexDefinition > existing = manager.getIndexDefinitions();
+
+        for ( final String name : existing.keySet() ) {
+            statistics( name );
+        }
+
+        final Set< String > providers = manager.getProviderNames();
+
+        for ( final Declaration declaration : this.declarations ) {
+            if ( existing.containsKey( declaration.getName() ) ) {
+                continue;
+            }
+
+            // a configuration without the provider, like one without full-text indexing, falls back to scanning
+            if ( !providers.contains( declaration.getProvider() ) ) {
+                LOGGER.debug( "IndexRegistry.provision: provider {0} of index {1} is not configured", //$NON-NLS-1$
+                              declaration.getProvider(),
+                              declaration.getName() );
+                continue;
+            }
+
+            final IndexColumnDefinitionTemplate column = manager.createIndexColumnDefinitionTemplate();
+            column.setPropertyName( declaration.getPropertyName() );
+            column.setColumnType( declaration.getPropertyType() );
+
+            final IndexDefinitionTemplate template = manager.createIndexDefinitionTemplate();
+            template.setName( declaration.getName() );
+            template.setKind( declaration.getKind() );
+            template.setNodeTypeName( declaration.getNodeType() );
+            template.setProviderName( declaration.getProvider() );
+            template.setSynchronous( true );
+            template.setAllWorkspaces();
+            template.setColumnDefinitions( new IndexColumnDefinition[] { column } );
+
+            final long start = System.currentTimeMillis();
+            manager.registerIndex( template, false );
+
+            final Statistics stats = statistics( declaration.getName() );
+            stats.buildTime = ( System.currentTimeMillis() - start );
+            LOGGER.debug( "IndexRegistry.provision: built index {0} in {1}ms", declaration.getName(), stats.buildTime ); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Records the indexes a query execution uses. The plan of a statement is only determined the first time it is seen.
+     *
+     * @param statement
+     *        the normalized query statement (cannot be empty)
+     * @param query
+     *        the query about to be executed with all variables bound (cannot be <code>null</code>)
+     */
+    public void recordExecution( final String statement,
+                                 final Query query ) {
+        String[] indexes = null;
+
+        synchronized ( this.plans ) {
+            indexes = this.plans.get( statement );
+        }
+
+        if ( indexes == null ) {
+            indexes = explain( query );
+
+            synchronized ( this.plans ) {
+                this.plans.put( statement, indexes );
+            }
+        }
+
+        if ( indexes.length == 0 ) {
+            this.misses.incrementAndGet();
+        } else {
+            for ( final String index : indexes ) {
+                statistics( index ).hits.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @param statement
+     *        the normalized query statement (cannot be empty)
+     * @return the indexes the plan of the statement uses or <code>null</code> if the statement has not been executed or its
+     *         plan is no longer remembered
+     */
+    public String[] getIndexesUsed( final String statement ) {
+        ArgCheck.isNotEmpty( statement, "statement" ); //$NON-NLS-1$
+
+        synchronized ( this.plans ) {
+            final String[] indexes = this.plans.get( statement );
+            return ( ( indexes == null ) ? null : indexes.clone() );
+        }
+    }
+
+    /**
+     * The plan names every index considered for a source but only the index specification chosen for an index access node
+     * is used, so only those names are returned.
+     */
+    private String[] explain( final Query query ) {
+        if ( query instanceof org.modeshape.jcr.api.query.Query ) {
+            try {
+                final String plan = ( ( QueryResult )( ( org.modeshape.jcr.api.query.Query )query ).explain() ).getPlan();
+                final List< String > used = new ArrayList<>();
+                final Matcher matcher = INDEX_USED.matcher( plan );
+
+                while ( matcher.find() ) {
+                    final String name = matcher.group( 1 );
+
+                    if ( !used.contains( name ) ) {
+                        used.add( name );
+                    }
+                }
+
+                return used.toArray( new String[ used.size() ] );
+            } catch ( final Exception e ) {
+                LOGGER.debug( "IndexRegistry.explain: unable to obtain query plan", e ); //$NON-NLS-1$
+            }
+        }
+
+        return new String[ 0 ];
+    }
+
+    private Statistics statistics( final String indexName ) {
+        Statistics stats = this.statistics.get( indexName );
+
+        if ( stats == null ) {
+            stats = new Statistics( indexName );
+            final Statistics current = this.statistics.putIfAbsent( indexName, stats );
+
+            if ( current != null ) {
+                stats = current;
+            }
+        }
+
+        return stats;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "IndexRegistry" + this.statistics.values() + "[misses=" + getMisses() + ']'; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+}
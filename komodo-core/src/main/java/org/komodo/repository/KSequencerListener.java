@@ -41,6 +41,13 @@ public interface KSequencerListener {
      */
     Session session();
 
+    /**
+     * Will be called for each set of events saved by the session or by the sequencers on its behalf
+     *
+     * @param nodeCount the number of nodes added, changed, moved or removed by the set of events
+     */
+    void changesSaved(int nodeCount);
+
     /**
      * Will be called when all sequencers have been executed
      */
@@ -21,9 +21,12 @@
  */
 package org.komodo.repository;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.komodo.core.KomodoLexicon;
 import org.komodo.spi.constants.StringConstants;
@@ -33,7 +36,9 @@ import org.komodo.spi.utils.KeyInValueHashMap;
 import org.komodo.spi.utils.KeyInValueHashMap.KeyFromValueAdapter;
 import org.komodo.utils.ArgCheck;
 import org.teiid.modeshape.sequencer.dataservice.lexicon.DataVirtLexicon;
+import org.teiid.modeshape.sequencer.ddl.DdlConstants;
 import org.teiid.modeshape.sequencer.ddl.StandardDdlLexicon;
+import org.teiid.modeshape.sequencer.ddl.TeiidDdlConstants;
 import org.teiid.modeshape.sequencer.ddl.TeiidDdlLexicon;
 import org.teiid.modeshape.sequencer.vdb.lexicon.VdbLexicon;
 
@@ -114,6 +119,12 @@ public class KomodoTypeRegistry implements StringConstants {
     private KeyInValueHashMap<KomodoType, TypeIdentifier> kTypeIndex =
                     new KeyInValueHashMap<>(new KTypeAdapter());
 
+    // identifiers keyed by primary type and sorted mixins
+    private final ConcurrentMap<String, Set<TypeIdentifier>> descriptorIdentifiers = new ConcurrentHashMap<>();
+
+    // komodo types keyed by primary type, sorted mixins and constraint type
+    private final ConcurrentMap<String, KomodoType> descriptorTypes = new ConcurrentHashMap<>();
+
     private KomodoTypeRegistry() {
 
         index(KomodoType.ACCESS_PATTERN, TeiidDdlLexicon.Constraint.TABLE_ELEMENT);
@@ -218,6 +229,147 @@ public class KomodoTypeRegistry implements StringConstants {
         return kTypeIndex.get(kType);
     }
 
+    private static String descriptorKey(String primaryType, String... mixins) {
+        if (mixins == null || mixins.length == 0)
+            return primaryType;
+
+        String[] sorted = mixins.clone();
+        Arrays.sort(sorted);
+
+        StringBuilder key = new StringBuilder(primaryType);
+        for (String mixin : sorted) {
+            key.append(PIPE).append(mixin);
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * The result is remembered so later calls with the same descriptors are a single lookup.
+     *
+     * @param primaryType the primary type name (cannot be empty)
+     * @param mixins the mixin names in any order (can be <code>null</code> or empty)
+     * @return the unmodifiable set of type identifiers of the primary type and mixins (never <code>null</code>)
+     */
+    public Set<TypeIdentifier> getDescriptorIdentifiers(String primaryType, String... mixins) {
+        ArgCheck.isNotEmpty(primaryType, "primaryType"); //$NON-NLS-1$
+
+        String key = descriptorKey(primaryType, mixins);
+        Set<TypeIdentifier> result = descriptorIdentifiers.get(key);
+
+        if (result == null) {
+            Set<TypeIdentifier> identifiers = new HashSet<>(getIdentifiers(primaryType));
+
+            if (mixins != null) {
+                for (String mixin : mixins) {
+                    identifiers.addAll(getIdentifiers(mixin));
+                }
+            }
+
+            result = Collections.unmodifiableSet(identifiers);
+            descriptorIdentifiers.putIfAbsent(key, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param primaryType the primary type name (cannot be empty)
+     * @param mixins the mixin names in any order (can be <code>null</code> or empty)
+     * @return <code>true</code> if the komodo type also depends on the value of the
+     *              {@link TeiidDdlLexicon.Constraint#TYPE constraint type} property
+     */
+    public boolean isConstraintDependent(String primaryType, String... mixins) {
+        Set<TypeIdentifier> identifiers = getDescriptorIdentifiers(primaryType, mixins);
+
+        return identifiers.size() > 1
+                   && TeiidDdlLexicon.Constraint.TABLE_ELEMENT.equals(identifiers.iterator().next().getLexiconType());
+    }
+
+    /**
+     * The result is remembered so later calls with the same arguments are a single lookup.
+     *
+     * @param constraintType the value of the constraint type property (can be <code>null</code>)
+     * @param primaryType the primary type name (cannot be empty)
+     * @param mixins the mixin names in any order (can be <code>null</code> or empty)
+     * @return the komodo type or <code>null</code> if none of the descriptors identify a komodo type
+     * @see #isConstraintDependent(String, String...)
+     */
+    public KomodoType getKomodoType(String constraintType, String primaryType, String... mixins) {
+        Set<TypeIdentifier> identifiers = getDescriptorIdentifiers(primaryType, mixins);
+
+        if (identifiers.isEmpty())
+            return null;
+
+        if (identifiers.size() == 1)
+            return identifiers.iterator().next().getKomodoType();
+
+        String key = descriptorKey(primaryType, mixins);
+        if (constraintType != null)
+            key = key + PIPE + PIPE + constraintType;
+
+        KomodoType result = descriptorTypes.get(key);
+
+        if (result == null) {
+            result = identify(identifiers, constraintType);
+            descriptorTypes.putIfAbsent(key, result);
+        }
+
+        return result;
+    }
+
+    private KomodoType identify(Set<TypeIdentifier> identifiers, String constraintType) {
+        KomodoType result = KomodoType.UNKNOWN;
+
+        // Multiple identifiers all with the same lexiconType
+        String lexiconType = identifiers.iterator().next().getLexiconType();
+
+        if (TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT.equals(lexiconType)) {
+            /*
+             * TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT
+             *
+             * * STORED_PROCEDURE
+             * * VIRTUAL_PROCEDURE
+             */
+
+            // If identifiers contains virtual procedure then its one of those,
+            // otherwise its a stored procedure.
+            result = KomodoType.STORED_PROCEDURE;
+            for (TypeIdentifier identifier : identifiers) {
+                if (KomodoType.VIRTUAL_PROCEDURE.equals(identifier.getKomodoType())) {
+                    result = KomodoType.VIRTUAL_PROCEDURE;
+                    break;
+                }
+            }
+
+        } else if (TeiidDdlLexicon.Constraint.TABLE_ELEMENT.equals(lexiconType)) {
+            /*
+             * TeiidDdlLexicon.Constraint.TABLE_ELEMENT
+             *
+             * * ACCESS_PATTERN
+             * * COLUMN
+             * * PRIMARY_KEY
+             * * UNIQUE_CONSTRAINT
+             */
+            String accessPatternConstraint = TeiidDdlConstants.TeiidNonReservedWord.ACCESSPATTERN.toDdl();
+            String primaryKeyConstraint = DdlConstants.PRIMARY_KEY;
+            String uniqueConstraint = TeiidDdlConstants.TeiidReservedWord.UNIQUE.toDdl();
+
+            if (constraintType != null) {
+                if (accessPatternConstraint.equals(constraintType))
+                    result = KomodoType.ACCESS_PATTERN;
+                else if (primaryKeyConstraint.equals(constraintType))
+                    result = KomodoType.PRIMARY_KEY;
+                else if (uniqueConstraint.equals(constraintType))
+                    result = KomodoType.UNIQUE_CONSTRAINT;
+                else
+                    result = KomodoType.COLUMN;
+            }
+        }
+
+        return result;
+    }
+
     /**
      * @param lexiconType the lexicon identified type
      * @return all the type identifiers with the given lexicon type
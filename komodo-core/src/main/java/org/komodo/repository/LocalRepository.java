@@ -21,23 +21,41 @@
  */
 package org.komodo.repository;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.WeakHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 
 import org.komodo.core.KEngine;
+import org.komodo.repository.internal.ChangeFeed;
 import org.komodo.repository.internal.ModeshapeEngineThread;
+import org.komodo.repository.internal.ModeshapeEngineThread.ClearRequest;
+import org.komodo.repository.internal.ReadSessionPool;
+import org.komodo.repository.internal.RepositoryBackup;
 import org.komodo.repository.internal.ModeshapeEngineThread.Request;
 import org.komodo.repository.internal.ModeshapeEngineThread.RequestCallback;
 import org.komodo.repository.internal.ModeshapeEngineThread.RequestType;
 import org.komodo.spi.KException;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.spi.repository.Repository.ClearListener;
+import org.komodo.spi.repository.RepositoryChange;
+import org.komodo.spi.repository.RepositoryChangeListener;
 import org.komodo.spi.repository.RepositoryClientEvent;
+import org.komodo.spi.repository.RepositoryObserver;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.KLog;
 import org.komodo.utils.StringUtils;
@@ -49,6 +67,8 @@ public class LocalRepository extends RepositoryImpl {
 
     private static String LOCAL_REPOSITORY_CONFIG = "local-repository-config.json"; //$NON-NLS-1$
 
+    private static String IN_MEMORY_REPOSITORY_CONFIG = "local-repository-in-memory-config.json"; //$NON-NLS-1$
+
     /**
      * The default local repository identifier used for the production komodo engine.
      */
@@ -56,6 +76,16 @@ public class LocalRepository extends RepositoryImpl {
                                                                                               LocalRepository.class.getResource(LOCAL_REPOSITORY_CONFIG),
                                                                                               DEFAULT_LOCAL_WORKSPACE_NAME);
 
+    /**
+     * The identifier of a local repository keeping its content, indexes and binaries in memory only. The content is
+     * {@link #snapshot() snapshot} when the repository starts so it can be {@link #reset() reset} to it.
+     *
+     * @see SystemConstants#IN_MEMORY_REPOSITORY
+     */
+    public static final LocalRepositoryId IN_MEMORY_LOCAL_REPOSITORY_ID = new LocalRepositoryId(
+                                                                                                LocalRepository.class.getResource(IN_MEMORY_REPOSITORY_CONFIG),
+                                                                                                DEFAULT_LOCAL_WORKSPACE_NAME);
+
     /**
      * Identifier for the local repository
      */
@@ -131,6 +161,19 @@ public class LocalRepository extends RepositoryImpl {
 
     private ModeshapeEngineThread engineThread;
 
+    // only handed to the engine while change listeners are registered
+    private final RepositoryChangeListener feedListener = new RepositoryChangeListener() {
+
+        @Override
+        public void changesOccurred( final List< RepositoryChange > changes ) {
+            notifyChangeListeners(changes);
+        }
+
+    };
+
+    // the content restored by a reset
+    private volatile byte[] snapshot;
+
     /**
      * Create an instance if a local repository using the specified configuration file.
      *
@@ -154,10 +197,33 @@ public class LocalRepository extends RepositoryImpl {
     }
 
     /**
-     * Create an instance of local repository using default configuration file and workspace name.
+     * Create an instance of a repository of the specified type whose engine runs in this JVM.
+     *
+     * @param type
+     *        the repository type (cannot be <code>null</code>)
+     * @param repositoryId
+     *        repository configuration of the instance
+     */
+    protected LocalRepository( final Type type,
+                               final LocalRepositoryId repositoryId ) {
+        super(type, repositoryId);
+    }
+
+    /**
+     * Create an instance of local repository using default configuration file and workspace name. The in-memory
+     * configuration is used if {@link SystemConstants#IN_MEMORY_REPOSITORY selected}.
      */
     public LocalRepository() {
-        this(DEFAULT_LOCAL_REPOSITORY_ID);
+        this(Boolean.getBoolean(SystemConstants.IN_MEMORY_REPOSITORY) ? IN_MEMORY_LOCAL_REPOSITORY_ID
+                                                                      : DEFAULT_LOCAL_REPOSITORY_ID);
+    }
+
+    /**
+     * @return <code>true</code> if this repository keeps its content in memory only
+     * @see #IN_MEMORY_LOCAL_REPOSITORY_ID
+     */
+    public boolean isInMemory() {
+        return IN_MEMORY_LOCAL_REPOSITORY_ID.equals(getId());
     }
 
     /**
@@ -199,55 +265,188 @@ public class LocalRepository extends RepositoryImpl {
         return ((this.engineThread != null) && ((this.engineThread.isAlive())) && this.engineThread.isRunning());
     }
 
-    private Session createSession() throws KException {
-        final CountDownLatch latch = new CountDownLatch(1);
+    private CompletableFuture< Session > createSessionAsync( final String userName ) {
+        final CompletableFuture< Session > future = new CompletableFuture<>();
 
         class CreateSessionCallback implements RequestCallback {
 
-            private Throwable error = null;
-            private Session result = null;
-
             @Override
             public void errorOccurred( final Throwable e ) {
-                this.error = e;
+                AsyncCompletions.completeExceptionally( future, e );
             }
 
-            Throwable getError() {
-                return this.error;
+            @Override
+            public void respond( final Object results ) {
+                AsyncCompletions.complete( future, ( Session )results );
             }
 
-            Session getSession() {
-                return this.result;
-            }
+        }
 
-            @Override
-            public void respond( final Object results ) {
-                this.result = (Session)results;
-                latch.countDown();
+        this.engineThread.accept(new Request(RequestType.CREATE_SESSION, new CreateSessionCallback(), userName));
+        return future;
+    }
+
+    /**
+     * Streams a full backup of the Komodo content. The backup runs on the calling thread so the engine keeps committing
+     * transactions while it is written. The stream is not closed.
+     * <p>
+     * The backup is <strong>not</strong> a consistent snapshot. Each top-level subtree is read as it stands when it is written,
+     * so a transaction committed during the backup can be partly included. Take the backup while no transactions are running,
+     * or follow it with an {@link #backup(OutputStream, long) incremental backup} from the returned time, when a consistent copy
+     * is needed.
+     *
+     * @param stream
+     *        the stream the backup is written to (cannot be <code>null</code>)
+     * @return the time the backup started (the start of the next incremental backup)
+     * @throws KException
+     *         if the engine is not running or an error occurs
+     * @see #restore(InputStream)
+     */
+    public long backup( final OutputStream stream ) throws KException {
+        try {
+            return createBackup().backup( stream );
+        } catch ( final Exception e ) {
+            if ( e instanceof KException ) {
+                throw ( KException )e;
             }
 
+            throw new KException( e );
         }
+    }
 
-        final CreateSessionCallback callback = new CreateSessionCallback();
-        this.engineThread.accept(new Request(RequestType.CREATE_SESSION, callback));
+    /**
+     * Streams a backup of the changes made since a previous backup, as recorded by the repository's event journal. The stream
+     * is not closed.
+     * <p>
+     * The journal is only kept when the {@link org.komodo.spi.constants.SystemConstants#JOURNALING journaling system property}
+     * is set before the repository starts.
+     *
+     * @param stream
+     *        the stream the backup is written to (cannot be <code>null</code>)
+     * @param since
+     *        the time returned by the previous backup
+     * @return the time the backup started (the start of the next incremental backup)
+     * @throws KException
+     *         if the engine is not running, journaling is not enabled, or an error occurs
+     * @see #restore(InputStream)
+     */
+    public long backup( final OutputStream stream,
+                        final long since ) throws KException {
+        try {
+            return createBackup().backup( stream, since );
+        } catch ( final Exception e ) {
+            if ( e instanceof KException ) {
+                throw ( KException )e;
+            }
 
-        boolean timeout = false;
+            throw new KException( e );
+        }
+    }
 
+    /**
+     * Restores a full or incremental backup. Incremental backups must be restored in the order they were made, after the full
+     * backup they follow. No other transactions should be running. The stream is not closed.
+     * <p>
+     * The subtrees are imported in parallel. A full backup of the current content is first written to a temporary file and is
+     * restored if the restore fails, so the content is left as it was.
+     *
+     * @param stream
+     *        the stream the backup is read from (cannot be <code>null</code>)
+     * @throws KException
+     *         if the engine is not running, the stream is not a backup, or an error occurs
+     */
+    public void restore( final InputStream stream ) throws KException {
         try {
-            timeout = !latch.await(1, TimeUnit.MINUTES);
-        } catch (final Exception e) {
-            throw new KException(e);
+            createBackup().restore( stream );
+            validationRulesChanged();
+        } catch ( final Exception e ) {
+            if ( e instanceof KException ) {
+                throw ( KException )e;
+            }
+
+            throw new KException( e );
         }
+    }
 
-        if (timeout) {
-            throw new KException(Messages.getString(Messages.LocalRepository.Unable_To_Create_Session));
+    /**
+     * Records the current Komodo content as the content restored by a {@link #reset() reset}. A repository
+     * {@link #isInMemory() kept in memory} takes a snapshot of its initial content once it has started, before it becomes
+     * reachable and its observers are told it has started.
+     *
+     * @throws KException
+     *         if the engine is not running or an error occurs
+     */
+    public void snapshot() throws KException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        backup( stream );
+        this.snapshot = stream.toByteArray();
+    }
+
+    /**
+     * Restores the content recorded by the last {@link #snapshot() snapshot}, discarding everything committed since. No
+     * other transactions should be running.
+     *
+     * @throws KException
+     *         if the engine is not running, no snapshot has been taken, or an error occurs
+     */
+    public void reset() throws KException {
+        final byte[] content = this.snapshot;
+
+        if ( content == null ) {
+            throw new KException( Messages.getString( Messages.LocalRepository.No_Snapshot ) );
         }
 
-        if (callback.getError() != null) {
-            throw new KException(callback.getError());
+        restore( new ByteArrayInputStream( content ) );
+    }
+
+    /**
+     * @return the statistics of the cache holding the repository content or <code>null</code> if the repository is not
+     *         running or its cache does not keep statistics
+     * @see org.komodo.spi.constants.SystemConstants#CACHE_PROFILE
+     */
+    public CacheMetrics getCacheMetrics() {
+        return ( ( this.engineThread == null ) ? null : this.engineThread.getCacheMetrics() );
+    }
+
+    /**
+     * @return the engine running this repository or <code>null</code> if the repository has not been started
+     */
+    protected ModeshapeEngineThread getEngineThread() {
+        return this.engineThread;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.RepositoryImpl#changeListenersChanged(boolean)
+     */
+    @Override
+    protected void changeListenersChanged( final boolean hasListeners ) {
+        final ModeshapeEngineThread thread = this.engineThread;
+
+        if (thread != null) {
+            thread.setChangeListener(hasListeners ? this.feedListener : null);
         }
+    }
 
-        return callback.getSession();
+    private RepositoryBackup createBackup() throws KException {
+        if ( this.engineThread == null ) {
+            throw new KException( Messages.getString( Messages.LocalRepository.Engine_Not_Running ) );
+        }
+
+        return this.engineThread.createBackup();
+    }
+
+    private Session createSession( final String userName ) throws KException {
+        try {
+            return createSessionAsync( userName ).get( 1, TimeUnit.MINUTES );
+        } catch (final TimeoutException e) {
+            throw new KException(Messages.getString(Messages.LocalRepository.Unable_To_Create_Session));
+        } catch (final ExecutionException e) {
+            throw new KException(e.getCause());
+        } catch (final Exception e) {
+            throw new KException(e);
+        }
     }
 
     /**
@@ -262,20 +461,125 @@ public class LocalRepository extends RepositoryImpl {
                                          final UnitOfWorkListener callback ) throws KException {
         ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
         LOGGER.debug("creating transaction {0} with rollbackOnly = {1}", name, rollbackOnly); //$NON-NLS-1$
-        final Session session = createSession();
+
+        //
+        // Read-only transactions borrow a pooled session directly rather than
+        // queueing a session request behind commits on the engine thread
+        //
+        if (rollbackOnly && (this.engineThread != null)) {
+            final ReadSessionPool pool = this.engineThread.getReadSessionPool();
+
+            if (pool != null) {
+                try {
+                    final Session session = pool.acquire();
+
+                    if (session != null) {
+                        return new LocalRepositoryTransaction(userName, name, session, pool, callback);
+                    }
+                } catch (final Exception e) {
+                    throw new KException(e);
+                }
+            }
+        }
+
+        final Session session = createSession(userName);
         final UnitOfWork uow = new LocalRepositoryTransaction(userName, name, session, rollbackOnly, callback);
         this.sessions.put(session, uow);
         return uow;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Read-only transactions are served from the read session pool when possible. Otherwise the future is completed by the
+     * engine thread once it has created the session.
+     *
+     * @see org.komodo.repository.RepositoryImpl#createTransactionAsync(java.lang.String, java.lang.String, boolean,
+     *      org.komodo.spi.repository.Repository.UnitOfWorkListener)
+     */
+    @Override
+    public CompletableFuture< UnitOfWork > createTransactionAsync( final String userName,
+                                                                   final String name,
+                                                                   final boolean rollbackOnly,
+                                                                   final UnitOfWorkListener callback ) {
+        if ( StringUtils.isBlank( name ) || ( this.engineThread == null ) ) {
+            // let the synchronous version report the problem
+            return super.createTransactionAsync( userName, name, rollbackOnly, callback );
+        }
+
+        LOGGER.debug("creating asynchronous transaction {0} with rollbackOnly = {1}", name, rollbackOnly); //$NON-NLS-1$
+
+        if (rollbackOnly) {
+            final ReadSessionPool pool = this.engineThread.getReadSessionPool();
+
+            if (pool != null) {
+                final CompletableFuture< UnitOfWork > future = new CompletableFuture<>();
+
+                try {
+                    final Session session = pool.acquire();
+
+                    if (session != null) {
+                        future.complete(new LocalRepositoryTransaction(userName, name, session, pool, callback));
+                        return future;
+                    }
+                } catch (final Exception e) {
+                    future.completeExceptionally(e);
+                    return future;
+                }
+            }
+        }
+
+        return createSessionAsync( userName ).thenApply( new Function< Session, UnitOfWork >() {
+
+            @Override
+            public UnitOfWork apply( final Session session ) {
+                final UnitOfWork uow = new LocalRepositoryTransaction(userName, name, session, rollbackOnly, callback);
+                LocalRepository.this.sessions.put(session, uow);
+                return uow;
+            }
+
+        } );
+    }
+
     class LocalRepositoryTransaction extends RepositoryImpl.UnitOfWorkImpl {
 
+        private final ReadSessionPool pool;
+
         LocalRepositoryTransaction(final String userName,
                                     final String uowName,
                                     final Session uowSession,
                                     final boolean uowRollbackOnly,
                                     final UnitOfWorkListener listener) {
             super(userName, uowName, uowSession, uowRollbackOnly, listener);
+            this.pool = null;
+        }
+
+        /**
+         * Constructs a rollback-only transaction whose session is returned to the specified pool when finished.
+         */
+        LocalRepositoryTransaction(final String userName,
+                                    final String uowName,
+                                    final Session uowSession,
+                                    final ReadSessionPool sessionPool,
+                                    final UnitOfWorkListener listener) {
+            super(userName, uowName, uowSession, true, listener);
+            this.pool = sessionPool;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * A transaction using a pooled session shares the queries cached by the session while it stays in the pool.
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#getPreparedQueries()
+         */
+        @Override
+        public PreparedQueryCache getPreparedQueries() {
+            if ( this.pool == null ) {
+                return super.getPreparedQueries();
+            }
+
+            return this.pool.getPreparedQueries( getSession() );
         }
 
         /**
@@ -299,6 +603,20 @@ public class LocalRepository extends RepositoryImpl {
                     // engine thread callback that communicates with transaction callback
                     class CommitCallback implements RequestCallback {
 
+                        private ModeshapeEngineThread.SessionRequest request;
+
+                        private void recordMetrics( final boolean failed ) {
+                            getTransactionMetrics().record( getName(),
+                                                            getUserName(),
+                                                            LocalRepositoryTransaction.this.createdAt,
+                                                            this.request.getRequestedAt(),
+                                                            this.request.getStartedAt(),
+                                                            this.request.getSavedAt(),
+                                                            System.nanoTime(),
+                                                            this.request.getNodeCount(),
+                                                            failed );
+                        }
+
                         /**
                          * {@inheritDoc}
                          *
@@ -306,6 +624,7 @@ public class LocalRepository extends RepositoryImpl {
                          */
                         @Override
                         public void errorOccurred( final Throwable error ) {
+                            recordMetrics( true );
                             setState( State.ERROR );
                             setError( error );
 
@@ -314,6 +633,8 @@ public class LocalRepository extends RepositoryImpl {
                             } else {
                                 getCallback().errorOccurred( error );
                             }
+
+                            notifyCompletion();
                         }
 
                         /**
@@ -323,6 +644,7 @@ public class LocalRepository extends RepositoryImpl {
                          */
                         @Override
                         public void respond( final Object results ) {
+                            recordMetrics( false );
                             setState( State.COMMITTED );
 
                             if (getCallback() != null) {
@@ -330,6 +652,8 @@ public class LocalRepository extends RepositoryImpl {
                                 getCallback().respond( null );
                             } else
                                 KLog.getLogger().debug(LocalRepositoryTransaction.class.getName() + ": No callback specified"); //$NON-NLS-1$
+
+                            notifyCompletion();
                         }
 
                     }
@@ -339,7 +663,9 @@ public class LocalRepository extends RepositoryImpl {
                     ModeshapeEngineThread.SessionRequest request = new ModeshapeEngineThread.SessionRequest( RequestType.COMMIT_SESSION,
                                                                                                         callback,
                                                                                                         getSession(),
-                                                                                                        getName() );
+                                                                                                        getName(),
+                                                                                                        getUserName() );
+                    callback.request = request;
                     KLog.getLogger().debug("LocalRepository.LocalRepositoryTransaction.commit() post commit request for session: {0}",  //$NON-NLS-1$
                                            getSession().hashCode());
                     LocalRepository.this.engineThread.accept( request );
@@ -381,6 +707,8 @@ public class LocalRepository extends RepositoryImpl {
                     } else {
                         getCallback().errorOccurred( error );
                     }
+
+                    notifyCompletion();
                 }
 
                 /**
@@ -395,6 +723,8 @@ public class LocalRepository extends RepositoryImpl {
                     if (getCallback() != null) {
                         getCallback().respond( null );
                     }
+
+                    notifyCompletion();
                 }
 
             }
@@ -404,13 +734,26 @@ public class LocalRepository extends RepositoryImpl {
 
             if ( this.state == State.ERROR ) {
                 callback.errorOccurred( getError() );
+            } else if ( this.pool != null ) {
+                KLog.getLogger().debug( "LocalRepository.LocalRepositoryTransaction.rollback return session to pool: {0}", //$NON-NLS-1$
+                                        getSession().hashCode() );
+
+                try {
+                    this.pool.release( getSession() );
+                } catch ( final Exception e ) {
+                    callback.errorOccurred( e );
+                    return;
+                }
+
+                callback.respond( null );
             } else {
                 KLog.getLogger().debug( "LocalRepository.LocalRepositoryTransaction.rollback post rollback request for session: {0}", //$NON-NLS-1$
                                         getSession().hashCode() );
                 LocalRepository.this.engineThread.accept( new ModeshapeEngineThread.SessionRequest( RequestType.ROLLBACK_SESSION,
                                                                                                     callback,
                                                                                                     getSession(),
-                                                                                                    getName() ) );
+                                                                                                    getName(),
+                                                                                                    getUserName() ) );
             }
         }
 
@@ -445,6 +788,22 @@ public class LocalRepository extends RepositoryImpl {
         }
 
         engineThread = new ModeshapeEngineThread(getId());
+        engineThread.setChangeListener(hasChangeListeners() ? this.feedListener : null);
+        engineThread.setCommitListener(new ChangeFeed.CommitListener() {
+
+            @Override
+            public void idsWritten( final Set< String > uuids,
+                                    final Set< String > aliases ) {
+                LocalRepository.this.idsWritten(uuids, aliases);
+            }
+
+            @Override
+            public void watchedPathChanged() {
+                validationRulesChanged();
+            }
+
+        }, VALIDATION_ROOT);
+        engineThread.setIndexRegistry(getIndexRegistry());
         engineThread.start();
     }
 
@@ -468,8 +827,14 @@ public class LocalRepository extends RepositoryImpl {
             @Override
             public void respond( final Object results ) {
                 if (engineThread.isRunning()) {
-                    LocalRepository.this.state = State.REACHABLE;
-                    notifyObservers();
+                    getTransactionMetrics().register( getId().getWorkspaceName() );
+
+                    if (isInMemory()) {
+                        takeInitialSnapshot();
+                    } else {
+                        LocalRepository.this.state = State.REACHABLE;
+                        notifyObservers();
+                    }
                 }
             }
         };
@@ -478,6 +843,36 @@ public class LocalRepository extends RepositoryImpl {
         engineThread.accept(new Request(RequestType.START, callback));
     }
 
+    /*
+     * The backup is read with its own session so it is taken off the engine thread, leaving the engine free to serve other
+     * requests. The repository only becomes reachable once the snapshot is taken so no transaction can commit before it and
+     * the snapshot holds the initial content.
+     */
+    private void takeInitialSnapshot() {
+        final Thread thread = new Thread( new Runnable() {
+
+            /**
+             * {@inheritDoc}
+             *
+             * @see java.lang.Runnable#run()
+             */
+            @Override
+            public void run() {
+                try {
+                    snapshot();
+                } catch (final KException e) {
+                    KLog.getLogger().error(Messages.getString(Messages.LocalRepository.General_Exception), e);
+                }
+
+                LocalRepository.this.state = State.REACHABLE;
+                notifyObservers();
+            }
+        }, "Komodo initial snapshot" ); //$NON-NLS-1$
+
+        thread.setDaemon( true );
+        thread.start();
+    }
+
     private void stopRepository() {
         RequestCallback callback = new RequestCallback() {
 
@@ -502,6 +897,8 @@ public class LocalRepository extends RepositoryImpl {
                     LocalRepository.this.state = State.NOT_REACHABLE;
                 }
 
+                getTransactionMetrics().unregister();
+
                 //
                 // If this repository is restarted then createEngineThread() is going to be called
                 // hence this defunct engineThread must be discarded to ensure a clean restart
@@ -521,7 +918,19 @@ public class LocalRepository extends RepositoryImpl {
         this.engineThread.accept(new Request(RequestType.STOP, callback));
     }
 
-    private void clearRepository() {
+    /**
+     * Clears the content of the repository, keeping the nodes created by its initial content. Each subtree beneath them is
+     * removed and the removals are saved together. Like a {@link RepositoryClientEvent.EventType#CLEAR clear event}, this returns immediately and the
+     * {@link RepositoryObserver observers} are notified when the repository has been cleared.
+     *
+     * @param listener
+     *        the listener notified as each subtree is removed (can be <code>null</code>)
+     */
+    public void clear( final ClearListener listener ) {
+        clearRepository( listener );
+    }
+
+    private void clearRepository( final ClearListener listener ) {
         // cleanup session cache
         if (!this.sessions.isEmpty()) {
             final Iterator< Entry< Session, UnitOfWork > > itr = this.sessions.entrySet().iterator();
@@ -573,12 +982,13 @@ public class LocalRepository extends RepositoryImpl {
              */
             @Override
             public void respond( final Object results ) {
+                validationRulesChanged();
                 notifyObservers();
             }
         };
 
         KLog.getLogger().debug("LocalRepository.clearRepository() post clear request"); //$NON-NLS-1$
-        this.engineThread.accept(new Request(RequestType.CLEAR, callback));
+        this.engineThread.accept(new ClearRequest(callback, listener));
     }
 
     @Override
@@ -589,7 +999,7 @@ public class LocalRepository extends RepositoryImpl {
         } else if (event.getType() == RepositoryClientEvent.EventType.SHUTTING_DOWN) {
             stopRepository();
         } else if (event.getType() == RepositoryClientEvent.EventType.CLEAR) {
-            clearRepository();
+            clearRepository(null);
         }
     }
 
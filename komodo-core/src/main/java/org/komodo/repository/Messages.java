@@ -48,8 +48,10 @@ public class Messages implements StringConstants {
         Engine_Not_Running,
         Repository_Not_Running,
         EngineThread_Died,
+        No_Snapshot,
         Rollback_Timeout,
-        Unable_To_Create_Session;
+        Unable_To_Create_Session,
+        Unknown_Cache_Profile;
 
         @Override
         public String toString() {
@@ -93,15 +95,42 @@ public class Messages implements StringConstants {
         ERROR_TRANSACTION_FINISHED,
         ERROR_TRYING_TO_COMMIT,
         SEQUENCING_ERROR_TRYING_TO_COMMIT,
+
+        /**
+         * Indicates a transaction commit took longer than the slow transaction threshold.
+         */
+        SLOW_TRANSACTION,
+
         ERROR_TRYING_TO_ROLLBACK,
         ERROR_STOPPING_ENGINE,
         ERROR_STARTING_ENGINE,
 
+        /**
+         * Indicates a bulk load was used after it completed or was rolled back.
+         */
+        BULK_LOAD_FINISHED,
+
+        /**
+         * Indicates a stream being restored is not a backup.
+         */
+        BACKUP_INVALID,
+
+        /**
+         * Indicates an incremental backup was requested but the repository does not keep an event journal.
+         */
+        BACKUP_JOURNAL_DISABLED,
+
         /**
          * An error message indicating the type of the object is not incorrect.
          */
         INCORRECT_TYPE,
         NO_ARTIFACT_DESCRIPTION,
+
+        /**
+         * Indicates a query cursor was asked for an object after its last one.
+         */
+        QUERY_CURSOR_EXHAUSTED,
+
         REMOVE_WORKSPACE_OBJECT_ERROR,
 
         /**
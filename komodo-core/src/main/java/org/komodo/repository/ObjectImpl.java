@@ -24,9 +24,7 @@ package org.komodo.repository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.PathNotFoundException;
@@ -36,7 +34,6 @@ import javax.jcr.Session;
 import javax.jcr.Value;
 import javax.jcr.ValueFactory;
 import javax.jcr.nodetype.NodeType;
-import org.komodo.repository.KomodoTypeRegistry.TypeIdentifier;
 import org.komodo.repository.RepositoryImpl.UnitOfWorkImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
@@ -57,9 +54,7 @@ import org.komodo.utils.StringUtils;
 import org.modeshape.jcr.JcrNtLexicon;
 import org.modeshape.jcr.JcrSession;
 import org.modeshape.jcr.api.JcrTools;
-import org.teiid.modeshape.sequencer.ddl.DdlConstants;
 import org.teiid.modeshape.sequencer.ddl.StandardDdlLexicon;
-import org.teiid.modeshape.sequencer.ddl.TeiidDdlConstants;
 import org.teiid.modeshape.sequencer.ddl.TeiidDdlLexicon;
 
 /**
@@ -323,9 +318,14 @@ public class ObjectImpl implements KomodoObject, StringConstants {
             LOGGER.debug("objectimpl-node: transaction = {0}, path = {1}", transaction.getName(), getAbsolutePath()); //$NON-NLS-1$
         }
 
-        Node node = null;
-        Session session = getSession(transaction);
         String absPath = getAbsolutePath();
+        Node node = ( ( UnitOfWorkImpl )transaction ).getCachedNode( absPath );
+
+        if ( node != null ) {
+            return node;
+        }
+
+        Session session = getSession(transaction);
         PathNotFoundException throwEx = null;
 
         try {
@@ -371,6 +371,9 @@ public class ObjectImpl implements KomodoObject, StringConstants {
                 throw throwEx;
             }
 
+            // remember the found node, including one found using the decoded or encoded path
+            ( ( UnitOfWorkImpl )transaction ).cacheNode( absPath, node );
+
             // return the found node
             return node;
         } catch (final Exception e) {
@@ -445,6 +448,8 @@ public class ObjectImpl implements KomodoObject, StringConstants {
                 ArgCheck.isNotEmpty(mixin, "mixin"); //$NON-NLS-1$
                 node.addMixin(mixin);
             }
+
+            RepositoryImpl.evictType(transaction, this.path);
         } catch (final Exception e) {
             throw handleError( e );
         }
@@ -1091,78 +1096,44 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         provision(transaction, OperationType.READ_OPERATION);
 
-        List<Descriptor> descriptors = new ArrayList<Descriptor>();
+        final UnitOfWorkImpl uow = ( UnitOfWorkImpl )transaction;
+        KomodoType result = uow.getCachedType( getAbsolutePath() );
+
+        if ( result != null ) {
+            return result;
+        }
+
+        final String primaryType = getPrimaryType(transaction).getName();
+        final Descriptor[] descriptors = getDescriptors(transaction);
+        final String[] mixins = new String[descriptors.length];
+
+        for (int i = 0; i < descriptors.length; ++i) {
+            mixins[i] = descriptors[i].getName();
+        }
+
+        final KomodoTypeRegistry registry = KomodoTypeRegistry.getInstance();
+        String constraintType = null;
 
-        descriptors.add(getPrimaryType(transaction));
-        descriptors.addAll(Arrays.asList(getDescriptors(transaction)));
+        if (registry.isConstraintDependent(primaryType, mixins)) {
+            final Property constProperty = getRawProperty(transaction, TeiidDdlLexicon.Constraint.TYPE);
 
-        KomodoTypeRegistry registry  = KomodoTypeRegistry.getInstance();
-        Set<TypeIdentifier> identifiers = new HashSet<>();
-        for (Descriptor descriptor : descriptors) {
-            String name = descriptor.getName();
-            identifiers.addAll(registry.getIdentifiers(name));
+            if (constProperty != null) {
+                constraintType = constProperty.getStringValue(transaction);
+            }
         }
 
-        KomodoType result = KomodoType.UNKNOWN;
-        if (identifiers.isEmpty()) {
+        result = registry.getKomodoType(constraintType, primaryType, mixins);
+
+        if (result == null) {
             // No identifiers but could be DDL Statements container
             String nodeName = getName(transaction);
             if (StandardDdlLexicon.STATEMENTS_CONTAINER.equals(nodeName))
                 result = KomodoType.DDL_SCHEMA;
-
-        } else if( identifiers.size() == 1 ) {
-            result = identifiers.iterator().next().getKomodoType();
-        } else {
-
-            // Multiple identifiers all with the same lexiconType
-            String lexiconType = identifiers.iterator().next().getLexiconType();
-
-            if (TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT.equals(lexiconType)) {
-                /*
-                 * TeiidDdlLexicon.CreateProcedure.PROCEDURE_STATEMENT
-                 *
-                 * * STORED_PROCEDURE
-                 * * VIRTUAL_PROCEDURE
-                 */
-
-                // If identifiers contains virtual procedure then its one of those,
-                // otherwise its a stored procedure.
-                result = KomodoType.STORED_PROCEDURE;
-                for (TypeIdentifier identifier : identifiers) {
-                    if (KomodoType.VIRTUAL_PROCEDURE.equals(identifier.getKomodoType())) {
-                        result = KomodoType.VIRTUAL_PROCEDURE;
-                        break;
-                    }
-                }
-
-            } else if (TeiidDdlLexicon.Constraint.TABLE_ELEMENT.equals(lexiconType)) {
-                /*
-                 * TeiidDdlLexicon.Constraint.TABLE_ELEMENT
-                 *
-                 * * ACCESS_PATTERN
-                 * * COLUMN
-                 * * PRIMARY_KEY
-                 * * UNIQUE_CONSTRAINT
-                 */
-                String accessPatternConstraint = TeiidDdlConstants.TeiidNonReservedWord.ACCESSPATTERN.toDdl();
-                String primaryKeyConstraint = DdlConstants.PRIMARY_KEY;
-                String uniqueConstraint = TeiidDdlConstants.TeiidReservedWord.UNIQUE.toDdl();
-
-                Property constProperty = getRawProperty(transaction, TeiidDdlLexicon.Constraint.TYPE);
-                if (constProperty != null) {
-                    String constType = constProperty.getStringValue(transaction);
-                    if (accessPatternConstraint.equals(constType))
-                        result = KomodoType.ACCESS_PATTERN;
-                    else if (primaryKeyConstraint.equals(constType))
-                        result = KomodoType.PRIMARY_KEY;
-                    else if (uniqueConstraint.equals(constType))
-                        result = KomodoType.UNIQUE_CONSTRAINT;
-                    else
-                        result = KomodoType.COLUMN;
-                }
-            }
+            else
+                result = KomodoType.UNKNOWN;
         }
 
+        uow.cacheType( getAbsolutePath(), result );
         return result;
     }
 
@@ -1398,6 +1369,9 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         try {
             final Node node = node( transaction );
             node.remove();
+
+            // same-name siblings are reindexed
+            RepositoryImpl.evictNodes( transaction, RepositoryImpl.parentPath( getAbsolutePath() ) );
         } catch (final Exception e) {
             throw handleError( e );
         }
@@ -1436,6 +1410,8 @@ public class ObjectImpl implements KomodoObject, StringConstants {
                     throw new KException(Messages.getString(Messages.Komodo.UNABLE_TO_REMOVE_CHILD, names, getAbsolutePath()));
                 }
             }
+
+            RepositoryImpl.evictNodes(transaction, getAbsolutePath());
         } catch (final Exception e) {
             throw handleError( e );
         }
@@ -1469,6 +1445,8 @@ public class ObjectImpl implements KomodoObject, StringConstants {
                 ArgCheck.isNotEmpty(mixin, "mixin"); //$NON-NLS-1$
                 node.removeMixin(mixin);
             }
+
+            RepositoryImpl.evictType(transaction, this.path);
         } catch (final Exception e) {
             throw handleError( e );
         }
@@ -1507,6 +1485,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             getSession( transaction ).move( getAbsolutePath(), newPath );
+            RepositoryImpl.evictNodes( transaction, RepositoryImpl.parentPath( getAbsolutePath() ) );
             this.path = newPath;
             // TODO seems like index could change also
         } catch (final Exception e) {
@@ -1584,6 +1563,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         try {
             final String type = (StringUtils.isBlank(typeName) ? JcrNtLexicon.UNSTRUCTURED.getString() : typeName);
             getSession(transaction).getNode(this.path).setPrimaryType(type);
+            RepositoryImpl.evictType(transaction, this.path);
         } catch (final Exception e) {
             throw handleError( e );
         }
@@ -1640,6 +1620,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             internalSetProperty(transaction, propertyName, values);
+            RepositoryImpl.evictType(transaction, this.path);
         } catch (final Exception e) {
             throw handleError( e );
         }
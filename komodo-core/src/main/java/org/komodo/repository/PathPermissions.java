@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.repository.Repository.OperationType;
+import org.komodo.utils.ArgCheck;
+
+/**
+ * The paths a user may act upon, compiled per {@link OperationType operation type} into a trie of path segments so that
+ * checking a path is a single walk down its segments.
+ */
+final class PathPermissions implements StringConstants {
+
+    /**
+     * The paths of a rule that are allowed.
+     */
+    enum Scope {
+
+        /**
+         * Only the path itself
+         */
+        SELF,
+
+        /**
+         * Only the paths below the path
+         */
+        DESCENDANTS,
+
+        /**
+         * The path itself and the paths below it
+         */
+        SUBTREE
+
+    }
+
+    /**
+     * A segment that matches the name of the user's home.
+     */
+    static final String HOME = "{home}"; //$NON-NLS-1$
+
+    /**
+     * A segment that matches any name.
+     */
+    static final String ANY = "*"; //$NON-NLS-1$
+
+    private static final class Segment {
+
+        private final Map< String, Segment > children = new HashMap<>();
+        private boolean self;
+        private boolean descendants;
+
+        Segment child( final String name ) {
+            Segment child = this.children.get( name );
+
+            if ( child == null ) {
+                child = new Segment();
+                this.children.put( name, child );
+            }
+
+            return child;
+        }
+
+    }
+
+    private final Map< OperationType, Segment > roots = new EnumMap<>( OperationType.class );
+
+    /**
+     * @param operationType
+     *        the operation the rule applies to (cannot be <code>null</code>)
+     * @param path
+     *        the absolute path, whose segments may be {@link #HOME} or {@link #ANY} (cannot be empty)
+     * @param scope
+     *        the paths of the rule that are allowed (cannot be <code>null</code>)
+     * @return this instance
+     */
+    PathPermissions allow( final OperationType operationType,
+                           final String path,
+                           final Scope scope ) {
+        ArgCheck.isNotNull( operationType, "operationType" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( path, "path" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( scope, "scope" ); //$NON-NLS-1$
+
+        Segment segment = this.roots.get( operationType );
+
+        if ( segment == null ) {
+            segment = new Segment();
+            this.roots.put( operationType, segment );
+        }
+
+        for ( final String name : path.split( FORWARD_SLASH ) ) {
+            if ( !name.isEmpty() ) {
+                segment = segment.child( name );
+            }
+        }
+
+        segment.self |= ( scope != Scope.DESCENDANTS );
+        segment.descendants |= ( scope != Scope.SELF );
+        return this;
+    }
+
+    /**
+     * @param operationType
+     *        the operation being performed (cannot be <code>null</code>)
+     * @param path
+     *        the absolute path being acted upon (cannot be <code>null</code>)
+     * @param userName
+     *        the name of the user whose home is matched by {@link #HOME} (cannot be <code>null</code>)
+     * @return <code>true</code> if a rule allows the operation on the path
+     */
+    boolean isAllowed( final OperationType operationType,
+                       final String path,
+                       final String userName ) {
+        Segment segment = this.roots.get( operationType );
+
+        if ( segment == null ) {
+            return false;
+        }
+
+        int start = 0;
+        final int length = path.length();
+
+        while ( start < length ) {
+            int end = path.indexOf( '/', start );
+
+            if ( end == -1 ) {
+                end = length;
+            }
+
+            if ( end > start ) {
+                if ( segment.descendants ) {
+                    return true;
+                }
+
+                final String name = path.substring( start, end );
+                Segment next = segment.children.get( name );
+
+                if ( ( next == null ) && name.equals( userName ) ) {
+                    next = segment.children.get( HOME );
+                }
+
+                if ( next == null ) {
+                    next = segment.children.get( ANY );
+                }
+
+                if ( next == null ) {
+                    return false;
+                }
+
+                segment = next;
+            }
+
+            start = end + 1;
+        }
+
+        return segment.self;
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.jcr.query.Query;
+import org.komodo.spi.constants.SystemConstants;
+
+/**
+ * The parsed queries of one repository session keyed by normalized statement, offset, and limit. A query holds on to the
+ * session that created it so the cache must be discarded with its session: a transaction drops its cache when it finishes
+ * and a pooled read session's cache is dropped when the session is logged out.
+ *
+ * @see SystemConstants#PREPARED_QUERY_CACHE_SIZE
+ */
+public class PreparedQueryCache extends LinkedHashMap< String, Query > {
+
+    /**
+     * The maximum number of queries kept by each cache. Zero disables caching.
+     */
+    public static final int MAX_SIZE = Math.max( 0, Integer.getInteger( SystemConstants.PREPARED_QUERY_CACHE_SIZE, 50 ) );
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @return a new cache or <code>null</code> if caching is disabled
+     */
+    public static PreparedQueryCache create() {
+        return ( ( MAX_SIZE == 0 ) ? null : new PreparedQueryCache() );
+    }
+
+    private PreparedQueryCache() {
+        super( 16, 0.75f, true );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.LinkedHashMap#removeEldestEntry(java.util.Map.Entry)
+     */
+    @Override
+    protected boolean removeEldestEntry( final Map.Entry< String, Query > eldest ) {
+        return ( size() > MAX_SIZE );
+    }
+
+}
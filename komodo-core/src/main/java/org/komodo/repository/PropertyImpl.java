@@ -881,6 +881,7 @@ public class PropertyImpl implements Property {
         try {
             final Session session = getSession(transaction);
             final javax.jcr.Property property = session.getProperty(this.path);
+            RepositoryImpl.evictType(transaction, RepositoryImpl.parentPath(this.path));
 
             if (values == null) {
                 property.remove();
@@ -27,20 +27,39 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import javax.jcr.ItemNotFoundException;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
+import javax.jcr.Property;
 import javax.jcr.PropertyIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Value;
 import javax.jcr.ValueFactory;
+import javax.jcr.nodetype.NodeType;
 import javax.jcr.query.Query;
 import javax.jcr.query.QueryManager;
 import javax.jcr.query.QueryResult;
+import javax.jcr.query.Row;
+import javax.jcr.query.RowIterator;
 import org.komodo.core.KEngine;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.core.KomodoLexicon.Environment;
@@ -55,14 +74,17 @@ import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.Artifact;
 import org.komodo.spi.repository.ArtifactDescriptor;
 import org.komodo.spi.repository.KomodoObject;
-import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.RepositoryChange;
+import org.komodo.spi.repository.RepositoryChangeListener;
 import org.komodo.spi.repository.RepositoryClient;
 import org.komodo.spi.repository.RepositoryClientEvent;
 import org.komodo.spi.repository.RepositoryObserver;
 import org.komodo.spi.repository.ValidationManager;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.KLog;
+import org.modeshape.jcr.JcrLexicon;
 import org.modeshape.jcr.JcrSession;
 import org.modeshape.jcr.api.JcrTools;
 
@@ -189,11 +211,203 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
     }
 
+    private class QueryCursorImpl implements QueryCursor {
+
+        private final Iterator< ? > itr;
+        private long remaining;
+        private final String statement;
+        private final long total;
+
+        /**
+         * @param statement
+         *        the query statement (cannot be empty)
+         * @param itr
+         *        the nodes positioned at the first node of the page (cannot be <code>null</code>)
+         * @param limit
+         *        the maximum number of nodes returned or a negative number if all remaining nodes are returned
+         * @param total
+         *        the total number of matches or {@link QueryCursor#TOTAL_NOT_COUNTED}
+         */
+        QueryCursorImpl( final String statement,
+                         final Iterator< ? > itr,
+                         final long limit,
+                         final long total ) {
+            this.statement = statement;
+            this.itr = itr;
+            this.remaining = limit;
+            this.total = total;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.QueryCursor#getTotal()
+         */
+        @Override
+        public long getTotal() {
+            return this.total;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.QueryCursor#hasNext()
+         */
+        @Override
+        public boolean hasNext() {
+            return ( ( this.remaining != 0 ) && this.itr.hasNext() );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.QueryCursor#next()
+         */
+        @Override
+        public KomodoObject next() throws KException {
+            if ( !hasNext() ) {
+                throw new KException( Messages.getString( Messages.Komodo.QUERY_CURSOR_EXHAUSTED, this.statement ) );
+            }
+
+            if ( this.remaining > 0 ) {
+                --this.remaining;
+            }
+
+            try {
+                final Node node = ( Node )this.itr.next();
+                return new ObjectImpl( RepositoryImpl.this, node.getPath(), node.getIndex() );
+            } catch ( final RepositoryException e ) {
+                throw new KException( e );
+            }
+        }
+
+    }
+
+    private static class QueryRowImpl implements QueryRow {
+
+        private final String[] columnNames;
+        private final String path;
+        private final Map< String, String > values;
+
+        QueryRowImpl( final String path,
+                      final String[] columnNames,
+                      final Map< String, String > values ) {
+            this.path = path;
+            this.columnNames = columnNames;
+            this.values = values;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.QueryRow#getColumnNames()
+         */
+        @Override
+        public String[] getColumnNames() {
+            return this.columnNames.clone();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.QueryRow#getPath()
+         */
+        @Override
+        public String getPath() {
+            return this.path;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.QueryRow#getValue(java.lang.String)
+         */
+        @Override
+        public String getValue( final String column ) {
+            ArgCheck.isNotEmpty( column, "column" ); //$NON-NLS-1$
+            return this.values.get( column );
+        }
+
+    }
+
+    /**
+     * Lazily creates the threads that complete the futures of asynchronous operations. Futures are never completed on an
+     * engine worker since a dependent stage making a synchronous call for the same user would wait on that worker forever.
+     */
+    static class AsyncCompletions {
+
+        static final ExecutorService INSTANCE = Executors.newCachedThreadPool( new ThreadFactory() {
+
+            @Override
+            public Thread newThread( final Runnable runnable ) {
+                final Thread thread = new Thread( runnable, "Komodo asynchronous completions" ); //$NON-NLS-1$
+                thread.setDaemon( true );
+                return thread;
+            }
+
+        } );
+
+        /**
+         * @param future
+         *        the future being completed (cannot be <code>null</code>)
+         * @param value
+         *        the value the future is completed with (can be <code>null</code>)
+         */
+        static < T > void complete( final CompletableFuture< T > future,
+                                    final T value ) {
+            INSTANCE.execute( new Runnable() {
+
+                @Override
+                public void run() {
+                    future.complete( value );
+                }
+
+            } );
+        }
+
+        /**
+         * @param future
+         *        the future being completed (cannot be <code>null</code>)
+         * @param error
+         *        the error the future is completed with (cannot be <code>null</code>)
+         */
+        static void completeExceptionally( final CompletableFuture< ? > future,
+                                           final Throwable error ) {
+            INSTANCE.execute( new Runnable() {
+
+                @Override
+                public void run() {
+                    future.completeExceptionally( error );
+                }
+
+            } );
+        }
+
+    }
+
     /**
      * A unit of work analogous to a transaction.
      */
     public static class UnitOfWorkImpl implements UnitOfWork {
 
+        /**
+         * Lazily creates the thread used to time out asynchronous commits.
+         */
+        private static class TimeoutScheduler {
+
+            static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor( new ThreadFactory() {
+
+                @Override
+                public Thread newThread( final Runnable runnable ) {
+                    final Thread thread = new Thread( runnable, "Komodo transaction timeouts" ); //$NON-NLS-1$
+                    thread.setDaemon( true );
+                    return thread;
+                }
+
+            } );
+
+        }
+
         protected final UnitOfWorkListener callback;
         protected KException error;
         protected final String userName;
@@ -202,6 +416,24 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         protected Session session;
         protected State state = State.NOT_STARTED;
 
+        // when the transaction was created, used to time the work done before it is committed
+        protected final long createdAt = System.nanoTime();
+
+        // nodes found by path during this transaction
+        private final Map< String, Node > nodes = new HashMap<>();
+
+        // komodo types identified by path during this transaction
+        private final Map< String, KomodoType > types = new HashMap<>();
+
+        // true once the user's home has been found or created during this transaction
+        private boolean homeProvisioned;
+
+        // completed when the transaction finishes if an asynchronous commit was requested
+        private volatile CompletableFuture< UnitOfWork > completion;
+
+        // parsed queries of this transaction's session, dropped when the transaction finishes
+        private PreparedQueryCache preparedQueries;
+
         /**
          * @param userName
          *        the user who initiated the transaction
@@ -283,6 +515,87 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             }
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.UnitOfWork#commitAsync()
+         */
+        @Override
+        public CompletableFuture< UnitOfWork > commitAsync() {
+            return commitAsync( 0, TimeUnit.MILLISECONDS );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.UnitOfWork#commitAsync(long, java.util.concurrent.TimeUnit)
+         */
+        @Override
+        public CompletableFuture< UnitOfWork > commitAsync( final long timeout,
+                                                            final TimeUnit unit ) {
+            ArgCheck.isNotNull( unit, "unit" ); //$NON-NLS-1$
+
+            final CompletableFuture< UnitOfWork > future = new CompletableFuture<>();
+            this.completion = future;
+
+            if ( timeout > 0 ) {
+                final ScheduledFuture< ? > timer = TimeoutScheduler.INSTANCE.schedule( new Runnable() {
+
+                    @Override
+                    public void run() {
+                        future.completeExceptionally( new TimeoutException( Messages.getString( Messages.LocalRepository.Commit_Timeout,
+                                                                                                getName() ) ) );
+                    }
+
+                }, timeout, unit );
+
+                future.whenComplete( new BiConsumer< UnitOfWork, Throwable >() {
+
+                    @Override
+                    public void accept( final UnitOfWork transaction,
+                                        final Throwable error ) {
+                        timer.cancel( false );
+                    }
+
+                } );
+            }
+
+            commit();
+
+            // commits that finish on the calling thread, or fail before being sent, are complete now
+            if ( getState().isFinal() ) {
+                notifyCompletion();
+            }
+
+            return future;
+        }
+
+        /**
+         * Completes the future of an {@link #commitAsync(long, TimeUnit) asynchronous commit}, if any, using the current state.
+         * Subclasses that finish transactions on another thread must call this after the final state has been set and the
+         * {@link #getCallback() callback} has been notified. The future is completed on a separate thread so dependent stages
+         * never run on the thread that finished the transaction.
+         */
+        protected void notifyCompletion() {
+            synchronized ( this ) {
+                this.preparedQueries = null;
+            }
+
+            final CompletableFuture< UnitOfWork > future = this.completion;
+
+            if ( future != null ) {
+                if ( getState() == State.ERROR ) {
+                    final KException error = getError();
+                    AsyncCompletions.completeExceptionally( future,
+                                                            ( error == null ) ? new KException( Messages.getString( Messages.Komodo.ERROR_TRYING_TO_COMMIT,
+                                                                                                                    getName() ) )
+                                                                              : error );
+                } else {
+                    AsyncCompletions.complete( future, ( UnitOfWork )this );
+                }
+            }
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -330,6 +643,125 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             return this.session;
         }
 
+        /**
+         * Subclasses whose session outlives the transaction should return a cache discarded with the session.
+         *
+         * @return the parsed queries of the session or <code>null</code> if queries are not cached
+         */
+        public synchronized PreparedQueryCache getPreparedQueries() {
+            if ( ( this.preparedQueries == null ) && ( this.state == State.NOT_STARTED ) ) {
+                this.preparedQueries = PreparedQueryCache.create();
+            }
+
+            return this.preparedQueries;
+        }
+
+        /**
+         * @param absPath
+         *        the absolute path the node was requested with (cannot be empty)
+         * @return the node found earlier in this transaction using the path or <code>null</code> if not found yet
+         */
+        public Node getCachedNode( final String absPath ) {
+            return this.nodes.get( absPath );
+        }
+
+        /**
+         * @param absPath
+         *        the absolute path the node was requested with (cannot be empty)
+         * @param node
+         *        the node found using the path (cannot be <code>null</code>)
+         */
+        public void cacheNode( final String absPath,
+                               final Node node ) {
+            ArgCheck.isNotEmpty( absPath, "absPath" ); //$NON-NLS-1$
+            ArgCheck.isNotNull( node, "node" ); //$NON-NLS-1$
+            this.nodes.put( absPath, node );
+        }
+
+        /**
+         * @param absPath
+         *        the absolute path of the object (cannot be empty)
+         * @return the type identified earlier in this transaction for the object or <code>null</code> if not identified yet
+         */
+        public KomodoType getCachedType( final String absPath ) {
+            return this.types.get( absPath );
+        }
+
+        /**
+         * @param absPath
+         *        the absolute path of the object (cannot be empty)
+         * @param type
+         *        the type identified for the object (cannot be <code>null</code>)
+         */
+        public void cacheType( final String absPath,
+                               final KomodoType type ) {
+            ArgCheck.isNotEmpty( absPath, "absPath" ); //$NON-NLS-1$
+            ArgCheck.isNotNull( type, "type" ); //$NON-NLS-1$
+            this.types.put( absPath, type );
+        }
+
+        /**
+         * Forgets the type identified for an object. Must be called whenever the primary type, mixins or properties of the
+         * object change.
+         *
+         * @param absPath
+         *        the absolute path of the object (cannot be empty)
+         */
+        public void evictType( final String absPath ) {
+            this.types.remove( absPath );
+        }
+
+        /**
+         * @return <code>true</code> if the user's home has been found or created during this transaction
+         */
+        public boolean isHomeProvisioned() {
+            return this.homeProvisioned;
+        }
+
+        /**
+         * Records that the user's home has been found or created during this transaction.
+         */
+        public void setHomeProvisioned() {
+            this.homeProvisioned = true;
+        }
+
+        /**
+         * Forgets the cached nodes and types at or below the specified path. Must be called whenever nodes are removed or
+         * moved, since the paths of their same-name siblings and descendants change.
+         *
+         * @param absPath
+         *        the absolute path of the subtree whose nodes are forgotten (cannot be empty)
+         */
+        public void evictNodes( final String absPath ) {
+            ArgCheck.isNotEmpty( absPath, "absPath" ); //$NON-NLS-1$
+
+            final String prefix = ( absPath.endsWith( FORWARD_SLASH ) ? absPath : ( absPath + FORWARD_SLASH ) );
+            evict( this.nodes, absPath, prefix );
+            evict( this.types, absPath, prefix );
+
+            final String home = komodoWorkspacePath( this );
+
+            if ( home.equals( absPath ) || home.startsWith( prefix ) ) {
+                this.homeProvisioned = false;
+            }
+        }
+
+        private static void evict( final Map< String, ? > cache,
+                                   final String absPath,
+                                   final String prefix ) {
+            if ( cache.isEmpty() ) {
+                return;
+            }
+
+            for ( final Iterator< String > itr = cache.keySet().iterator(); itr.hasNext(); ) {
+                final String path = itr.next();
+
+                if ( path.equals( absPath ) || path.startsWith( prefix ) ) {
+                    itr.remove();
+                }
+            }
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -464,6 +896,9 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
     protected static final KLog LOGGER = KLog.getLogger();
 
+    private static final int ID_PATH_CACHE_SIZE = 1000;
+
+
     /**
      * The root path of the Komodo repository workspace area.
      * This should remain private as clients should use
@@ -478,6 +913,54 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
      */
     public static final String SEARCHES_ROOT = WORKSPACE_ROOT + FORWARD_SLASH + Search.GROUP_NODE;
 
+    /**
+     * What users other than the system user may do, by path.
+     */
+    private static final PathPermissions PERMISSIONS = compilePermissions();
+
+    private static PathPermissions compilePermissions() {
+        final String userWksp = WORKSPACE_ROOT + FORWARD_SLASH + PathPermissions.HOME;
+        final PathPermissions permissions = new PathPermissions();
+
+        /*
+         * Reserved paths can be read but not written to
+         * allowing for absolute paths to be broken down into segments
+         * and each segment read, eg. DefaultLabelProvider.getPath();
+         *
+         * However, this does not mean that these paths will return anything
+         * useful, eg. property descriptors, as individual API methods may stop
+         * their reading.
+         */
+        for (final String reserved : new String[] {FORWARD_SLASH, KOMODO_ROOT, LIBRARY_ROOT, ENV_ROOT, SEARCHES_ROOT,
+                                                   VALIDATION_ROOT, SERVERS_ROOT, TEIID_CACHE_ROOT, WORKSPACE_ROOT,
+                                                   WORKSPACE_ROOT + FORWARD_SLASH + PathPermissions.ANY}) {
+            permissions.allow(OperationType.READ_OPERATION, reserved, PathPermissions.Scope.SELF);
+        }
+
+        permissions.allow(OperationType.READ_OPERATION, SERVERS_ROOT, PathPermissions.Scope.SUBTREE) // Read the group of servers
+                   .allow(OperationType.READ_OPERATION, TEIID_CACHE_ROOT, PathPermissions.Scope.SUBTREE) // Read the group of cache teiids
+                   .allow(OperationType.READ_OPERATION, VALIDATION_ROOT, PathPermissions.Scope.SUBTREE) // Read the group of validation rules
+                   .allow(OperationType.READ_OPERATION, LIBRARY_ROOT, PathPermissions.Scope.SUBTREE) // Read the contents of the library
+                   .allow(OperationType.READ_OPERATION, userWksp, PathPermissions.Scope.SUBTREE) // Read the contents of the user's workspace
+                   .allow(OperationType.READ_OPERATION, SEARCHES_ROOT, PathPermissions.Scope.SUBTREE); // Read the contents of the searches
+
+        // Only system can add/remove cached teiids
+        // Only system can add/remove library objects through the check-in/out framework
+        permissions.allow(OperationType.CHILD_OPERATION, SERVERS_ROOT, PathPermissions.Scope.SELF) // Add/Remove servers
+                   .allow(OperationType.CHILD_OPERATION, VALIDATION_ROOT, PathPermissions.Scope.SUBTREE) // Add/Remove validation rules
+                   .allow(OperationType.CHILD_OPERATION, userWksp, PathPermissions.Scope.SUBTREE) // Add/Remove children in the user's workspace
+                   .allow(OperationType.CHILD_OPERATION, SEARCHES_ROOT, PathPermissions.Scope.SUBTREE); // Add/Remove searches
+
+        for (final OperationType operationType : new OperationType[] {OperationType.MODIFY_OPERATION, OperationType.REMOVE_OPERATION}) {
+            permissions.allow(operationType, SERVERS_ROOT, PathPermissions.Scope.DESCENDANTS) // Can modify/remove servers
+                       .allow(operationType, VALIDATION_ROOT, PathPermissions.Scope.DESCENDANTS) // Can modify/remove validation rules
+                       .allow(operationType, userWksp, PathPermissions.Scope.DESCENDANTS) // Can modify/remove contents of workspace
+                       .allow(operationType, SEARCHES_ROOT, PathPermissions.Scope.SUBTREE); // Can modify/remove searches
+        }
+
+        return permissions;
+    }
+
     /**
      * @param transaction
      *       the transaction (cannot be <code>null</code> or have a state that is not
@@ -516,6 +999,36 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         return WORKSPACE_ROOT + FORWARD_SLASH + userName;
     }
 
+    /**
+     * @param absPath the absolute path whose parent path is wanted (cannot be empty)
+     *
+     * @return the parent path or the root path if the path has no parent
+     */
+    static String parentPath(final String absPath) {
+        final int index = absPath.lastIndexOf(FORWARD_SLASH);
+        return ((index > 0) ? absPath.substring(0, index) : FORWARD_SLASH);
+    }
+
+    /**
+     * Forgets the nodes the transaction has found at or below the specified path.
+     *
+     * @param transaction the transaction (cannot be <code>null</code>)
+     * @param absPath the absolute path of the subtree (cannot be empty)
+     */
+    static void evictNodes(final UnitOfWork transaction, final String absPath) {
+        ((UnitOfWorkImpl)transaction).evictNodes(absPath);
+    }
+
+    /**
+     * Forgets the type the transaction has identified for the object at the specified path.
+     *
+     * @param transaction the transaction (cannot be <code>null</code>)
+     * @param absPath the absolute path of the object (cannot be empty)
+     */
+    static void evictType(final UnitOfWork transaction, final String absPath) {
+        ((UnitOfWorkImpl)transaction).evictType(absPath);
+    }
+
     /**
      * @param path the path to test
      *
@@ -566,9 +1079,27 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
     private final Set< RepositoryClient > clients = new HashSet< >();
     private final Id id;
     private final Set< RepositoryObserver > observers = new HashSet< >();
+    private final Set< RepositoryChangeListener > changeListeners = new CopyOnWriteArraySet< >();
+    private final IndexRegistry indexRegistry = new IndexRegistry();
+    private final TransactionMetrics transactionMetrics = new TransactionMetrics();
     private final Type type;
     private ValidationManager validationMgr;
 
+    // ids written to a node whose identifier is a different value, which are always looked up with a query
+    private final Set< String > aliasedIds = Collections.synchronizedSet(new HashSet< String >());
+
+    // paths of nodes found by identifier, shared by all transactions and checked before use
+    private final Map< String, String > idPaths = Collections.synchronizedMap( new LinkedHashMap< String, String >( 16, 0.75f, true ) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry< String, String > eldest ) {
+            return ( size() > ID_PATH_CACHE_SIZE );
+        }
+
+    } );
+
     /**
      * @param type
      *        the repository type (cannot be <code>null</code>)
@@ -596,8 +1127,6 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
      * @throws KException if an error occurs
      */
     protected void provision(UnitOfWork transaction, String nodePath, OperationType operationType) throws KException {
-        String userWksp = komodoWorkspacePath(transaction);
-
         if (isSystemTx(transaction))
             return; // System can do what it wishes
 
@@ -605,96 +1134,29 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
          * Ensures that a user workspace is always available so truly dynamic
          * and guarantees that the user space is available to the current tx.
          */
-        komodoWorkspace(transaction);
+        final UnitOfWorkImpl uow = (UnitOfWorkImpl)transaction;
+        if (!uow.isHomeProvisioned()) {
+            komodoWorkspace(transaction);
+            uow.setHomeProvisioned();
+        }
+
+        if (PERMISSIONS.isAllowed(operationType, nodePath, transaction.getUserName()))
+            return;
 
         switch (operationType) {
             case READ_OPERATION:
-                if (isReservedPath(nodePath)) {
-                  /*
-                   * Reserved paths can be read but not written to
-                   * allowing for absolute paths to be broken down into segments
-                   * and each segment read, eg. DefaultLabelProvider.getPath();
-                   *
-                   * However, this does not mean that these paths will return anything
-                   * useful, eg. property descriptors, as individual API methods may stop
-                   * their reading.
-                   */
-                  return;
-                }
-
-                if (nodePath.startsWith(SERVERS_ROOT))
-                    return; // Read the group of servers
-
-                if (nodePath.startsWith(TEIID_CACHE_ROOT))
-                    return; // Read the group of cache teiids
-
-                if (nodePath.startsWith(VALIDATION_ROOT))
-                    return; // Read the group of validation rules
-
-                if (nodePath.startsWith(LIBRARY_ROOT))
-                    return; // Read the contents of the library
-
-                if(nodePath.startsWith(userWksp))
-                    return; // Read the contents of the user's workspace
-
-                if (nodePath.startsWith(SEARCHES_ROOT))
-                    return; // Read the contents of the searches
-
                 throw new KException(Messages.getString(
                                                         Messages.Komodo.READ_NOT_ALLOWED,
                                                         nodePath, transaction.getUserName() ));
-
             case CHILD_OPERATION:
-                if (SERVERS_ROOT.equals(nodePath))
-                    return; // Add/Remove servers
-
-                // Only system can add/remove cached teiids
-
-                if (nodePath.startsWith(VALIDATION_ROOT))
-                    return; // Add/Remove validation rules from both the validation root and its children
-
-                // Only system can add/remove library objects through the check-in/out framework
-
-                if (nodePath.startsWith(userWksp))
-                    return; // Add/Remove children in the user's workspace
-
-                if (nodePath.startsWith(SEARCHES_ROOT))
-                    return; // Add/Remove searches from the searches location
-
                 throw new KException(Messages.getString(
                                                         Messages.Komodo.ADD_REMOVE_CHILD_NOT_ALLOWED,
                                                         nodePath, transaction.getUserName() ));
-
             case MODIFY_OPERATION:
-                if (nodePath.startsWith(SERVERS_ROOT) && ! SERVERS_ROOT.equals(nodePath))
-                    return; // Can modify servers
-
-                if (nodePath.startsWith(VALIDATION_ROOT) && ! VALIDATION_ROOT.equals(nodePath))
-                    return; // Can modify validation rules
-
-                if(nodePath.startsWith(userWksp) && ! userWksp.equals(nodePath))
-                    return; // Can modify contents of workspace
-
-                if (nodePath.startsWith(SEARCHES_ROOT))
-                    return; // Can modify searches in the search location
-
                 throw new KException(Messages.getString(
                                                              Messages.Komodo.SET_PROPERTY_NOT_ALLOWED,
                                                              nodePath, transaction.getUserName() ));
-
             case REMOVE_OPERATION:
-                if (nodePath.startsWith(SERVERS_ROOT) && ! SERVERS_ROOT.equals(nodePath))
-                    return; // Can remove servers
-
-                if (nodePath.startsWith(VALIDATION_ROOT) && ! VALIDATION_ROOT.equals(nodePath))
-                    return; // Can remove validation rules
-
-                if(nodePath.startsWith(userWksp) && ! userWksp.equals(nodePath))
-                    return; // Can remove contents of workspace
-
-                if (nodePath.startsWith(SEARCHES_ROOT))
-                    return; // Can remove searches in the search location
-
                 throw new KException(Messages.getString(
                                                         Messages.Komodo.REMOVE_NOT_ALLOWED,
                                                         nodePath, transaction.getUserName() ));
@@ -766,68 +1228,318 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
     /**
      * {@inheritDoc}
      *
-     * @see org.komodo.spi.repository.Repository#addClient(org.komodo.spi.repository.RepositoryClient)
+     * @see org.komodo.spi.repository.Repository#addClient(org.komodo.spi.repository.RepositoryClient)
+     */
+    @Override
+    public void addClient( final RepositoryClient client ) {
+        ArgCheck.isNotNull(client, "client"); //$NON-NLS-1$
+        this.clients.add(client);
+    }
+
+    /**
+     * @return the registry of the indexes backing workspace queries and their usage (never <code>null</code>)
+     */
+    public IndexRegistry getIndexRegistry() {
+        return this.indexRegistry;
+    }
+
+    /**
+     * @return the latency of each phase of the transaction commits made against this repository (never <code>null</code>)
+     */
+    public TransactionMetrics getTransactionMetrics() {
+        return this.transactionMetrics;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#addChangeListener(org.komodo.spi.repository.RepositoryChangeListener)
+     */
+    @Override
+    public void addChangeListener( final RepositoryChangeListener listener ) {
+        ArgCheck.isNotNull(listener, "listener"); //$NON-NLS-1$
+
+        synchronized (this.changeListeners) {
+            if (this.changeListeners.add(listener) && (this.changeListeners.size() == 1)) {
+                changeListenersChanged(true);
+            }
+        }
+    }
+
+    /**
+     * Called when the first change listener is added or the last one is removed. Committed changes only need to be
+     * translated into {@link RepositoryChange repository changes} while a listener is registered.
+     *
+     * @param hasListeners
+     *        <code>true</code> if there are change listeners
+     */
+    protected void changeListenersChanged( final boolean hasListeners ) {
+        // nothing to do
+    }
+
+    /**
+     * @return <code>true</code> if change listeners are registered
+     */
+    protected boolean hasChangeListeners() {
+        return !this.changeListeners.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#addObserver(org.komodo.spi.repository.RepositoryObserver)
+     */
+    @Override
+    public void addObserver( final RepositoryObserver observer ) {
+        ArgCheck.isNotNull(observer, "observer"); //$NON-NLS-1$
+        this.observers.add(observer);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#copy(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String,
+     *      java.lang.String, java.lang.String)
+     */
+    @Override
+    public KomodoObject copy( final UnitOfWork transaction,
+                              final String sourcePath,
+                              final String parentPath,
+                              final String name ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( sourcePath, "sourcePath" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("copy: transaction = {0}, sourcePath = {1}, parentPath = {2}, name = {3}", //$NON-NLS-1$
+                         transaction.getName(),
+                         sourcePath,
+                         parentPath,
+                         name);
+        }
+
+        final String sourceAbsPath = getAbsoluteWorkspacePath(transaction, sourcePath, OperationType.READ_OPERATION);
+        final String parentAbsPath = getAbsoluteWorkspacePath(transaction, parentPath, OperationType.CHILD_OPERATION);
+        final Session session = getSession(transaction);
+
+        try {
+            final Node source = session.getNode(sourceAbsPath);
+            final Node parent = session.getNode(parentAbsPath);
+            final Node copy = copy(source, parent, name);
+            return new ObjectImpl(this, copy.getPath(), 0);
+        } catch (final Exception e) {
+            if (e instanceof KException) {
+                throw (KException)e;
+            }
+
+            throw new KException(e);
+        }
+    }
+
+    /**
+     * Copies the source node, its properties and all its descendants to a new child of the parent. The copy is made in the
+     * session so that it is saved, or discarded, along with the rest of the transaction.
+     */
+    private Node copy( final Node source,
+                       final Node parent,
+                       final String name ) throws Exception {
+        final Node target = parent.addNode(name, source.getPrimaryNodeType().getName());
+        copyTree(source, target);
+        return target;
+    }
+
+    private void copyTree( final Node source,
+                           final Node target ) throws Exception {
+        copyProperties(source, target);
+
+        final NodeIterator itr = source.getNodes();
+
+        while (itr.hasNext()) {
+            final Node child = itr.nextNode();
+            copyTree(child, target.addNode(child.getName(), child.getPrimaryNodeType().getName()));
+        }
+    }
+
+    private void copyProperties( final Node source,
+                                 final Node target ) throws Exception {
+        // mixins first so that the properties they define can be set
+        for (final NodeType mixin : source.getMixinNodeTypes()) {
+            if (!target.isNodeType(mixin.getName())) {
+                target.addMixin(mixin.getName());
+            }
+        }
+
+        final PropertyIterator itr = source.getProperties();
+
+        while (itr.hasNext()) {
+            final Property prop = itr.nextProperty();
+
+            // identifiers, types, and other system-maintained properties are set by the repository
+            if (prop.getDefinition().isProtected()) {
+                continue;
+            }
+
+            if (prop.isMultiple()) {
+                target.setProperty(prop.getName(), prop.getValues());
+            } else {
+                target.setProperty(prop.getName(), prop.getValue());
+            }
+        }
+    }
+
+    private KomodoObject create( final UnitOfWork transaction,
+                                 final String absolutePath, final String nodeType ) throws KException {
+        final Session session = getSession(transaction);
+
+        try {
+            Node node;
+            if (nodeType == null)
+                node = new JcrTools().findOrCreateNode(session, absolutePath);
+            else
+                node = new JcrTools().findOrCreateNode(session, absolutePath, nodeType);
+
+            final KomodoObject result = new ObjectImpl(this, node.getPath(), node.getIndex());
+            return result;
+        } catch (final Exception e) {
+            if (e instanceof KException) {
+                throw (KException)e;
+            }
+
+            throw new KException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation creates the transaction on the calling thread. Subclasses should override if obtaining a session
+     * can be done without blocking.
+     *
+     * @see org.komodo.spi.repository.Repository#createTransactionAsync(java.lang.String, java.lang.String, boolean,
+     *      org.komodo.spi.repository.Repository.UnitOfWorkListener)
      */
     @Override
-    public void addClient( final RepositoryClient client ) {
-        ArgCheck.isNotNull(client, "client"); //$NON-NLS-1$
-        this.clients.add(client);
+    public CompletableFuture< UnitOfWork > createTransactionAsync( final String userName,
+                                                                   final String name,
+                                                                   final boolean rollbackOnly,
+                                                                   final UnitOfWorkListener callback ) {
+        final CompletableFuture< UnitOfWork > future = new CompletableFuture<>();
+
+        try {
+            future.complete( createTransaction( userName, name, rollbackOnly, callback ) );
+        } catch ( final Exception e ) {
+            future.completeExceptionally( e );
+        }
+
+        return future;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see org.komodo.spi.repository.Repository#addObserver(org.komodo.spi.repository.RepositoryObserver)
+     * @see org.komodo.spi.repository.Repository#createBulkLoad(java.lang.String, java.lang.String, int,
+     *      org.komodo.spi.repository.Repository.BulkLoadListener)
      */
     @Override
-    public void addObserver( final RepositoryObserver observer ) {
-        ArgCheck.isNotNull(observer, "observer"); //$NON-NLS-1$
-        this.observers.add(observer);
+    public BulkLoad createBulkLoad( final String userName,
+                                    final String name,
+                                    final int chunkSize,
+                                    final BulkLoadListener listener ) throws KException {
+        return new BulkLoadImpl( this, userName, name, chunkSize, listener );
     }
 
-    private void copy( final UnitOfWork uow,
-                       final KomodoObject komodoObject,
-                       final Node node,
-                       final ValueFactory factory ) throws Exception {
-        copyProperties(uow, komodoObject, node, factory);
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String)
+     */
+    @Override
+    public List< KomodoObject > query( final UnitOfWork transaction,
+                                       final String queryStatement ) throws KException {
+        final QueryCursor cursor = query( transaction, queryStatement, 0, -1, false );
+        final List< KomodoObject > results = new ArrayList<>();
 
-        for (final KomodoObject child : komodoObject.getChildren(uow)) {
-            final Node childNode = node.addNode(child.getName(uow), child.getPrimaryType(uow).getName());
-            copy(uow, child, childNode, factory);
+        while ( cursor.hasNext() ) {
+            results.add( cursor.next() );
         }
-    }
 
-    private void copyProperties( final UnitOfWork uow,
-                                 final KomodoObject komodoObject,
-                                 final Node node,
-                                 final ValueFactory factory ) throws Exception {
-        for (final String name : komodoObject.getPropertyNames(uow)) {
-            final Property prop = komodoObject.getProperty(uow, name);
-            final int type = PropertyDescriptorImpl.convert(prop.getDescriptor(uow).getType());
+        return results;
+    }
 
-            if (prop.getDescriptor(uow).isMultiple()) {
-                final Value[] values = PropertyImpl.createValues(factory, prop.getValues(uow), type);
-                node.setProperty(name, values);
-            } else {
-                final Value value = PropertyImpl.createValue(factory, prop.getValue(uow), type);
-                node.setProperty(name, value);
-            }
-        }
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String, long,
+     *      long, boolean)
+     */
+    @Override
+    public QueryCursor query( final UnitOfWork transaction,
+                              final String queryStatement,
+                              final long offset,
+                              final long limit,
+                              final boolean countTotal ) throws KException {
+        return query( transaction, queryStatement, null, offset, limit, countTotal );
     }
 
-    private KomodoObject create( final UnitOfWork transaction,
-                                 final String absolutePath, final String nodeType ) throws KException {
-        final Session session = getSession(transaction);
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String,
+     *      java.util.Map, long, long, boolean)
+     */
+    @Override
+    public QueryCursor query( final UnitOfWork transaction,
+                              final String queryStatement,
+                              final Map< String, String > bindVariables,
+                              final long offset,
+                              final long limit,
+                              final boolean countTotal ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
+        "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty(queryStatement, "Query statement cannot be empty"); //$NON-NLS-1$
+        ArgCheck.isTrue( ( offset >= 0 ), "offset cannot be negative" ); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("find: transaction = {0}, query = {1}, variables = {2}, offset = {3}, limit = {4}", //$NON-NLS-1$
+                         transaction.getName(),
+                         queryStatement,
+                         bindVariables,
+                         offset,
+                         limit);
+        }
 
         try {
-            Node node;
-            if (nodeType == null)
-                node = new JcrTools().findOrCreateNode(session, absolutePath);
-            else
-                node = new JcrTools().findOrCreateNode(session, absolutePath, nodeType);
+            if ( !countTotal ) {
+                final Query query = prepareQuery( transaction, queryStatement, bindVariables, offset, limit );
+                return new QueryCursorImpl( queryStatement, query.execute().getNodes(), -1, QueryCursor.TOTAL_NOT_COUNTED );
+            }
 
-            final KomodoObject result = new ObjectImpl(this, node.getPath(), node.getIndex());
-            return result;
+            // the total and the page both come from one execution of the query without offset or limit
+            final NodeIterator nodes = prepareQuery( transaction, queryStatement, bindVariables, 0, -1 ).execute().getNodes();
+            long total = nodes.getSize();
+
+            if ( total >= 0 ) {
+                nodes.skip( Math.min( offset, total ) );
+                return new QueryCursorImpl( queryStatement, nodes, limit, total );
+            }
+
+            // size not known up front so count every match while keeping the nodes of the page
+            final List< Node > page = new ArrayList<>();
+            total = 0;
+
+            while ( nodes.hasNext() ) {
+                final Node node = nodes.nextNode();
+
+                if ( ( total >= offset ) && ( ( limit < 0 ) || ( page.size() < limit ) ) ) {
+                    page.add( node );
+                }
+
+                ++total;
+            }
+
+            return new QueryCursorImpl( queryStatement, page.iterator(), -1, total );
         } catch (final Exception e) {
             if (e instanceof KException) {
                 throw (KException)e;
@@ -840,35 +1552,75 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
     /**
      * {@inheritDoc}
      *
-     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String)
+     * @see org.komodo.spi.repository.Repository#queryRows(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String,
+     *      long, long)
      */
     @Override
-    public List< KomodoObject > query( final UnitOfWork transaction,
-                                       final String queryStatement ) throws KException {
+    public List< QueryRow > queryRows( final UnitOfWork transaction,
+                                       final String queryStatement,
+                                       final long offset,
+                                       final long limit ) throws KException {
+        return queryRows( transaction, queryStatement, null, offset, limit );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#queryRows(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String,
+     *      java.util.Map, long, long)
+     */
+    @Override
+    public List< QueryRow > queryRows( final UnitOfWork transaction,
+                                       final String queryStatement,
+                                       final Map< String, String > bindVariables,
+                                       final long offset,
+                                       final long limit ) throws KException {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
         "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
         ArgCheck.isNotEmpty(queryStatement, "Query statement cannot be empty"); //$NON-NLS-1$
+        ArgCheck.isTrue( ( offset >= 0 ), "offset cannot be negative" ); //$NON-NLS-1$
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("find: transaction = {0}, query = {1}", //$NON-NLS-1$
+            LOGGER.debug("queryRows: transaction = {0}, query = {1}, variables = {2}, offset = {3}, limit = {4}", //$NON-NLS-1$
                          transaction.getName(),
-                         queryStatement);
+                         queryStatement,
+                         bindVariables,
+                         offset,
+                         limit);
         }
 
-        final Session session = getSession(transaction);
-        List<KomodoObject> results = new ArrayList<>();
-
         try {
-            QueryManager queryMgr = session.getWorkspace().getQueryManager();
-            Query query = queryMgr.createQuery(queryStatement, Query.JCR_SQL2);
-            QueryResult result = query.execute();
-
-            NodeIterator itr = result.getNodes();
-            while (itr.hasNext()) {
-                Node node = itr.nextNode();
-                results.add(new ObjectImpl(this, node.getPath(), node.getIndex()));
+            final QueryResult result = prepareQuery( transaction, queryStatement, bindVariables, offset, limit ).execute();
+            final String[] columnNames = result.getColumnNames();
+            final RowIterator itr = result.getRows();
+            final List< QueryRow > rows = new ArrayList<>();
+
+            while ( itr.hasNext() ) {
+                final Row row = itr.nextRow();
+                final Map< String, String > values = new HashMap<>( columnNames.length * 2 );
+
+                for ( final String columnName : columnNames ) {
+                    final Value value = row.getValue( columnName );
+                    final String stringValue = ( ( value == null ) ? null : value.getString() );
+                    values.put( columnName, stringValue );
+
+                    // also allow lookup by the unqualified property name
+                    final int index = columnName.indexOf( DOT );
+
+                    if ( index != -1 ) {
+                        final String propName = columnName.substring( index + 1 );
+
+                        if ( !values.containsKey( propName ) ) {
+                            values.put( propName, stringValue );
+                        }
+                    }
+                }
+
+                rows.add( new QueryRowImpl( row.getPath(), columnNames, values ) );
             }
+
+            return rows;
         } catch (final Exception e) {
             if (e instanceof KException) {
                 throw (KException)e;
@@ -876,8 +1628,95 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
             throw new KException(e);
         }
+    }
 
-        return results;
+    /**
+     * Obtains the parsed query for the statement from the transaction's prepared query cache, creating it if necessary, and
+     * binds the variable values. Queries are bound to the session that created them so the cache belongs to the transaction,
+     * or to the pooled read session the transaction borrowed, and is discarded with it. Since read sessions are pooled,
+     * repeated searches are usually served from the cache.
+     */
+    private Query prepareQuery( final UnitOfWork transaction,
+                                final String queryStatement,
+                                final Map< String, String > bindVariables,
+                                final long offset,
+                                final long limit ) throws RepositoryException {
+        final Session session = getSession( transaction );
+        final String statement = normalize( queryStatement );
+        final String key = statement + PIPE + offset + PIPE + limit;
+        final PreparedQueryCache cache = ( ( UnitOfWorkImpl )transaction ).getPreparedQueries();
+        Query query = null;
+
+        if ( cache != null ) {
+            synchronized ( cache ) {
+                query = cache.get( key );
+            }
+        }
+
+        if ( query == null ) {
+            query = session.getWorkspace().getQueryManager().createQuery( queryStatement, Query.JCR_SQL2 );
+
+            if ( offset > 0 ) {
+                query.setOffset( offset );
+            }
+
+            if ( limit >= 0 ) {
+                query.setLimit( limit );
+            }
+
+            if ( cache != null ) {
+                synchronized ( cache ) {
+                    cache.put( key, query );
+                }
+            }
+        } else if ( LOGGER.isDebugEnabled() ) {
+            LOGGER.debug( "prepareQuery: using cached query {0}", key ); //$NON-NLS-1$
+        }
+
+        if ( ( bindVariables != null ) && !bindVariables.isEmpty() ) {
+            final ValueFactory factory = session.getValueFactory();
+
+            for ( final Map.Entry< String, String > entry : bindVariables.entrySet() ) {
+                query.bindValue( entry.getKey(), factory.createValue( entry.getValue() ) );
+            }
+        }
+
+        this.indexRegistry.recordExecution( statement, query );
+        return query;
+    }
+
+    /**
+     * Collapses whitespace outside of quoted literals so equivalent statements share a prepared query.
+     */
+    private static String normalize( final String queryStatement ) {
+        final StringBuilder result = new StringBuilder( queryStatement.length() );
+        char quote = 0;
+        boolean space = false;
+
+        for ( final char c : queryStatement.trim().toCharArray() ) {
+            if ( quote != 0 ) {
+                result.append( c );
+
+                if ( c == quote ) {
+                    quote = 0;
+                }
+            } else if ( Character.isWhitespace( c ) ) {
+                space = true;
+            } else {
+                if ( space ) {
+                    result.append( ' ' );
+                    space = false;
+                }
+
+                if ( ( c == '\'' ) || ( c == '"' ) ) {
+                    quote = c;
+                }
+
+                result.append( c );
+            }
+        }
+
+        return result.toString();
     }
 
     /**
@@ -909,6 +1748,11 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         String typeAlias = "k1"; // where clauses need an alias so assign one to the type //$NON-NLS-1$
         searcher.setFromType(type, typeAlias);
         searcher.addWhereContainsClause(null, typeAlias, property, keywordCriteria, keywords);
+
+        // best matches first
+        if (keywordCriteria != KeywordCriteria.NONE)
+            searcher.setOrderByScore(true);
+
         List<KomodoObject> searchObjects = searcher.searchObjects(transaction);
 
         return searchObjects;
@@ -1112,24 +1956,72 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                          jcrUuid);
         }
 
-        final String sql = "SELECT * FROM [nt:base] WHERE [jcr:uuid] = '" + jcrUuid + "'"; //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            assert (transaction instanceof UnitOfWorkImpl);
+            final Node node = findUsingId(((UnitOfWorkImpl)transaction).getSession(), jcrUuid);
+            return ((node == null) ? null : new ObjectImpl(this, node.getPath(), node.getIndex()));
+        } catch (final Exception e) {
+            if (e instanceof KException) {
+                throw (KException)e;
+            }
+
+            throw new KException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#getUsingIds(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String[])
+     */
+    @Override
+    public KomodoObject[] getUsingIds( final UnitOfWork transaction,
+                                       final String... jcrUuids ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull(jcrUuids, "jcrUuids"); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("getUsingIds: transaction = {0}, uuids = {1}", //$NON-NLS-1$
+                         transaction.getName(),
+                         Arrays.asList(jcrUuids));
+        }
+
+        final KomodoObject[] result = new KomodoObject[jcrUuids.length];
 
         try {
             assert (transaction instanceof UnitOfWorkImpl);
-            final Query query = ((UnitOfWorkImpl)transaction).getSession().getWorkspace().getQueryManager().createQuery(sql, Query.JCR_SQL2);
-            final QueryResult result = query.execute();
-            final NodeIterator itr = result.getNodes();
+            final Session session = ((UnitOfWorkImpl)transaction).getSession();
+
+            final Node[] nodes = new Node[jcrUuids.length];
+            final List< String > unknown = new ArrayList< >();
+
+            for (int i = 0; i < jcrUuids.length; ++i) {
+                ArgCheck.isNotEmpty(jcrUuids[i], "jcrUuid"); //$NON-NLS-1$
+                nodes[i] = findKnownId(session, jcrUuids[i]);
+
+                if ((nodes[i] == null) && !unknown.contains(jcrUuids[i])) {
+                    unknown.add(jcrUuids[i]);
+                }
+            }
 
-            if (itr.getSize() == 0) {
-                return null;
+            if (!unknown.isEmpty()) {
+                final Map< String, Node > found = queryUsingIds(session, unknown);
+
+                for (int i = 0; i < jcrUuids.length; ++i) {
+                    if (nodes[i] == null) {
+                        nodes[i] = found.get(jcrUuids[i]);
+                    }
+                }
             }
 
-            if (itr.getSize() == 1) {
-                final Node node = itr.nextNode();
-                return new ObjectImpl(this, node.getPath(), node.getIndex());
+            for (int i = 0; i < jcrUuids.length; ++i) {
+                if (nodes[i] != null) {
+                    result[i] = new ObjectImpl(this, nodes[i].getPath(), nodes[i].getIndex());
+                }
             }
 
-            throw new KException(Messages.getString(Messages.Komodo.DUPLICATE_OBJECT_ERROR, jcrUuid));
+            return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
                 throw (KException)e;
@@ -1139,6 +2031,126 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         }
     }
 
+    private static boolean hasUuid(final Node node, final String jcrUuid) throws Exception {
+        final String uuidProperty = JcrLexicon.UUID.getString();
+        return node.hasProperty(uuidProperty) && jcrUuid.equals(node.getProperty(uuidProperty).getString());
+    }
+
+    /**
+     * Finds a node by its <code>jcr:uuid</code>. The path the node was last found at is tried first and then the identifier.
+     * Cached paths are checked before they are used so moved and deleted nodes are not returned. Identifiers are unique so
+     * a node found by identifier can only share its <code>jcr:uuid</code> with a node whose <code>jcr:uuid</code> differs
+     * from its identifier. Those ids are recorded when the change feed reports them and are always looked up with a query,
+     * as are ids that do not match an identifier.
+     *
+     * @return the node or <code>null</code> if the id is not cached or is not the identifier of a node with that id
+     */
+    private Node findKnownId(final Session session, final String jcrUuid) throws Exception {
+        final String cachedPath = this.idPaths.get(jcrUuid);
+
+        if (cachedPath != null) {
+            if (session.nodeExists(cachedPath)) {
+                final Node node = session.getNode(cachedPath);
+
+                if (hasUuid(node, jcrUuid)) {
+                    return node;
+                }
+            }
+
+            this.idPaths.remove(jcrUuid);
+        }
+
+        if (this.aliasedIds.contains(jcrUuid)) {
+            return null;
+        }
+
+        try {
+            final Node node = session.getNodeByIdentifier(jcrUuid);
+
+            if (hasUuid(node, jcrUuid)) {
+                this.idPaths.put(jcrUuid, node.getPath());
+                return node;
+            }
+        } catch (final ItemNotFoundException e) {
+            // not an identifier so the query is run
+        }
+
+        return null;
+    }
+
+    private Node findUsingId(final Session session, final String jcrUuid) throws Exception {
+        final Node node = findKnownId(session, jcrUuid);
+
+        if (node != null) {
+            return node;
+        }
+
+        return queryUsingIds(session, Collections.singletonList(jcrUuid)).get(jcrUuid);
+    }
+
+    /**
+     * Runs one query for all the ids. An error is thrown if more than one node has the same <code>jcr:uuid</code>.
+     *
+     * @return the nodes found keyed by their <code>jcr:uuid</code> (never <code>null</code>)
+     */
+    private Map< String, Node > queryUsingIds(final Session session, final List< String > jcrUuids) throws Exception {
+        final StringBuilder sql = new StringBuilder("SELECT * FROM [nt:base] WHERE [jcr:uuid] IN ("); //$NON-NLS-1$
+
+        for (int i = 0; i < jcrUuids.size(); ++i) {
+            if (i != 0) {
+                sql.append(COMMA).append(SPACE);
+            }
+
+            sql.append(DOLLAR_SIGN).append("id").append(i); //$NON-NLS-1$
+        }
+
+        sql.append(CLOSE_BRACKET);
+
+        final Query query = session.getWorkspace().getQueryManager().createQuery(sql.toString(), Query.JCR_SQL2);
+
+        for (int i = 0; i < jcrUuids.size(); ++i) {
+            query.bindValue("id" + i, session.getValueFactory().createValue(jcrUuids.get(i))); //$NON-NLS-1$
+        }
+
+        final Map< String, Node > result = new HashMap< >();
+        final String uuidProperty = JcrLexicon.UUID.getString();
+        final NodeIterator itr = query.execute().getNodes();
+
+        while (itr.hasNext()) {
+            final Node node = itr.nextNode();
+            final String jcrUuid = node.getProperty(uuidProperty).getString();
+
+            if (result.put(jcrUuid, node) != null) {
+                throw new KException(Messages.getString(Messages.Komodo.DUPLICATE_OBJECT_ERROR, jcrUuid));
+            }
+        }
+
+        for (final Map.Entry< String, Node > entry : result.entrySet()) {
+            this.idPaths.put(entry.getKey(), entry.getValue().getPath());
+        }
+
+        return result;
+    }
+
+    /**
+     * Evicts the cached paths of the ids written by a commit.
+     *
+     * @param uuids
+     *        the <code>jcr:uuid</code> values written by the commit (cannot be <code>null</code>)
+     * @param aliases
+     *        the subset of <code>uuids</code> written to a node whose identifier is a different value (cannot be
+     *        <code>null</code>)
+     */
+    protected void idsWritten( final Set< String > uuids,
+                               final Set< String > aliases ) {
+        // a node given an existing jcr:uuid would make a cached path skip the duplicate check
+        this.aliasedIds.addAll(aliases);
+
+        for (final String uuid : uuids) {
+            this.idPaths.remove(uuid);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1170,6 +2182,17 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         return this.validationMgr;
     }
 
+    /**
+     * Discards the validation rules compiled by the validation manager, if it has been constructed. Called when the content of
+     * the repository is cleared or restored so that stale rules are not used before the changes reach the
+     * {@link RepositoryChangeListener change listeners}.
+     */
+    protected void validationRulesChanged() {
+        if ( this.validationMgr instanceof ValidationManagerImpl ) {
+            ( ( ValidationManagerImpl )this.validationMgr ).rulesChanged();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1250,6 +2273,27 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         // nothing to do
     }
 
+    /**
+     * @param changes
+     *        the changes saved together (cannot be <code>null</code>)
+     */
+    protected void notifyChangeListeners( final List< RepositoryChange > changes ) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        final List< RepositoryChange > batch = Collections.unmodifiableList(changes);
+
+        for (final RepositoryChangeListener listener : this.changeListeners) {
+            try {
+                // Ensure all listeners are informed even if one throws an exception
+                listener.changesOccurred(batch);
+            } catch (final Exception ex) {
+                KEngine.getInstance().getErrorHandler().error(Messages.getString(Messages.LocalRepository.General_Exception), ex);
+            }
+        }
+    }
+
     protected void notifyObservers() {
         final Set<RepositoryObserver> copy = new HashSet<>(this.observers);
 
@@ -1305,6 +2349,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
         try {
             final boolean exists = session.itemExists(descriptor.getPath());
+            final Node source = session.getNode(komodoObject.getAbsolutePath());
             Node node = null;
 
             if (exists) {
@@ -1320,27 +2365,43 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                     while (itr.hasNext()) {
                         itr.nextNode().remove();
                     }
+
+                    evictNodes(transaction, descriptor.getPath());
                 }
 
                 { // remove properties
                     final PropertyIterator itr = node.getProperties();
 
                     while (itr.hasNext()) {
-                        itr.nextProperty().remove();
+                        final Property prop = itr.nextProperty();
+
+                        if (!prop.getDefinition().isProtected()) {
+                            prop.remove();
+                        }
                     }
                 }
-            } else {
-                node = session.getRootNode().addNode(descriptor.getPath());
-                node.addMixin(LibraryComponent.MIXIN_TYPE);
-            }
 
-            node.setProperty(LibraryComponent.DESCRIPTION, descriptor.getDescription());
-            node.setPrimaryType(descriptor.getArtifactType());
+                node.setProperty(LibraryComponent.DESCRIPTION, descriptor.getDescription());
+                node.setPrimaryType(descriptor.getArtifactType());
 
-            // TODO not sure how version works??
+                // TODO not sure how version works??
 
-            // copy node
-            copy(transaction, komodoObject, node, session.getValueFactory());
+                // copy node
+                copyTree(source, node);
+            } else {
+                final String path = descriptor.getPath();
+                final int index = path.lastIndexOf(FORWARD_SLASH);
+                final Node parent = ( ( index <= 0 ) ? session.getRootNode() : session.getNode(path.substring(0, index)) );
+
+                // copy node
+                node = copy(source, parent, path.substring(index + 1));
+                node.addMixin(LibraryComponent.MIXIN_TYPE);
+                node.setProperty(LibraryComponent.DESCRIPTION, descriptor.getDescription());
+
+                if (!descriptor.getArtifactType().equals(node.getPrimaryNodeType().getName())) {
+                    node.setPrimaryType(descriptor.getArtifactType());
+                }
+            }
         } catch (final Exception e) {
             if (e instanceof KException) {
                 throw (KException)e;
@@ -1398,6 +2459,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
             try {
                 session.removeItem( absPath );
+                evictNodes( transaction, parentPath( absPath ) );
                 LOGGER.debug( "removed workspace node at path {0} in transaction {1}", absPath, transaction.getName() ); //$NON-NLS-1$
             } catch ( final Exception e ) {
                 if ( e instanceof KException ) {
@@ -1420,6 +2482,22 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         this.clients.remove(client);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#removeChangeListener(org.komodo.spi.repository.RepositoryChangeListener)
+     */
+    @Override
+    public void removeChangeListener( final RepositoryChangeListener listener ) {
+        ArgCheck.isNotNull(listener, "listener"); //$NON-NLS-1$
+
+        synchronized (this.changeListeners) {
+            if (this.changeListeners.remove(listener) && this.changeListeners.isEmpty()) {
+                changeListenersChanged(false);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1510,6 +2588,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             try {
                 if (session.itemExists(absPath)) {
                     session.removeItem(absPath);
+                    evictNodes(transaction, parentPath(absPath));
                     LOGGER.debug("removed library node at path {0} in transaction {1}", absPath, transaction.getName()); //$NON-NLS-1$
                 } else {
                     throw new KException(Messages.getString(Messages.Komodo.UNABLE_TO_UNPUBLISH_NON_EXISTENT_ARTIFACT, absPath));
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.net.URL;
+import java.util.List;
+import org.komodo.repository.internal.ModeshapeEngineThread;
+
+/**
+ * A repository whose content is replicated between every Komodo instance of a cluster. Each instance runs its own engine
+ * holding a full copy of the content, so reads are served from the local copy. Commits are replicated synchronously, so a
+ * transaction committed on one instance can be read by transactions started afterwards on any other instance.
+ * <p>
+ * Sessions are not routed between instances. A transaction's session stays on the instance that created it, and a load
+ * balancer that needs to pin a user to one instance can use its {@link #getNodeName() node name}.
+ * <p>
+ * ModeShape's cluster channel invalidates the nodes the other instances have cached and delivers the change events of a
+ * remote commit to every instance. The caches Komodo keeps itself, the identifier paths and the validation rules, are
+ * invalidated from those change events in the same way as for a local commit.
+ * <p>
+ * The shipped configuration clusters instances on the loopback address, so several JVMs on one machine form a cluster
+ * provided each uses its own {@link org.komodo.spi.constants.SystemConstants#ENGINE_DATA_DIR data directory}.
+ *
+ * @see org.komodo.spi.constants.SystemConstants#CLUSTER_NAME
+ * @see org.komodo.spi.constants.SystemConstants#CLUSTER_MEMBERS
+ */
+public class SharedRepository extends LocalRepository {
+
+    private static String SHARED_REPOSITORY_CONFIG = "shared-repository-config.json"; //$NON-NLS-1$
+
+    /**
+     * The default shared repository identifier.
+     */
+    public static final LocalRepositoryId DEFAULT_SHARED_REPOSITORY_ID = new LocalRepositoryId(
+                                                                                               SharedRepository.class.getResource(SHARED_REPOSITORY_CONFIG),
+                                                                                               DEFAULT_LOCAL_WORKSPACE_NAME);
+
+    /**
+     * Create an instance of a shared repository using the specified configuration file.
+     *
+     * @param configPathUrl
+     *        the URL of the configuration file (cannot be empty)
+     * @param workspaceName
+     *        the name of the repository workspace in the configuration file (cannot be empty)
+     */
+    public SharedRepository( final URL configPathUrl,
+                             final String workspaceName ) {
+        this(new LocalRepositoryId(configPathUrl, workspaceName));
+    }
+
+    /**
+     * Create an instance of shared repository.
+     *
+     * @param repositoryId
+     *        repository configuration of the instance
+     */
+    public SharedRepository( final LocalRepositoryId repositoryId ) {
+        super(Type.SHARED, repositoryId);
+    }
+
+    /**
+     * Create an instance of shared repository using the default configuration file and workspace name.
+     */
+    public SharedRepository() {
+        this(DEFAULT_SHARED_REPOSITORY_ID);
+    }
+
+    /**
+     * @return the addresses of the instances in the cluster or <code>null</code> if the repository is not running
+     */
+    public String getClusterMembers() {
+        final ModeshapeEngineThread engine = getEngineThread();
+        final List< String > members = ( ( engine == null ) ? null : engine.getClusterMembers() );
+        return ( ( members == null ) ? null : members.toString() );
+    }
+
+    /**
+     * @return the number of instances in the cluster or zero if the repository is not running
+     */
+    public int getClusterSize() {
+        final ModeshapeEngineThread engine = getEngineThread();
+        final List< String > members = ( ( engine == null ) ? null : engine.getClusterMembers() );
+        return ( ( members == null ) ? 0 : members.size() );
+    }
+
+    /**
+     * @return the address of this instance in the cluster, which a load balancer can use to route all the requests of a user
+     *         to the same instance, or <code>null</code> if the repository is not running
+     */
+    public String getNodeName() {
+        final ModeshapeEngineThread engine = getEngineThread();
+        return ( ( engine == null ) ? null : engine.getClusterAddress() );
+    }
+
+}
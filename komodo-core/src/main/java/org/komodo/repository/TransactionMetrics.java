@@ -0,0 +1,502 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * Records where the time of each transaction commit is spent: the work done in the transaction before it is committed,
+ * waiting for an engine worker, saving the session and waiting for the sequencers to complete. Each phase, and the number of
+ * nodes a commit changed, is kept in a {@link Histogram histogram}. Commits taking longer than the
+ * {@link SystemConstants#SLOW_TRANSACTION_THRESHOLD slow transaction threshold} are logged. The metrics are also available
+ * through JMX once {@link #register(String) registered}.
+ */
+public class TransactionMetrics implements TransactionMetricsMBean {
+
+    /**
+     * The JMX domain the transaction metrics are registered with. Value is {@value} .
+     */
+    public static final String JMX_DOMAIN = "org.komodo"; //$NON-NLS-1$
+
+    /**
+     * The default number of milliseconds a commit may take before it is logged as slow. Value is {@value} .
+     */
+    public static final long DEFAULT_SLOW_THRESHOLD = 1000;
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * The phases of a transaction commit.
+     */
+    public enum Phase {
+
+        /**
+         * From the creation of the transaction until its commit is requested.
+         */
+        WORK,
+
+        /**
+         * From the commit request until an engine worker starts the commit.
+         */
+        QUEUE,
+
+        /**
+         * Saving the session.
+         */
+        SAVE,
+
+        /**
+         * From the session being saved until the sequencers have completed.
+         */
+        SEQUENCING,
+
+        /**
+         * From the commit request until the transaction has been committed.
+         */
+        TOTAL;
+
+        /**
+         * @param name
+         *        the phase name, case is ignored (cannot be empty)
+         * @return the phase (never <code>null</code>)
+         */
+        public static Phase find( final String name ) {
+            ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
+            return valueOf( name.toUpperCase() );
+        }
+
+    }
+
+    /**
+     * A histogram of values kept in buckets with fixed, roughly exponential, upper bounds.
+     */
+    public static final class Histogram {
+
+        private static final long[] BOUNDS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000 };
+
+        // one more bucket than bounds for the values above the last bound
+        private final AtomicLongArray buckets = new AtomicLongArray( BOUNDS.length + 1 );
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+
+        void record( final long value ) {
+            int bucket = Arrays.binarySearch( BOUNDS, value );
+
+            if ( bucket < 0 ) {
+                bucket = -( bucket + 1 );
+            }
+
+            this.buckets.incrementAndGet( bucket );
+            this.count.incrementAndGet();
+            this.sum.addAndGet( value );
+
+            long current = this.max.get();
+
+            while ( ( value > current ) && !this.max.compareAndSet( current, value ) ) {
+                current = this.max.get();
+            }
+        }
+
+        void reset() {
+            for ( int i = 0; i < this.buckets.length(); ++i ) {
+                this.buckets.set( i, 0 );
+            }
+
+            this.count.set( 0 );
+            this.max.set( 0 );
+            this.sum.set( 0 );
+        }
+
+        /**
+         * @return the inclusive upper bound of every bucket but the last, which holds the values above the last bound (never
+         *         <code>null</code>)
+         */
+        public long[] getBounds() {
+            return BOUNDS.clone();
+        }
+
+        /**
+         * @return the number of values in each bucket (never <code>null</code>)
+         * @see #getBounds()
+         */
+        public long[] getBucketCounts() {
+            final long[] result = new long[ this.buckets.length() ];
+
+            for ( int i = 0; i < result.length; ++i ) {
+                result[ i ] = this.buckets.get( i );
+            }
+
+            return result;
+        }
+
+        /**
+         * @return the number of values recorded
+         */
+        public long getCount() {
+            return this.count.get();
+        }
+
+        /**
+         * @return the largest value recorded
+         */
+        public long getMax() {
+            return this.max.get();
+        }
+
+        /**
+         * @return the mean of the values recorded or zero if nothing has been recorded
+         */
+        public double getMean() {
+            final long total = this.count.get();
+            return ( ( total == 0 ) ? 0 : ( ( double )this.sum.get() / total ) );
+        }
+
+        /**
+         * @param percentile
+         *        the percentile between 0 and 100
+         * @return the upper bound of the bucket holding the percentile, or the largest value recorded if that is smaller or
+         *         the percentile is in the last bucket
+         */
+        public long getPercentile( final double percentile ) {
+            ArgCheck.isTrue( ( percentile >= 0 ) && ( percentile <= 100 ), "percentile is not between 0 and 100" ); //$NON-NLS-1$
+            final long[] counts = getBucketCounts();
+            long total = 0;
+
+            for ( final long bucketCount : counts ) {
+                total += bucketCount;
+            }
+
+            if ( total == 0 ) {
+                return 0;
+            }
+
+            final long rank = Math.max( 1, ( long )Math.ceil( total * percentile / 100 ) );
+            long seen = 0;
+
+            for ( int i = 0; i < BOUNDS.length; ++i ) {
+                seen += counts[ i ];
+
+                if ( seen >= rank ) {
+                    return Math.min( BOUNDS[ i ], getMax() );
+                }
+            }
+
+            return getMax();
+        }
+
+    }
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final Map< Phase, Histogram > phases = new EnumMap<>( Phase.class );
+    private final Histogram nodeCounts = new Histogram();
+    private final AtomicLong slowTransactions = new AtomicLong();
+    private volatile long slowThreshold;
+    private ObjectName objectName;
+
+    /**
+     * Constructs metrics using the {@link SystemConstants#SLOW_TRANSACTION_THRESHOLD configured} slow transaction threshold.
+     */
+    public TransactionMetrics() {
+        for ( final Phase phase : Phase.values() ) {
+            this.phases.put( phase, new Histogram() );
+        }
+
+        this.slowThreshold = Long.getLong( SystemConstants.SLOW_TRANSACTION_THRESHOLD, DEFAULT_SLOW_THRESHOLD );
+    }
+
+    private static long millis( final long fromNanos,
+                                final long toNanos ) {
+        return TimeUnit.NANOSECONDS.toMillis( Math.max( 0, toNanos - fromNanos ) );
+    }
+
+    /**
+     * Records a transaction commit. Times are {@link System#nanoTime() nano times}. A phase that was never reached, because
+     * the commit failed or had nothing to save, has a time of zero and is recorded as taking no time.
+     *
+     * @param name
+     *        the transaction name (cannot be empty)
+     * @param userName
+     *        the user who ran the transaction (cannot be empty)
+     * @param createdAt
+     *        when the transaction was created
+     * @param requestedAt
+     *        when the commit was requested
+     * @param startedAt
+     *        when an engine worker started the commit or zero
+     * @param savedAt
+     *        when the session was saved or zero
+     * @param completedAt
+     *        when the transaction was committed or failed
+     * @param nodeCount
+     *        the number of nodes the commit changed, including those changed by the sequencers
+     * @param failed
+     *        <code>true</code> if the commit failed
+     */
+    public void record( final String name,
+                        final String userName,
+                        final long createdAt,
+                        final long requestedAt,
+                        final long startedAt,
+                        final long savedAt,
+                        final long completedAt,
+                        final int nodeCount,
+                        final boolean failed ) {
+        final long started = ( ( startedAt == 0 ) ? completedAt : startedAt );
+        final long saved = ( ( savedAt == 0 ) ? completedAt : savedAt );
+
+        final long work = millis( createdAt, requestedAt );
+        final long queue = millis( requestedAt, started );
+        final long save = millis( started, saved );
+        final long sequencing = millis( saved, completedAt );
+        final long total = millis( requestedAt, completedAt );
+
+        this.phases.get( Phase.WORK ).record( work );
+        this.phases.get( Phase.QUEUE ).record( queue );
+        this.phases.get( Phase.SAVE ).record( save );
+        this.phases.get( Phase.SEQUENCING ).record( sequencing );
+        this.phases.get( Phase.TOTAL ).record( total );
+        this.nodeCounts.record( nodeCount );
+        this.commits.incrementAndGet();
+
+        if ( failed ) {
+            this.failures.incrementAndGet();
+        }
+
+        if ( total > this.slowThreshold ) {
+            this.slowTransactions.incrementAndGet();
+            LOGGER.warn( Messages.getString( Messages.Komodo.SLOW_TRANSACTION,
+                                             name,
+                                             userName,
+                                             total,
+                                             work,
+                                             queue,
+                                             save,
+                                             sequencing,
+                                             nodeCount ) );
+        } else if ( LOGGER.isDebugEnabled() ) {
+            LOGGER.debug( "Transaction {0} committed in {1}ms (work {2}ms, queued {3}ms, save {4}ms, sequencing {5}ms, {6} nodes changed)", //$NON-NLS-1$
+                          name,
+                          total,
+                          work,
+                          queue,
+                          save,
+                          sequencing,
+                          nodeCount );
+        }
+    }
+
+    /**
+     * @param phase
+     *        the phase whose histogram is being requested (cannot be <code>null</code>)
+     * @return the histogram of the durations, in milliseconds, of the phase (never <code>null</code>)
+     */
+    public Histogram getHistogram( final Phase phase ) {
+        ArgCheck.isNotNull( phase, "phase" ); //$NON-NLS-1$
+        return this.phases.get( phase );
+    }
+
+    /**
+     * @return the histogram of the number of nodes changed by each commit (never <code>null</code>)
+     */
+    public Histogram getNodeCounts() {
+        return this.nodeCounts;
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server. Nothing is done if they are already registered.
+     *
+     * @param workspaceName
+     *        the name of the repository workspace the metrics are for, used to tell repositories apart (cannot be empty)
+     */
+    public synchronized void register( final String workspaceName ) {
+        ArgCheck.isNotEmpty( workspaceName, "workspaceName" ); //$NON-NLS-1$
+
+        if ( this.objectName != null ) {
+            return;
+        }
+
+        try {
+            final ObjectName name = new ObjectName( JMX_DOMAIN + ":type=TransactionMetrics,workspace=" //$NON-NLS-1$
+                                                    + ObjectName.quote( workspaceName ) );
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            if ( !server.isRegistered( name ) ) {
+                server.registerMBean( this, name );
+                this.objectName = name;
+            }
+        } catch ( final Exception e ) {
+            LOGGER.debug( "TransactionMetrics.register: unable to register transaction metrics of workspace {0}", //$NON-NLS-1$
+                          e,
+                          workspaceName );
+        }
+    }
+
+    /**
+     * Unregisters these metrics from the platform MBean server. Nothing is done if they are not registered.
+     */
+    public synchronized void unregister() {
+        if ( this.objectName == null ) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean( this.objectName );
+        } catch ( final Exception e ) {
+            LOGGER.debug( "TransactionMetrics.unregister: unable to unregister {0}", e, this.objectName ); //$NON-NLS-1$
+        } finally {
+            this.objectName = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getCommits()
+     */
+    @Override
+    public long getCommits() {
+        return this.commits.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getFailures()
+     */
+    @Override
+    public long getFailures() {
+        return this.failures.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getSlowTransactions()
+     */
+    @Override
+    public long getSlowTransactions() {
+        return this.slowTransactions.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getSlowThresholdMillis()
+     */
+    @Override
+    public long getSlowThresholdMillis() {
+        return this.slowThreshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#setSlowThresholdMillis(long)
+     */
+    @Override
+    public void setSlowThresholdMillis( final long threshold ) {
+        ArgCheck.isTrue( threshold >= 0, "threshold is negative" ); //$NON-NLS-1$
+        this.slowThreshold = threshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getMeanNodeCount()
+     */
+    @Override
+    public double getMeanNodeCount() {
+        return this.nodeCounts.getMean();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getMeanMillis(java.lang.String)
+     */
+    @Override
+    public double getMeanMillis( final String phase ) {
+        return getHistogram( Phase.find( phase ) ).getMean();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getMaxMillis(java.lang.String)
+     */
+    @Override
+    public long getMaxMillis( final String phase ) {
+        return getHistogram( Phase.find( phase ) ).getMax();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getPercentileMillis(java.lang.String, double)
+     */
+    @Override
+    public long getPercentileMillis( final String phase,
+                                     final double percentile ) {
+        return getHistogram( Phase.find( phase ) ).getPercentile( percentile );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#getBucketCounts(java.lang.String)
+     */
+    @Override
+    public long[] getBucketCounts( final String phase ) {
+        return getHistogram( Phase.find( phase ) ).getBucketCounts();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.TransactionMetricsMBean#reset()
+     */
+    @Override
+    public void reset() {
+        for ( final Histogram histogram : this.phases.values() ) {
+            histogram.reset();
+        }
+
+        this.nodeCounts.reset();
+        this.commits.set( 0 );
+        this.failures.set( 0 );
+        this.slowTransactions.set( 0 );
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+/**
+ * The management interface of the {@link TransactionMetrics transaction metrics}. Phases are named by the
+ * {@link TransactionMetrics.Phase phase} constants.
+ */
+public interface TransactionMetricsMBean {
+
+    /**
+     * @return the number of transactions committed, including those that failed
+     */
+    long getCommits();
+
+    /**
+     * @return the number of transactions whose commit failed
+     */
+    long getFailures();
+
+    /**
+     * @return the number of transactions that took longer than the slow transaction threshold
+     */
+    long getSlowTransactions();
+
+    /**
+     * @return the number of milliseconds a commit may take before it is logged as slow
+     */
+    long getSlowThresholdMillis();
+
+    /**
+     * @param threshold
+     *        the number of milliseconds a commit may take before it is logged as slow (cannot be negative)
+     */
+    void setSlowThresholdMillis( final long threshold );
+
+    /**
+     * @return the mean number of nodes changed by a committed transaction
+     */
+    double getMeanNodeCount();
+
+    /**
+     * @param phase
+     *        the name of the phase (cannot be empty)
+     * @return the mean duration of the phase in milliseconds
+     */
+    double getMeanMillis( final String phase );
+
+    /**
+     * @param phase
+     *        the name of the phase (cannot be empty)
+     * @return the longest duration of the phase in milliseconds
+     */
+    long getMaxMillis( final String phase );
+
+    /**
+     * @param phase
+     *        the name of the phase (cannot be empty)
+     * @param percentile
+     *        the percentile between 0 and 100
+     * @return the upper bound in milliseconds of the histogram bucket holding the percentile
+     */
+    long getPercentileMillis( final String phase,
+                              final double percentile );
+
+    /**
+     * @param phase
+     *        the name of the phase (cannot be empty)
+     * @return the number of durations in each histogram bucket (never <code>null</code>)
+     * @see TransactionMetrics.Histogram#getBounds()
+     */
+    long[] getBucketCounts( final String phase );
+
+    /**
+     * Discards everything recorded so far.
+     */
+    void reset();
+
+}
@@ -0,0 +1,321 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.nodetype.NodeType;
+import javax.jcr.observation.Event;
+import javax.jcr.observation.EventIterator;
+import javax.jcr.observation.EventListener;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.repository.RepositoryChange;
+import org.komodo.spi.repository.RepositoryChangeListener;
+import org.komodo.utils.KLog;
+import org.modeshape.jcr.JcrLexicon;
+
+/**
+ * Translates JCR observation events into typed {@link RepositoryChange repository changes}. JCR delivers the events of one
+ * save together so each batch handed to the listener covers exactly one commit. The events are only translated while a
+ * {@link #setListener(RepositoryChangeListener) listener} is set. The {@link CommitListener commit listener} is always told
+ * about the ids and watched paths each commit wrote, which only needs the event paths.
+ */
+public class ChangeFeed implements StringConstants, EventListener {
+
+    /**
+     * Told about the parts of each commit the repository itself tracks.
+     */
+    public interface CommitListener {
+
+        /**
+         * @param uuids
+         *        the <code>jcr:uuid</code> values written by one commit (never <code>null</code> or empty)
+         * @param aliases
+         *        the subset of <code>uuids</code> written to a node whose identifier is a different value (never
+         *        <code>null</code>)
+         */
+        void idsWritten( final Set< String > uuids,
+                         final Set< String > aliases );
+
+        /**
+         * Called when a commit changed the watched path, something beneath it, or one of its ancestors.
+         */
+        void watchedPathChanged();
+
+    }
+
+    private static final String SYSTEM_PATH = FORWARD_SLASH + JcrLexicon.SYSTEM.getString();
+
+    private static final int EVENT_TYPES = Event.NODE_ADDED | Event.NODE_MOVED | Event.NODE_REMOVED | Event.PROPERTY_ADDED
+                                           | Event.PROPERTY_CHANGED | Event.PROPERTY_REMOVED;
+
+    private static final String UUID_PROPERTY = FORWARD_SLASH + JcrLexicon.UUID.getString();
+
+    private final CommitListener commitListener;
+
+    private final String watchedPath;
+
+    private volatile RepositoryChangeListener listener;
+
+    private Session session;
+
+    /**
+     * @param identifier
+     *        the workspace identifier (cannot be <code>null</code>)
+     * @param commitListener
+     *        the listener told the ids and watched paths each commit wrote (can be <code>null</code>)
+     * @param watchedPath
+     *        the path whose changes are reported to the commit listener (can be <code>null</code>)
+     * @throws Exception
+     *         if the observation session cannot be created
+     */
+    public ChangeFeed( final WorkspaceIdentifier identifier,
+                       final CommitListener commitListener,
+                       final String watchedPath ) throws Exception {
+        this.commitListener = commitListener;
+        this.watchedPath = watchedPath;
+        this.session = ModeshapeUtils.createSession( identifier );
+        KLog.getLogger().debug( "ChangeFeed.init: session = {0}", this.session.hashCode() ); //$NON-NLS-1$
+
+        this.session.getWorkspace().getObservationManager().addEventListener( this,
+                                                                              EVENT_TYPES,
+                                                                              FORWARD_SLASH, // all paths
+                                                                              true, // deep
+                                                                              null, // all uuids
+                                                                              null, // all node types
+                                                                              true ); // ignore events of this session
+    }
+
+    /**
+     * @param listener
+     *        the listener sent each batch of changes or <code>null</code> to stop translating events
+     */
+    public void setListener( final RepositoryChangeListener listener ) {
+        this.listener = listener;
+    }
+
+    /**
+     * Dispose of this instance
+     */
+    public synchronized void dispose() {
+        if ( this.session != null ) {
+            KLog.getLogger().debug( "ChangeFeed.dispose: logout session: {0}", this.session.hashCode() ); //$NON-NLS-1$
+            this.session.logout();
+            this.session = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see javax.jcr.observation.EventListener#onEvent(javax.jcr.observation.EventIterator)
+     */
+    @Override
+    public void onEvent( final EventIterator events ) {
+        final RepositoryChangeListener changeListener = this.listener;
+        final List< RepositoryChange > changes = ( ( changeListener == null ) ? Collections.< RepositoryChange >emptyList()
+                                                                               : new ArrayList< RepositoryChange >( ( int )Math.max( 0, events.getSize() ) ) );
+        final Set< String > uuids = new HashSet<>();
+        final Set< String > aliases = new HashSet<>();
+        boolean watchedPathChanged = false;
+
+        while ( events.hasNext() ) {
+            final Event event = events.nextEvent();
+
+            try {
+                final String path = event.getPath();
+
+                // internal modeshape changes like namespace registrations are not reported
+                if ( ( path == null ) || path.startsWith( SYSTEM_PATH ) ) {
+                    continue;
+                }
+
+                final RepositoryChange.Type type = type( event.getType() );
+
+                if ( type == null ) {
+                    continue;
+                }
+
+                String previousPath = null;
+
+                if ( type == RepositoryChange.Type.NODE_MOVED ) {
+                    final Map< ?, ? > info = event.getInfo();
+                    final Object srcPath = info.get( "srcAbsPath" ); //$NON-NLS-1$
+
+                    if ( srcPath != null ) {
+                        previousPath = srcPath.toString();
+                    }
+                }
+
+                if ( this.commitListener != null ) {
+                    if ( ( ( type == RepositoryChange.Type.PROPERTY_ADDED ) || ( type == RepositoryChange.Type.PROPERTY_CHANGED ) )
+                         && path.endsWith( UUID_PROPERTY ) ) {
+                        final String uuid = uuid( event );
+
+                        if ( uuid != null ) {
+                            uuids.add( uuid );
+
+                            if ( !uuid.equals( event.getIdentifier() ) ) {
+                                aliases.add( uuid );
+                            }
+                        }
+                    }
+
+                    if ( !watchedPathChanged ) {
+                        watchedPathChanged = isWatched( path ) || isWatched( previousPath );
+                    }
+                }
+
+                if ( changeListener != null ) {
+                    changes.add( new RepositoryChange( type, path, previousPath, primaryType( event ), event.getUserID(), event.getDate() ) );
+                }
+            } catch ( final RepositoryException e ) {
+                KLog.getLogger().error( "ChangeFeed: unable to read event", e ); //$NON-NLS-1$
+            }
+        }
+
+        if ( !uuids.isEmpty() || watchedPathChanged ) {
+            try {
+                if ( !uuids.isEmpty() ) {
+                    this.commitListener.idsWritten( uuids, aliases );
+                }
+
+                if ( watchedPathChanged ) {
+                    this.commitListener.watchedPathChanged();
+                }
+            } catch ( final Exception e ) {
+                KLog.getLogger().error( "ChangeFeed: commit listener failed", e ); //$NON-NLS-1$
+            }
+        }
+
+        notify( changeListener, changes );
+    }
+
+    private boolean isWatched( final String path ) {
+        return ( ( this.watchedPath != null ) && ( path != null )
+                 && ( path.startsWith( this.watchedPath ) || this.watchedPath.startsWith( path ) ) );
+    }
+
+    /**
+     * The value is taken from the event when ModeShape supplies it, otherwise it is read using the feed's session.
+     */
+    private synchronized String uuid( final Event event ) throws RepositoryException {
+        if ( event instanceof org.modeshape.jcr.api.observation.PropertyEvent ) {
+            final Object value = ( ( org.modeshape.jcr.api.observation.PropertyEvent )event ).getCurrentValue();
+
+            if ( value != null ) {
+                return value.toString();
+            }
+        }
+
+        if ( this.session == null ) {
+            return null;
+        }
+
+        this.session.refresh( false );
+
+        if ( !this.session.propertyExists( event.getPath() ) ) {
+            return null;
+        }
+
+        return this.session.getProperty( event.getPath() ).getString();
+    }
+
+    /**
+     * Reports that a sequencer has written its output.
+     *
+     * @param outputPath
+     *        the path of the node the sequencer wrote beneath (cannot be empty)
+     * @param primaryType
+     *        the primary type of the output node (can be <code>null</code>)
+     * @param userId
+     *        the user whose change triggered the sequencer (can be <code>null</code>)
+     */
+    public void sequenced( final String outputPath,
+                           final String primaryType,
+                           final String userId ) {
+        final RepositoryChangeListener changeListener = this.listener;
+
+        if ( changeListener == null ) {
+            return;
+        }
+
+        notify( changeListener, Collections.singletonList( new RepositoryChange( RepositoryChange.Type.SEQUENCED,
+                                                                                 outputPath,
+                                                                                 null,
+                                                                                 primaryType,
+                                                                                 userId,
+                                                                                 System.currentTimeMillis() ) ) );
+    }
+
+    private void notify( final RepositoryChangeListener changeListener,
+                         final List< RepositoryChange > changes ) {
+        if ( ( changeListener == null ) || changes.isEmpty() ) {
+            return;
+        }
+
+        try {
+            changeListener.changesOccurred( changes );
+        } catch ( final Exception e ) {
+            KLog.getLogger().error( "ChangeFeed: listener failed", e ); //$NON-NLS-1$
+        }
+    }
+
+    private String primaryType( final Event event ) {
+        if ( event instanceof org.modeshape.jcr.api.observation.Event ) {
+            try {
+                final NodeType nodeType = ( ( org.modeshape.jcr.api.observation.Event )event ).getPrimaryNodeType();
+                return ( ( nodeType == null ) ? null : nodeType.getName() );
+            } catch ( final RepositoryException e ) {
+                // type is optional
+            }
+        }
+
+        return null;
+    }
+
+    private RepositoryChange.Type type( final int eventType ) {
+        switch ( eventType ) {
+            case Event.NODE_ADDED:
+                return RepositoryChange.Type.NODE_ADDED;
+            case Event.NODE_MOVED:
+                return RepositoryChange.Type.NODE_MOVED;
+            case Event.NODE_REMOVED:
+                return RepositoryChange.Type.NODE_REMOVED;
+            case Event.PROPERTY_ADDED:
+                return RepositoryChange.Type.PROPERTY_ADDED;
+            case Event.PROPERTY_CHANGED:
+                return RepositoryChange.Type.PROPERTY_CHANGED;
+            case Event.PROPERTY_REMOVED:
+                return RepositoryChange.Type.PROPERTY_REMOVED;
+            default:
+                return null;
+        }
+    }
+
+}
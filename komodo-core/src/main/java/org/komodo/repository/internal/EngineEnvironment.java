@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.naming.NamingException;
+import org.infinispan.manager.CacheContainer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.modeshape.jcr.LocalEnvironment;
+
+/**
+ * The environment a repository of the {@link ModeshapeEngineThread engine} is deployed with. It keeps the cache containers
+ * it creates for the repository so the engine can reach the cache manager, and through it the transaction manager and the
+ * statistics, of the caches the repository actually uses.
+ */
+class EngineEnvironment extends LocalEnvironment {
+
+    private final Map< String, CacheContainer > containers = new ConcurrentHashMap< String, CacheContainer >();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.modeshape.jcr.LocalEnvironment#getCacheContainer(java.lang.String)
+     */
+    @Override
+    public synchronized CacheContainer getCacheContainer( final String name ) throws IOException, NamingException {
+        final CacheContainer container = super.getCacheContainer( name );
+
+        if ( ( name != null ) && ( container != null ) ) {
+            this.containers.put( name, container );
+        }
+
+        return container;
+    }
+
+    /**
+     * @param name
+     *        the name of the cache configuration the container was created from (can be <code>null</code>)
+     * @return the cache manager the repository uses for the configuration or <code>null</code> if the repository has not
+     *         created one
+     */
+    EmbeddedCacheManager getCacheManager( final String name ) {
+        if ( name == null ) {
+            return null;
+        }
+
+        final CacheContainer container = this.containers.get( name );
+        return ( ( container instanceof EmbeddedCacheManager ) ? ( EmbeddedCacheManager )container : null );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.modeshape.jcr.LocalEnvironment#shutdown()
+     */
+    @Override
+    public synchronized void shutdown() {
+        this.containers.clear();
+        super.shutdown();
+    }
+
+}
@@ -23,10 +23,12 @@ package org.komodo.repository.internal;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.jcr.AccessDeniedException;
 import javax.jcr.ItemNotFoundException;
 import javax.jcr.Node;
@@ -64,13 +66,20 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
 
     private Session session;
 
+    // Guards sequencingActive and runningSequencers, which are updated by concurrently saved sessions
+    private final Object sequencingLock = new Object();
+
     // Flag switched on only when a sequencing execution is started
     private boolean sequencingActive = false;
 
     // List appended to by running sequencers detailing their unique identifiers
-    private List<String> runningSequencers = new ArrayList<>();
+    private final List<String> runningSequencers = new ArrayList<>();
+
+    // Listeners are added by the engine workers while events are delivered on the observation thread
+    private Set<KSequencerListener> listeners = Collections.newSetFromMap(new ConcurrentHashMap<KSequencerListener, Boolean>());
 
-    private Set<KSequencerListener> listeners = new HashSet<>();
+    // Told about each sequencer output so change listeners can refresh anything derived from it
+    private volatile ChangeFeed changeFeed;
 
     /**
      * Create new instance
@@ -132,6 +141,13 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
         listeners.add(listener);
     }
 
+    /**
+     * @param changeFeed the change feed notified when a sequencer has saved its output (can be <code>null</code>)
+     */
+    public void setChangeFeed(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
     /**
      * @return the identifier
      */
@@ -442,7 +458,7 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
     }
 
     private void sequence(SequencerType sequencerType, Property property,
-                                                 Node outputNode, String eventId) throws Exception {
+                                                 Node outputNode, String eventId, String userId) throws Exception {
         KLog.getLogger().debug("Executing pre-sequencing of " + sequencerType.name() + " Sequencer for property " + property.getName());  //$NON-NLS-1$//$NON-NLS-2$
         preSequenceClean(sequencerType, outputNode);
 
@@ -475,7 +491,9 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
 
                     // Adds the identifier to the running sequencers to indicate work has been done and need to
                     // wait for the event to run through before proclaiming eveything is complete
-                    runningSequencers.add(seqPropId);
+                    synchronized (sequencingLock) {
+                        runningSequencers.add(seqPropId);
+                    }
 
                     try {
                         analyseSequencerResults(sequencerType, seqOutputNode);
@@ -483,6 +501,10 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                         // Save this session
                         seqSession.save();
                     }
+
+                    ChangeFeed feed = changeFeed;
+                    if (feed != null)
+                        feed.sequenced(seqOutputNode.getPath(), seqOutputNode.getPrimaryNodeType().getName(), userId);
                 }
             }
 
@@ -510,14 +532,42 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
         return outputNode;
     }
 
-    private void sequence(SequencerType sequencerType, Property property, String eventId) throws Exception {
-        sequencingActive = true;
+    private void sequence(SequencerType sequencerType, Property property, String eventId, String userId) throws Exception {
+        synchronized (sequencingLock) {
+            sequencingActive = true;
+        }
 
         Node outputNode = property.getParent();
 
         outputNode = sequencedOutput(sequencerType, outputNode);
 
-        sequence(sequencerType, property, outputNode, eventId);
+        sequence(sequencerType, property, outputNode, eventId, userId);
+    }
+
+    /**
+     * Sessions may be committed concurrently so the sequencers still running for one commit must not hold back the
+     * notification of another.
+     *
+     * Must be called holding the sequencing lock.
+     *
+     * @param eventUserData the user data of the current set of events
+     * @return <code>true</code> if sequencers started by the commit owning the user data are still running
+     */
+    private boolean isSequencing(String eventUserData) {
+        if (eventUserData == null)
+            return ! runningSequencers.isEmpty();
+
+        for (KSequencerListener listener : listeners) {
+            if (! eventUserData.startsWith(listener.id()))
+                continue;
+
+            for (String id : runningSequencers) {
+                if (id.startsWith(listener.id()))
+                    return true;
+            }
+        }
+
+        return false;
     }
 
     private void notifySequencerCompletion(String eventUserData) {
@@ -538,6 +588,16 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
         }
     }
 
+    private void notifyChangesSaved(String eventUserData, int nodeCount) {
+        if (eventUserData == null)
+            return;
+
+        for (KSequencerListener listener : listeners) {
+            if (eventUserData.startsWith(listener.id()))
+                listener.changesSaved(nodeCount);
+        }
+    }
+
     private void notifySequencerError(String eventUserData, Exception exception) {
         Iterator<KSequencerListener> iterator = listeners.iterator();
         while (iterator.hasNext()) {
@@ -564,6 +624,7 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
         try {
             int eventNo = 0;
             int systemEvents = 0;
+            Set<String> changedNodes = new HashSet<>();
             while (events.hasNext()) {
                 eventNo++;
 
@@ -582,6 +643,14 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                     continue;
                 }
 
+                //
+                // Count the nodes touched by this set of events, a property event touching the node owning the property
+                //
+                if ((event.getType() & (Event.NODE_ADDED | Event.NODE_MOVED | Event.NODE_REMOVED)) != 0)
+                    changedNodes.add(eventPath);
+                else if ((event.getType() & (Event.PROPERTY_ADDED | Event.PROPERTY_CHANGED | Event.PROPERTY_REMOVED)) != 0)
+                    changedNodes.add(eventPath.substring(0, Math.max(1, eventPath.lastIndexOf(FORWARD_SLASH))));
+
                 switch (event.getType()) {
                     case Event.NODE_ADDED:
                     case Event.NODE_MOVED:
@@ -608,7 +677,7 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                         if (sequencerType == null)
                             continue;
 
-                        sequence(sequencerType, property, eventUserData);
+                        sequence(sequencerType, property, eventUserData, event.getUserID());
                         continue;
                     }
                     case Event.PROPERTY_REMOVED:
@@ -656,7 +725,15 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                 return;
             }
 
-            if (! sequencingActive) {
+            notifyChangesSaved(eventUserData, changedNodes.size());
+
+            boolean completed;
+
+            synchronized (sequencingLock) {
+                completed = ! sequencingActive;
+            }
+
+            if (completed) {
                 notifySequencerCompletion(eventUserData);
                 return; // No sequencers started so nothing further to do
             }
@@ -668,32 +745,29 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
             // If this set of events has a user-data object, try removing it from runningSequencers
             // since this confirms that this set of events is the completion of that particular sequencer.
             //
-            if (eventUserData != null) {
-                boolean removed = runningSequencers.remove(eventUserData);
-                if (removed)
-                    KLog.getLogger().debug("Sequencer with id " + eventUserData + " has completed"); //$NON-NLS-1$ //$NON-NLS-2$
-            }
+            synchronized (sequencingLock) {
+                if (eventUserData != null) {
+                    boolean removed = runningSequencers.remove(eventUserData);
+                    if (removed)
+                        KLog.getLogger().debug("Sequencer with id " + eventUserData + " has completed"); //$NON-NLS-1$ //$NON-NLS-2$
+                }
 
-            //
-            // Determine if runningSequencers is empty. This can happen if
-            // a) no sequencers had been running (in which case sequencingActive would be false)
-            // b) the last sequencer identifier has been removed
-            //
-            if (runningSequencers.isEmpty()) {
                 //
-                // All sequencers have completed so reset sequencingActive
+                // Determine if the sequencers started for this commit have completed. This can happen if
+                // a) no sequencers had been running for this commit
+                // b) the last sequencer identifier of this commit has been removed
                 //
-                sequencingActive = false;
-
-                //
-                // Notify clients that sequencing has completed
-                //
-                notifySequencerCompletion(eventUserData);
-            } else {
-                //
-                // Still sequencers are currently executing
-                //
-                if (KLog.getLogger().isDebugEnabled()) {
+                completed = ! isSequencing(eventUserData);
+
+                if (completed) {
+                    //
+                    // Reset sequencingActive if all sequencers have completed
+                    //
+                    sequencingActive = ! runningSequencers.isEmpty();
+                } else if (KLog.getLogger().isDebugEnabled()) {
+                    //
+                    // Still sequencers are currently executing
+                    //
                     StringBuffer buffer = new StringBuffer("Current Sequencing Train: "); //$NON-NLS-1$
                     for (String id : runningSequencers)
                         buffer.append(id).append(TAB);
@@ -701,9 +775,19 @@ public class KSequencers implements StringConstants, EventListener, KSequencerCo
                     KLog.getLogger().debug(buffer.toString());
                 }
             }
+
+            if (completed) {
+                //
+                // Notify clients that sequencing has completed
+                //
+                notifySequencerCompletion(eventUserData);
+            }
         } catch (Throwable t) {
-            sequencingActive = false;
-            runningSequencers.clear();
+            synchronized (sequencingLock) {
+                sequencingActive = false;
+                runningSequencers.clear();
+            }
+
             Exception ex;
             if (t instanceof Exception)
                 ex = (Exception) t;
@@ -27,27 +27,43 @@ import java.io.FileWriter;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.Session;
+import javax.transaction.Status;
+import javax.transaction.TransactionManager;
+import org.infinispan.Cache;
 import org.infinispan.commons.util.FileLookupFactory;
 import org.infinispan.commons.util.StringPropertyReplacer;
 import org.infinispan.schematic.document.EditableDocument;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.Address;
 import org.infinispan.schematic.document.Editor;
 import org.komodo.core.KEngine;
 import org.komodo.core.KomodoLexicon.Environment;
 import org.komodo.core.KomodoLexicon.Komodo;
+import org.komodo.repository.CacheMetrics;
+import org.komodo.repository.IndexRegistry;
 import org.komodo.repository.KSequencerController;
 import org.komodo.repository.KSequencerListener;
 import org.komodo.repository.Messages;
 import org.komodo.repository.RepositoryImpl;
 import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.ClearListener;
+import org.komodo.spi.repository.RepositoryChangeListener;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.KLog;
 import org.modeshape.common.collection.Problem;
@@ -59,6 +75,14 @@ import org.modeshape.jcr.RepositoryConfiguration.FieldName;
 
 /**
  * The thread the ModeShape engine uses for local repositories.
+ * <p>
+ * Lifecycle requests (start, stop and clear) are run by this thread. Session requests are run by a fixed number of worker
+ * threads. A session request is routed to a worker using its {@link Request#getPartitionKey() partition key} (normally the
+ * user name) so requests with the same key are always run in the order they were accepted. Before a lifecycle request is
+ * run every worker is paused, so all session requests accepted before it have completed and those accepted after it wait
+ * until it has finished.
+ *
+ * @see SystemConstants#ENGINE_WORKERS
  */
 public class ModeshapeEngineThread extends Thread implements StringConstants {
 
@@ -137,6 +161,8 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
         private RequestCallback callback;
 
+        private final String partitionKey;
+
         /**
          * @param requestType
          *        type of request (cannot be <code>null</code>)
@@ -145,9 +171,31 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
          */
         public Request( RequestType requestType,
                         RequestCallback callback ) {
+            this(requestType, callback, null);
+        }
+
+        /**
+         * @param requestType
+         *        type of request (cannot be <code>null</code>)
+         * @param callback
+         *        callback for execution after change of engine state (can be <code>null</code>)
+         * @param partitionKey
+         *        the key used to route a session request to a worker, normally the user name (can be <code>null</code>)
+         */
+        public Request( RequestType requestType,
+                        RequestCallback callback,
+                        String partitionKey ) {
             ArgCheck.isNotNull(requestType, "requestType"); //$NON-NLS-1$
             this.requestType = requestType;
             this.callback = callback;
+            this.partitionKey = partitionKey;
+        }
+
+        /**
+         * @return the key used to route the request to a worker (can be <code>null</code>)
+         */
+        public String getPartitionKey() {
+            return this.partitionKey;
         }
 
         /**
@@ -165,6 +213,33 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         }
     }
 
+    /**
+     * A request to clear the content of the repository.
+     */
+    public static class ClearRequest extends Request {
+
+        private final ClearListener listener;
+
+        /**
+         * @param callback
+         *        the callback (can be <code>null</code>)
+         * @param listener
+         *        the listener notified as each subtree is removed (can be <code>null</code>)
+         */
+        public ClearRequest( final RequestCallback callback,
+                             final ClearListener listener ) {
+            super(RequestType.CLEAR, callback);
+            this.listener = listener;
+        }
+
+        /**
+         * @return the listener notified as each subtree is removed (can be <code>null</code>)
+         */
+        public ClearListener getListener() {
+            return this.listener;
+        }
+    }
+
     /**
      * A request to save or rollback a session.
      */
@@ -173,6 +248,12 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         private final String name;
         private final Session session;
 
+        // phase timestamps of a commit request, see TransactionMetrics
+        private final long requestedAt = System.nanoTime();
+        private volatile long startedAt;
+        private volatile long savedAt;
+        private final AtomicInteger nodeCount = new AtomicInteger();
+
         /**
          * @param requestType
          *        the request type (cannot be <code>null</code> and must be a {@link SessionRequest session request}.
@@ -187,7 +268,27 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
                                final RequestCallback callback,
                                final Session requestSession,
                                final String requestName ) {
-            super(requestType, callback);
+            this(requestType, callback, requestSession, requestName, null);
+        }
+
+        /**
+         * @param requestType
+         *        the request type (cannot be <code>null</code> and must be a {@link SessionRequest session request}.
+         * @param callback
+         *        the callback (can be <code>null</code>)
+         * @param requestSession
+         *        the session the request pertains to (cannot be <code>null</code>)
+         * @param requestName
+         *        a name given to the request for logging purposes
+         * @param partitionKey
+         *        the key used to route the request to a worker, normally the user name (can be <code>null</code>)
+         */
+        public SessionRequest( final RequestType requestType,
+                               final RequestCallback callback,
+                               final Session requestSession,
+                               final String requestName,
+                               final String partitionKey ) {
+            super(requestType, callback, partitionKey);
 
             ArgCheck.isTrue(RequestType.isSessionRequest(requestType), "request type is not a session request"); //$NON-NLS-1$
             ArgCheck.isNotNull(requestSession, "requestSession"); //$NON-NLS-1$
@@ -205,13 +306,198 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
             return this.session;
         }
 
+        /**
+         * @return the {@link System#nanoTime() time} the request was made
+         */
+        public long getRequestedAt() {
+            return this.requestedAt;
+        }
+
+        /**
+         * @return the {@link System#nanoTime() time} a worker started the request or zero if not started
+         */
+        public long getStartedAt() {
+            return this.startedAt;
+        }
+
+        /**
+         * @return the {@link System#nanoTime() time} the session of a commit request was saved or zero if not saved
+         */
+        public long getSavedAt() {
+            return this.savedAt;
+        }
+
+        /**
+         * @return the number of nodes changed by a commit request, including those changed by the sequencers
+         */
+        public int getNodeCount() {
+            return this.nodeCount.get();
+        }
+
+    }
+
+    /**
+     * Wraps a lifecycle request. Every worker stops at the barrier until the lifecycle request has been run.
+     */
+    private static class Barrier extends Request {
+
+        private final Request request;
+        private final CountDownLatch arrived;
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        Barrier( final Request request,
+                 final int parties ) {
+            super(request.getRequestType(), request.getCallback());
+            this.request = request;
+            this.arrived = new CountDownLatch(parties);
+        }
+
+        void arrive() throws InterruptedException {
+            this.arrived.countDown();
+            this.released.await();
+        }
+
+        boolean awaitArrival( final long timeout,
+                              final TimeUnit unit ) throws InterruptedException {
+            return this.arrived.await(timeout, unit);
+        }
+
+        Request getRequest() {
+            return this.request;
+        }
+
+        void release() {
+            this.released.countDown();
+        }
+
+    }
+
+    /**
+     * Runs the session requests of one partition in the order they were accepted.
+     */
+    private class SessionWorker extends Thread {
+
+        private final BlockingQueue< Request > requests = new LinkedBlockingQueue< Request >();
+
+        // a request taken from the queue while collecting a group commit
+        private Request deferred;
+
+        SessionWorker( final int index ) {
+            super("Modeshape Engine Worker " + index); //$NON-NLS-1$
+            setDaemon(true);
+        }
+
+        void accept( final Request request ) throws InterruptedException {
+            this.requests.put(request);
+        }
+
+        /**
+         * Collects the commit requests that arrive within the group commit window.
+         *
+         * @param first
+         *        the commit request that opens the group (cannot be <code>null</code>)
+         * @return the commit requests in the order they were accepted (never <code>null</code> or empty)
+         * @throws InterruptedException
+         *         if interrupted while waiting for a request
+         */
+        private List< Request > drainCommits( final Request first ) throws InterruptedException {
+            final List< Request > batch = new ArrayList< Request >();
+            batch.add(first);
+
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(groupCommitWindow);
+
+            while (batch.size() < groupCommitMaxSize) {
+                final long remaining = deadline - System.nanoTime();
+                final Request next = ((remaining > 0) ? this.requests.poll(remaining, TimeUnit.NANOSECONDS)
+                                                      : this.requests.poll());
+
+                if (next == null) {
+                    break;
+                }
+
+                if (next.getRequestType() != RequestType.COMMIT_SESSION) {
+                    // keep request order by running it after the group
+                    this.deferred = next;
+                    break;
+                }
+
+                batch.add(next);
+            }
+
+            return batch;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Request request = null;
+
+                try {
+                    if (this.deferred == null) {
+                        request = this.requests.take();
+                    } else {
+                        request = this.deferred;
+                        this.deferred = null;
+                    }
+
+                    if (request instanceof Barrier) {
+                        ((Barrier)request).arrive();
+
+                        if (request.getRequestType() == RequestType.STOP) {
+                            return;
+                        }
+
+                        continue;
+                    }
+
+                    switch (request.getRequestType()) {
+                        case CREATE_SESSION:
+                            createSession(request);
+                            break;
+                        case COMMIT_SESSION:
+                            if (groupCommitWindow > 0) {
+                                commitSessions(drainCommits(request));
+                            } else {
+                                commitSession(request);
+                            }
+                            break;
+                        case ROLLBACK_SESSION:
+                            rollbackSession(request, null);
+                            break;
+                        default:
+                            break;
+                    }
+                } catch (final InterruptedException e) {
+                    return;
+                } catch (final Exception e) {
+                    // keep the worker alive so the other requests of this partition are still processed
+                    KEngine.getInstance().getErrorHandler().error(Messages.getString(Messages.LocalRepository.General_Exception), e);
+                    errorCallback(request, e);
+                }
+            }
+        }
+
     }
 
-    private final static ModeShapeEngine msEngine = new ModeShapeEngine();
     private static final KLog LOGGER = KLog.getLogger();
 
+    /**
+     * The cache profile used when none is specified.
+     *
+     * @see SystemConstants#CACHE_PROFILE
+     */
+    private static final String DEFAULT_CACHE_PROFILE = "medium"; //$NON-NLS-1$
+
     private BlockingQueue< Request > queue = new LinkedBlockingQueue< Request >();
 
+    private final SessionWorker[] workers;
+
+    private final long groupCommitWindow;
+
+    private final int groupCommitMaxSize;
+
+    private volatile TransactionManager transactionManager;
+
     private volatile boolean stop = false;
 
     private volatile Exception error = null;
@@ -222,6 +508,29 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
     private KSequencerController sequencers;
 
+    private volatile ReadSessionPool readSessionPool;
+
+    private volatile RepositoryChangeListener changeListener;
+
+    private volatile ChangeFeed.CommitListener commitListener;
+
+    private volatile String watchedPath;
+
+    private volatile ChangeFeed changeFeed;
+
+    private volatile IndexRegistry indexRegistry;
+
+    private volatile String cacheName;
+
+    // each engine thread runs its own ModeShape engine so several repositories can run in one JVM
+    private final ModeShapeEngine msEngine = new ModeShapeEngine();
+
+    private volatile EngineEnvironment environment;
+
+    private volatile String cacheConfiguration;
+
+    private volatile String cacheProfile;
+
     /**
      * Create this thread and give it a name
      *
@@ -233,6 +542,78 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         this.repoId = repoId;
         this.identifier = new WorkspaceIdentifier(repoId.getWorkspaceName());
         setDaemon(true);
+
+        final int workerCount = Math.max(1, Integer.getInteger(SystemConstants.ENGINE_WORKERS,
+                                                               Runtime.getRuntime().availableProcessors()));
+        this.workers = new SessionWorker[workerCount];
+
+        for (int i = 0; i < workerCount; ++i) {
+            this.workers[i] = new SessionWorker(i);
+        }
+
+        this.groupCommitWindow = Math.max(0L, Long.getLong(SystemConstants.GROUP_COMMIT_WINDOW, 0L));
+        this.groupCommitMaxSize = Math.max(1, Integer.getInteger(SystemConstants.GROUP_COMMIT_MAX_SIZE, 32));
+    }
+
+    /**
+     * The committed changes are only translated while a listener is set.
+     *
+     * @param changeListener
+     *        the listener sent the changes made by each commit or <code>null</code> if nothing is listening
+     */
+    public void setChangeListener( final RepositoryChangeListener changeListener ) {
+        this.changeListener = changeListener;
+        final ChangeFeed feed = this.changeFeed;
+
+        if ( feed != null ) {
+            feed.setListener( changeListener );
+        }
+    }
+
+    /**
+     * Must be set before the engine is started.
+     *
+     * @param commitListener
+     *        the listener told the ids and watched paths written by each commit (can be <code>null</code>)
+     * @param watchedPath
+     *        the path whose changes are reported to the commit listener (can be <code>null</code>)
+     */
+    public void setCommitListener( final ChangeFeed.CommitListener commitListener,
+                                   final String watchedPath ) {
+        this.commitListener = commitListener;
+        this.watchedPath = watchedPath;
+    }
+
+    /**
+     * Must be set before the engine is started.
+     *
+     * @param indexRegistry
+     *        the registry whose indexes are provisioned when the engine starts (can be <code>null</code>)
+     */
+    public void setIndexRegistry( final IndexRegistry indexRegistry ) {
+        this.indexRegistry = indexRegistry;
+    }
+
+    private SessionWorker worker( final Request request ) {
+        final String key = request.getPartitionKey();
+
+        if (key == null) {
+            return this.workers[0];
+        }
+
+        return this.workers[(key.hashCode() & Integer.MAX_VALUE) % this.workers.length];
+    }
+
+    private boolean awaitWorkers( final Barrier barrier ) throws InterruptedException {
+        while (!barrier.awaitArrival(1, TimeUnit.SECONDS)) {
+            for (final SessionWorker worker : this.workers) {
+                if (!worker.isAlive()) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
     }
 
     private void respondCallback(final Request request, Object result) {
@@ -244,7 +625,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
     }
 
     private void errorCallback(final Request request, Throwable e) {
-        if (request.getCallback() != null) {
+        if ((request != null) && (request.getCallback() != null)) {
             request.getCallback().errorOccurred(e);
         }
     }
@@ -257,104 +638,279 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         session.logout();
     }
 
-    private synchronized void commitSession( final Request request ) {
+    /**
+     * Registers the sequencer listener that responds to the callback once the session has been saved.
+     *
+     * @param request
+     *        the commit request (cannot be <code>null</code>)
+     * @return the listener or <code>null</code> if the session had nothing to save and the callback has been responded to
+     * @throws Exception
+     *         if an error occurs
+     */
+    private KSequencerListener prepareCommit( final Request request ) throws Exception {
         ArgCheck.isTrue(request.getRequestType() == RequestType.COMMIT_SESSION,
                         "commitSession called when request is not a commit session"); //$NON-NLS-1$
         final SessionRequest commitRequest = (SessionRequest)request;
         final Session session = commitRequest.getSession();
         final String commitRequestId = commitRequest.getName() + HYPHEN + session.hashCode();
+        commitRequest.startedAt = System.nanoTime();
 
         LOGGER.debug("commit session for request {0}", commitRequest.getName()); //$NON-NLS-1$
 
-        KSequencerListener sequencerListener = null;
-        try {
-            //
-            // Only bother to save if we actually have changes to save
-            //
-            if (! session.hasPendingChanges()) {
+        //
+        // Only bother to save if we actually have changes to save
+        //
+        if (! session.hasPendingChanges()) {
+            try {
+                respondCallback(request, null);
+            } finally {
+                logoutSession(session);
+            }
+            return null;
+        }
+
+        //
+        // If the request has been flagged to await the completion of the sequencers
+        // then attach a listener to the sequencers controller class, which will be responsible
+        // for responding to the callback and finalising the session.
+        //
+        final KSequencerListener sequencerListener = new KSequencerListener() {
+
+            private boolean aborted = false;
+
+            @Override
+            public String id() {
+                return commitRequestId;
+            }
+
+            @Override
+            public Session session() {
+                return session;
+            }
+
+            @Override
+            public void changesSaved( final int nodeCount ) {
+                commitRequest.nodeCount.addAndGet( nodeCount );
+            }
+
+            @Override
+            public void sequencingCompleted() {
+                LOGGER.debug("Sequencers completed. Calling request callback"); //$NON-NLS-1$
                 try {
+                    if (aborted) {
+                        //
+                        // Sequencing listener told to abort regardless of the sequencing completion
+                        // Should occur only if parent tx has thrown an exception and it will take care
+                        // of informing the callback.
+                        //
+                        return;
+                    }
+
                     respondCallback(request, null);
                 } finally {
                     logoutSession(session);
                 }
+            }
+
+            @Override
+            public void sequencingError(Exception exception) {
+                try {
+                    LOGGER.debug(Messages.getString(Messages.Komodo.SEQUENCING_ERROR_TRYING_TO_COMMIT, exception, commitRequest.getName()));
+                    errorCallback(request, exception);
+                } finally {
+                    logoutSession(session);
+                }
+            }
+
+            @Override
+            public void abort() {
+                this.aborted = true;
+            }
+        };
+
+        sequencers.addSequencerListener(sequencerListener);
+        return sequencerListener;
+    }
+
+    private void failCommit( final Request request,
+                             final KSequencerListener sequencerListener,
+                             final Throwable e ) {
+        if (sequencerListener != null) {
+            //
+            // Want to rollback session rather than respond normally
+            // so signal to listener to abort
+            //
+            sequencerListener.abort();
+        }
+
+        request.requestType = RequestType.ROLLBACK_SESSION;
+        LOGGER.error(Messages.getString(Messages.Komodo.ERROR_TRYING_TO_COMMIT, e, ((SessionRequest)request).getName()));
+        rollbackSession(request, e);
+    }
+
+    private void commitSession( final Request request ) {
+        KSequencerListener sequencerListener = null;
+        try {
+            sequencerListener = prepareCommit(request);
+
+            if (sequencerListener == null) {
                 return;
             }
 
             //
-            // If the request has been flagged to await the completion of the sequencers
-            // then attach a listener to the sequencers controller class, which will be responsible
-            // for responding to the callback and finalising the session.
+            // Save the session
             //
-            sequencerListener = new KSequencerListener() {
+            ((SessionRequest)request).getSession().save();
+            ((SessionRequest)request).savedAt = System.nanoTime();
 
-                private boolean aborted = false;
+            LOGGER.debug("commit session request {0} has been saved", ((SessionRequest)request).getName()); //$NON-NLS-1$
 
-                @Override
-                public String id() {
-                    return commitRequestId;
-                }
+        } catch (final Throwable e) {
+            failCommit(request, sequencerListener, e);
+        }
+    }
 
-                @Override
-                public Session session() {
-                    return session;
-                }
+    /**
+     * @return the cache holding the repository content or <code>null</code> if the engine is not running
+     */
+    private Cache< ?, ? > contentCache() {
+        final EngineEnvironment env = this.environment;
+        final EmbeddedCacheManager manager = ((env == null) ? null : env.getCacheManager(this.cacheConfiguration));
 
-                @Override
-                public void sequencingCompleted() {
-                    LOGGER.debug("Sequencers completed. Calling request callback"); //$NON-NLS-1$
-                    try {
-                        if (aborted) {
-                            //
-                            // Sequencing listener told to abort regardless of the sequencing completion
-                            // Should occur only if parent tx has thrown an exception and it will take care
-                            // of informing the callback.
-                            //
-                            return;
-                        }
+        if ((manager == null) || (this.cacheName == null)) {
+            return null;
+        }
+
+        return manager.getCache(this.cacheName, false);
+    }
+
+    /**
+     * @return the transaction manager the content cache enlists in or <code>null</code> if the cache is not transactional
+     */
+    private TransactionManager transactionManager() {
+        if (this.transactionManager == null) {
+            final Cache< ?, ? > cache = contentCache();
+
+            if (cache != null) {
+                this.transactionManager = cache.getAdvancedCache().getTransactionManager();
+            }
+
+            if (this.transactionManager == null) {
+                LOGGER.debug("group commit disabled as cache {0} has no transaction manager", this.cacheName); //$NON-NLS-1$
+            }
+        }
+
+        return this.transactionManager;
+    }
+
+    /**
+     * Saves a group of sessions in one cache transaction so the store is written once for the whole group. Each request
+     * is still responded to by its own sequencer listener. The transaction is the one of the content cache so a session
+     * saved within it is only written to the store when the whole group commits.
+     * <p>
+     * A save rejected before it writes anything, such as one breaking a node type constraint, only fails its own request
+     * and the rest of the group carries on. If a save leaves the transaction unusable, or the commit fails, the transaction
+     * is rolled back and every request of the group is then saved on its own, so each callback still gets its own result.
+     *
+     * @param batch
+     *        the commit requests in the order they were accepted (cannot be <code>null</code>)
+     */
+    private void commitSessions( final List< Request > batch ) {
+        final TransactionManager txMgr = ((batch.size() == 1) ? null : transactionManager());
+
+        if (txMgr == null) {
+            for (final Request request : batch) {
+                commitSession(request);
+            }
+
+            return;
+        }
 
-                        respondCallback(request, null);
-                    } finally {
-                        logoutSession(session);
+        final Map< Request, KSequencerListener > saved = new LinkedHashMap< Request, KSequencerListener >();
+        int handled = 0;
+
+        try {
+            txMgr.begin();
+
+            for (final Request request : batch) {
+                ++handled;
+                KSequencerListener sequencerListener = null;
+
+                try {
+                    sequencerListener = prepareCommit(request);
+
+                    if (sequencerListener == null) {
+                        continue;
                     }
-                }
 
-                @Override
-                public void sequencingError(Exception exception) {
-                    try {
-                        LOGGER.debug(Messages.getString(Messages.Komodo.SEQUENCING_ERROR_TRYING_TO_COMMIT, exception, commitRequest.getName()));
-                        errorCallback(request, exception);
-                    } finally {
-                        logoutSession(session);
+                    ((SessionRequest)request).getSession().save();
+                    saved.put(request, sequencerListener);
+                } catch (final Throwable e) {
+                    failCommit(request, sequencerListener, e);
+
+                    if (txMgr.getStatus() != Status.STATUS_ACTIVE) {
+                        throw e;
                     }
                 }
+            }
+
+            txMgr.commit();
+
+            final long savedAt = System.nanoTime();
 
-                @Override
-                public void abort() {
-                    this.aborted = true;
+            for (final Request request : saved.keySet()) {
+                ((SessionRequest)request).savedAt = savedAt;
+            }
+
+            LOGGER.debug("group commit of {0} requests has been saved", batch.size()); //$NON-NLS-1$
+        } catch (final Throwable e) {
+            LOGGER.debug("group commit of {0} requests failed, saving them one by one", batch.size()); //$NON-NLS-1$
+
+            try {
+                if (txMgr.getStatus() != Status.STATUS_NO_TRANSACTION) {
+                    txMgr.rollback();
                 }
-            };
+            } catch (final Exception ex) {
+                LOGGER.error(Messages.getString(Messages.LocalRepository.General_Exception), ex);
+            }
 
-            sequencers.addSequencerListener(sequencerListener);
+            for (final Map.Entry< Request, KSequencerListener > entry : saved.entrySet()) {
+                resave(entry.getKey(), entry.getValue(), e);
+            }
 
-            //
-            // Save the session
-            //
-            session.save();
+            for (final Request request : batch.subList(handled, batch.size())) {
+                commitSession(request);
+            }
+        }
+    }
 
-            LOGGER.debug("commit session request {0} has been saved", commitRequest.getName()); //$NON-NLS-1$
+    /**
+     * Saves on its own a session whose save was rolled back with its group. Its sequencer listener is already registered.
+     *
+     * @param request
+     *        the commit request (cannot be <code>null</code>)
+     * @param sequencerListener
+     *        the listener registered when the request joined the group (cannot be <code>null</code>)
+     * @param groupError
+     *        the error that rolled back the group (cannot be <code>null</code>)
+     */
+    private void resave( final Request request,
+                         final KSequencerListener sequencerListener,
+                         final Throwable groupError ) {
+        final SessionRequest commitRequest = (SessionRequest)request;
 
-        } catch (final Throwable e) {
-            if (sequencerListener != null) {
-                //
-                // Want to rollback session rather than respond normally
-                // so signal to listener to abort
-                //
-                sequencerListener.abort();
+        try {
+            if (!commitRequest.getSession().hasPendingChanges()) {
+                // the changes went with the rolled back transaction so they can not be saved again
+                failCommit(request, sequencerListener, groupError);
+                return;
             }
 
-            request.requestType = RequestType.ROLLBACK_SESSION;
-            LOGGER.error(Messages.getString(Messages.Komodo.ERROR_TRYING_TO_COMMIT, e, commitRequest.getName()));
-            rollbackSession(request, e);
+            commitRequest.getSession().save();
+            commitRequest.savedAt = System.nanoTime();
+            LOGGER.debug("commit session request {0} has been saved", commitRequest.getName()); //$NON-NLS-1$
+        } catch (final Throwable e) {
+            failCommit(request, sequencerListener, e);
         }
     }
 
@@ -366,6 +922,66 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
                     ModeshapeUtils.isRepositoryRunning(identifier.getRepository());
     }
 
+    /**
+     * @return the pool of sessions used by read-only transactions or <code>null</code> if the engine is not running or
+     *         pooling has been disabled
+     * @see SystemConstants#READ_SESSION_POOL_SIZE
+     */
+    public ReadSessionPool getReadSessionPool() {
+        return this.readSessionPool;
+    }
+
+    /**
+     * @return the addresses of the members of the cluster the content cache belongs to or <code>null</code> if the engine is
+     *         not running or the cache is not clustered
+     */
+    public List< String > getClusterMembers() {
+        final Cache< ?, ? > cache = (isRunning() ? contentCache() : null);
+        final List< Address > members = ((cache == null) ? null : cache.getCacheManager().getMembers());
+
+        if (members == null) {
+            return null;
+        }
+
+        final List< String > result = new ArrayList< String >(members.size());
+
+        for (final Address member : members) {
+            result.add(member.toString());
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the address of this engine in the cluster the content cache belongs to or <code>null</code> if the engine is
+     *         not running or the cache is not clustered
+     */
+    public String getClusterAddress() {
+        final Cache< ?, ? > cache = (isRunning() ? contentCache() : null);
+        final Address address = ((cache == null) ? null : cache.getCacheManager().getAddress());
+        return ((address == null) ? null : address.toString());
+    }
+
+    /**
+     * @return the statistics of the cache holding the repository content or <code>null</code> if the engine is not running
+     *         or the cache does not keep statistics
+     */
+    public CacheMetrics getCacheMetrics() {
+        if (!isRunning()) {
+            return null;
+        }
+
+        final Cache< ?, ? > cache = contentCache();
+        return ((cache == null) ? null : CacheMetrics.find(cache, this.cacheProfile));
+    }
+
+    /**
+     * @return an object that backs up and restores the workspace on the calling thread (never <code>null</code>)
+     */
+    public RepositoryBackup createBackup() {
+        return new RepositoryBackup( this.identifier );
+    }
+
     /**
      * @return any error that may have occurred when the run method threw an error
      */
@@ -373,7 +989,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         return this.error;
     }
 
-    private synchronized void rollbackSession( final Request request, Throwable error) {
+    private void rollbackSession( final Request request, Throwable error) {
         ArgCheck.isTrue(request.getRequestType() == RequestType.ROLLBACK_SESSION,
                         "rollbackSession called when request is not a rollback session"); //$NON-NLS-1$
         final SessionRequest rollbackRequest = (SessionRequest)request;
@@ -408,10 +1024,48 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
      */
     private RepositoryConfiguration initialiseRepositoryConfiguration(URL configUrl) throws Exception {
         RepositoryConfiguration config = RepositoryConfiguration.read(configUrl);
+
+        //
+        // The shipped configurations leave the event journal switched off so that commits do not also write to it
+        //
+        if (Boolean.getBoolean(SystemConstants.JOURNALING) && !config.getJournaling().isEnabled()) {
+            Editor editor = config.edit();
+            editor.getOrCreateDocument(FieldName.JOURNALING).setBoolean(FieldName.JOURNAL_ENABLED, true);
+            config = new RepositoryConfiguration(editor, config.getName());
+            LOGGER.debug("ModeshapeEngineThread: journaling enabled for {0}", config.getName()); //$NON-NLS-1$
+        }
+
+        this.cacheName = config.getCacheName();
+        this.cacheProfile = null;
+
         if (config.getCacheConfiguration() == null)
             return config; // No cache configuration specified so nothing to do
 
-        InputStream cacheConfigStream = FileLookupFactory.newInstance().lookupFileStrict(config.getCacheConfiguration(), Thread.currentThread().getContextClassLoader());
+        //
+        // Use the variant of the cache configuration for the selected profile if there is one
+        //
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final String requestedProfile = System.getProperty(SystemConstants.CACHE_PROFILE);
+        final String profile = ((requestedProfile == null) ? DEFAULT_CACHE_PROFILE : requestedProfile);
+        final String profileConfig = config.getCacheConfiguration().replaceFirst("\\.xml$", HYPHEN + profile + DOT + XML); //$NON-NLS-1$
+        InputStream cacheConfigStream = FileLookupFactory.newInstance().lookupFile(profileConfig, loader);
+
+        if (cacheConfigStream == null) {
+            // configurations without profiles use their own cache configuration but a profile that was asked for should exist
+            if (requestedProfile == null) {
+                LOGGER.debug("ModeshapeEngineThread: no {0} cache profile for {1}", profile, config.getCacheConfiguration()); //$NON-NLS-1$
+            } else {
+                LOGGER.warn(Messages.getString(Messages.LocalRepository.Unknown_Cache_Profile,
+                                               requestedProfile,
+                                               config.getCacheConfiguration()));
+            }
+
+            cacheConfigStream = FileLookupFactory.newInstance().lookupFileStrict(config.getCacheConfiguration(), loader);
+        } else {
+            LOGGER.debug("ModeshapeEngineThread: using cache configuration {0}", profileConfig); //$NON-NLS-1$
+            this.cacheProfile = profile;
+        }
+
         if (cacheConfigStream == null)
             return config; // Cannot find the file so not much point in going further
 
@@ -480,8 +1134,11 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
             // start the ModeShape Engine
             msEngine.start();
 
-            // start the local repository
-            final RepositoryConfiguration config = initialiseRepositoryConfiguration(this.repoId.getConfiguration());
+            // start the local repository in an environment that keeps the cache manager it creates
+            this.environment = new EngineEnvironment();
+            this.transactionManager = null;
+            final RepositoryConfiguration config = initialiseRepositoryConfiguration(this.repoId.getConfiguration()).with(this.environment);
+            this.cacheConfiguration = config.getCacheConfiguration();
 
             //
             // Validate the configuration for any errors
@@ -534,8 +1191,35 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
             // Await the start of the repository
             startRepository.get(5, TimeUnit.MINUTES);
 
+            // Provision the indexes not defined by the repository configuration
+            if ( this.indexRegistry != null ) {
+                final Session session = ModeshapeUtils.createSession( identifier );
+
+                try {
+                    this.indexRegistry.provision( session );
+                } finally {
+                    session.logout();
+                }
+            }
+
             // Add the sequencing listener
-            sequencers = new KSequencers( identifier );
+            final KSequencers kSequencers = new KSequencers( identifier );
+            sequencers = kSequencers;
+
+            // Translate the observation events into repository changes
+            final ChangeFeed feed = new ChangeFeed( identifier, this.commitListener, this.watchedPath );
+            this.changeFeed = feed;
+            feed.setListener( this.changeListener );
+            kSequencers.setChangeFeed( feed );
+
+            // Pre-create the sessions handed out to read-only transactions
+            final int poolSize = Integer.getInteger( SystemConstants.READ_SESSION_POOL_SIZE, ReadSessionPool.DEFAULT_SIZE );
+
+            if ( poolSize > 0 ) {
+                final ReadSessionPool pool = new ReadSessionPool( identifier, poolSize );
+                pool.fill();
+                this.readSessionPool = pool;
+            }
 
             respondCallback(request, null);
         } catch (Throwable ex) {
@@ -546,6 +1230,28 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
     private synchronized void stopEngine(Request request) {
         try {
+            if (this.readSessionPool != null) {
+                this.readSessionPool.dispose();
+                this.readSessionPool = null;
+            }
+
+            if (this.indexRegistry != null) {
+                LOGGER.debug("ModeshapeEngineThread.stopEngine: {0}", this.indexRegistry); //$NON-NLS-1$
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                final CacheMetrics cacheMetrics = getCacheMetrics();
+
+                if (cacheMetrics != null) {
+                    LOGGER.debug("ModeshapeEngineThread.stopEngine: {0}", cacheMetrics); //$NON-NLS-1$
+                }
+            }
+
+            if (this.changeFeed != null) {
+                this.changeFeed.dispose();
+                this.changeFeed = null;
+            }
+
             if (sequencers != null) {
                 sequencers.dispose();
                 sequencers = null;
@@ -555,6 +1261,13 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
             // Await the shutdown
             shutdown.get();
 
+            this.transactionManager = null;
+
+            if (this.environment != null) {
+                this.environment.shutdown();
+                this.environment = null;
+            }
+
             respondCallback(request, null);
         } catch (Exception ex) {
             LOGGER.error(Messages.getString(Messages.Komodo.ERROR_STOPPING_ENGINE, ex));
@@ -564,6 +1277,19 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         }
     }
 
+    private void notifyCleared( final ClearListener listener,
+                                final String path,
+                                final int cleared,
+                                final int total ) {
+        if ( listener != null ) {
+            try {
+                listener.subtreeCleared( path, cleared, total );
+            } catch ( final Exception e ) {
+                LOGGER.error( "ModeShapeEngineThread.clear: listener failed", e ); //$NON-NLS-1$
+            }
+        }
+    }
+
     private synchronized void clear(Request request)  throws Exception {
         Session session = ModeshapeUtils.createSession(identifier);
         if (session == null || !session.isLive())
@@ -571,69 +1297,78 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
         LOGGER.debug("ModeShapeEngineThread.clear: session = {0}", session.hashCode()); //$NON-NLS-1$
 
+        //
+        // since /tko:komodo, /tko:komodo/tko:workspace, /tko:komodo/tko:library, and /tko:komodo/tko:environment
+        // nodes are created by the repository configuration file we don't want to delete them. Their children are removed
+        // so the containers keep their position and identifiers.
+        //
+        final List< Node > removed = new ArrayList< Node >();
         Node rootNode = session.getRootNode();
         NodeIterator children = rootNode.getNodes();
         while(children.hasNext()) {
             Node child = children.nextNode();
-            try {
-                // since /tko:komodo, /tko:komodo/tko:workspace, /tko:komodo/tko:library, and /tko:komodo/tko:environment
-                // nodes are created by the repository configuration file we don't want to delete them. We do want to
-                // delete their children though.
-                if ( RepositoryImpl.KOMODO_ROOT.equals( child.getPath() ) ) {
-                    { // remove all children of workspace
-                        assert child.hasNode( Komodo.WORKSPACE );
-
-                        final Node workspace = child.getNode( Komodo.WORKSPACE );
-                        final NodeIterator itr = workspace.getNodes();
-
-                        while ( itr.hasNext() ) {
-                            final Node kid = itr.nextNode();
-                            LOGGER.debug( "ModeShapeEngineThread.clear: deleting node = {0}", kid.getPath() ); //$NON-NLS-1$
-                            kid.remove();
-                        }
-                    }
 
-                    { // remove all children of library
-                        assert child.hasNode( Komodo.LIBRARY );
+            if ( RepositoryImpl.KOMODO_ROOT.equals( child.getPath() ) ) {
+                assert child.hasNode( Komodo.WORKSPACE );
+                assert child.hasNode( Komodo.LIBRARY );
+                assert child.hasNode( Komodo.ENVIRONMENT );
 
-                        final Node library = child.getNode( Komodo.LIBRARY );
-                        final NodeIterator itr = library.getNodes();
+                for ( final String name : new String[] { Komodo.WORKSPACE, Komodo.LIBRARY } ) {
+                    final NodeIterator itr = child.getNode( name ).getNodes();
 
-                        while ( itr.hasNext() ) {
-                            final Node kid = itr.nextNode();
-                            LOGGER.debug( "ModeShapeEngineThread.clear: deleting node = {0}", kid.getPath() ); //$NON-NLS-1$
-                            kid.remove();
-                        }
+                    while ( itr.hasNext() ) {
+                        removed.add( itr.nextNode() );
                     }
+                }
 
-                    { // remove all children of environment except the validation rules which are loaded at startup
-                        assert child.hasNode( Komodo.ENVIRONMENT );
-
-                        final Node env = child.getNode( Komodo.ENVIRONMENT );
-                        final NodeIterator itr = env.getNodes();
-
-                        while ( itr.hasNext() ) {
-                            final Node kid = itr.nextNode();
+                { // remove all children of environment except the validation rules which are loaded at startup
+                    final NodeIterator itr = child.getNode( Komodo.ENVIRONMENT ).getNodes();
 
-                            // don't delete validation rules
-                            if (Environment.VALIDATION.equals( kid.getName() ) || Environment.SERVERS.equals( kid.getName() )) {
-                                continue;
-                            }
+                    while ( itr.hasNext() ) {
+                        final Node kid = itr.nextNode();
 
-                            LOGGER.debug( "ModeShapeEngineThread.clear: deleting node = {0}", kid.getPath() ); //$NON-NLS-1$
-                            kid.remove();
+                        // don't delete validation rules
+                        if (!Environment.VALIDATION.equals( kid.getName() ) && !Environment.SERVERS.equals( kid.getName() )) {
+                            removed.add( kid );
                         }
                     }
-                } else if (!child.isNodeType("mode:system")) { //$NON-NLS-1$
-                    // Cannot legally remove system nodes and they are not created
-                    // by the tests anyway so leave them alone
-                    child.remove();
                 }
-            } catch (Exception ex) {
-                // No need to display these exceptions
+            } else if (!child.isNodeType("mode:system")) { //$NON-NLS-1$
+                // Cannot legally remove system nodes and they are not created
+                // by the tests anyway so leave them alone
+                removed.add( child );
             }
         }
 
+        final int total = removed.size();
+
+        if ( total == 0 ) {
+            // already clear so there is nothing to save
+            LOGGER.debug( "ModeShapeEngineThread.clear: nothing to clear" ); //$NON-NLS-1$
+            session.logout();
+            respondCallback( request, null );
+            return;
+        }
+
+        final ClearListener listener = ( ( request instanceof ClearRequest ) ? ( ( ClearRequest )request ).getListener() : null );
+        int cleared = 0;
+
+        try {
+            for ( final Node subtree : removed ) {
+                final String path = subtree.getPath();
+                LOGGER.debug( "ModeShapeEngineThread.clear: deleting node = {0}", path ); //$NON-NLS-1$
+                subtree.remove();
+                notifyCleared( listener, path, ++cleared, total );
+            }
+        } catch ( final Exception ex ) {
+            // nothing is saved so a failed clear leaves the content as it was
+            LOGGER.error( "ModeShapeEngineThread.clear: failed after clearing {0} of {1} subtrees", ex, cleared, total ); //$NON-NLS-1$
+            session.refresh( false );
+            session.logout();
+            errorCallback( request, ex );
+            return;
+        }
+
         Request saveRequest = new ModeshapeEngineThread.SessionRequest(RequestType.COMMIT_SESSION,
                                                                                                                        request.getCallback(),
                                                                                                                        session,
@@ -641,7 +1376,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         commitSession(saveRequest);
     }
 
-    private synchronized void createSession(final Request request) {
+    private void createSession(final Request request) {
         Object results = null;
         try {
             results = ModeshapeUtils.createSession(identifier);
@@ -654,53 +1389,78 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
     @Override
     public void run() {
-        while (!stop) {
-            try {
-                Request request = queue.poll(1000L, TimeUnit.MILLISECONDS);
-
-                if (request == null) continue;
-
-                switch (request.getRequestType()) {
-                    case START:
-                        startEngine(request);
-                        break;
-                    case STOP:
-                        stopEngine(request);
-                        stop = true;
-                        break;
-                    case CLEAR:
-                        clear(request);
-                        break;
-                    case CREATE_SESSION:
-                        createSession(request);
-                        break;
-                    case COMMIT_SESSION:
-                        commitSession(request);
-                        break;
-                    case ROLLBACK_SESSION:
-                        rollbackSession(request, null);
-                        break;
-                    default:
-                        break;
-                }
+        for (final SessionWorker worker : this.workers) {
+            worker.start();
+        }
+
+        try {
+            while (!stop) {
+                Barrier barrier = null;
+
+                try {
+                    final Request request = queue.poll(1000L, TimeUnit.MILLISECONDS);
+
+                    if (request == null) continue;
+
+                    barrier = (Barrier)request;
+
+                    if (!awaitWorkers(barrier)) {
+                        throw new Exception(Messages.getString(Messages.LocalRepository.EngineThread_Died));
+                    }
 
-            } catch (final Exception e) {
-                stop = true;
-                error = e;
-                KEngine.getInstance().getErrorHandler().error(Messages.getString(Messages.LocalRepository.General_Exception), e);
+                    switch (barrier.getRequest().getRequestType()) {
+                        case START:
+                            startEngine(barrier.getRequest());
+                            break;
+                        case STOP:
+                            stopEngine(barrier.getRequest());
+                            stop = true;
+                            break;
+                        case CLEAR:
+                            clear(barrier.getRequest());
+                            break;
+                        default:
+                            break;
+                    }
+
+                } catch (final Exception e) {
+                    stop = true;
+                    error = e;
+                    KEngine.getInstance().getErrorHandler().error(Messages.getString(Messages.LocalRepository.General_Exception), e);
+                } finally {
+                    if (barrier != null) {
+                        barrier.release();
+                    }
+                }
+            }
+        } finally {
+            for (final SessionWorker worker : this.workers) {
+                worker.interrupt();
             }
         }
     }
 
     /**
-     * Pass a request to the engine
+     * Pass a request to the engine. Session requests are queued on the worker of their partition. Lifecycle requests are
+     * queued on this thread after a barrier has been placed on every worker.
      *
      * @param request
      *        the request made to the engine
      */
-    public void accept( Request request ) {
+    public synchronized void accept( Request request ) {
         try {
-            queue.put(request);
+            if (RequestType.isSessionRequest(request.getRequestType())) {
+                worker(request).accept(request);
+                return;
+            }
+
+            final Barrier barrier = new Barrier(request, this.workers.length);
+
+            for (final SessionWorker worker : this.workers) {
+                worker.accept(barrier);
+            }
+
+            queue.put(barrier);
         } catch (InterruptedException ex) {
             KEngine.getInstance().getErrorHandler().error(Messages.getString(Messages.LocalRepository.General_Exception), ex);
         }
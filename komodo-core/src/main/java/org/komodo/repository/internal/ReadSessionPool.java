@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import org.komodo.repository.PreparedQueryCache;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * A pool of sessions used by rollback-only (read) transactions. Sessions are handed out directly to the calling thread so
+ * that reads do not have to queue behind commits and sequencing on the {@link ModeshapeEngineThread engine thread}. When
+ * a session is returned it is refreshed, discarding any transient changes, so the next borrower sees only committed state.
+ * Each pooled session keeps its parsed queries for as long as it stays in the pool.
+ */
+public class ReadSessionPool {
+
+    /**
+     * The default maximum number of idle sessions kept by the pool.
+     */
+    public static final int DEFAULT_SIZE = 10;
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private final WorkspaceIdentifier identifier;
+    private final BlockingDeque< Session > idle;
+    private final Map< Session, PreparedQueryCache > preparedQueries = Collections.synchronizedMap( new IdentityHashMap< Session, PreparedQueryCache >() );
+    private volatile boolean disposed = false;
+
+    /**
+     * @param identifier
+     *        the identifier of the workspace the sessions are created for (cannot be <code>null</code>)
+     * @param size
+     *        the maximum number of idle sessions kept by the pool (must be greater than zero)
+     */
+    public ReadSessionPool( final WorkspaceIdentifier identifier,
+                            final int size ) {
+        ArgCheck.isNotNull( identifier, "identifier" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( size > 0 ), "size must be greater than zero" ); //$NON-NLS-1$
+
+        this.identifier = identifier;
+        this.idle = new LinkedBlockingDeque<>( size );
+    }
+
+    /**
+     * Pre-creates sessions up to the capacity of the pool.
+     *
+     * @throws Exception
+     *         if a session cannot be created
+     */
+    public void fill() throws Exception {
+        while ( !this.disposed && ( this.idle.remainingCapacity() > 0 ) ) {
+            final Session session = ModeshapeUtils.createSession( this.identifier );
+
+            if ( !this.idle.offerLast( session ) ) {
+                logout( session );
+                break;
+            }
+        }
+
+        LOGGER.debug( "ReadSessionPool.fill: {0} idle sessions", this.idle.size() ); //$NON-NLS-1$
+    }
+
+    /**
+     * The most recently returned session is handed out first. A new session is created if there are no idle sessions.
+     *
+     * @return a session for a read-only transaction or <code>null</code> if the pool has been disposed
+     * @throws Exception
+     *         if a new session cannot be created
+     */
+    public Session acquire() throws Exception {
+        if ( this.disposed ) {
+            return null;
+        }
+
+        Session session = null;
+
+        while ( ( session = this.idle.pollFirst() ) != null ) {
+            if ( session.isLive() ) {
+                LOGGER.debug( "ReadSessionPool.acquire: reusing session {0}", session.hashCode() ); //$NON-NLS-1$
+                return session;
+            }
+
+            this.preparedQueries.remove( session );
+        }
+
+        session = ModeshapeUtils.createSession( this.identifier );
+        LOGGER.debug( "ReadSessionPool.acquire: created session {0}", session.hashCode() ); //$NON-NLS-1$
+        return session;
+    }
+
+    /**
+     * Discards any transient changes made by the borrower and returns the session to the pool. The session is logged out if
+     * the pool is full or has been disposed.
+     *
+     * @param session
+     *        the session being returned (cannot be <code>null</code>)
+     * @throws RepositoryException
+     *         if the session cannot be refreshed (the session is logged out)
+     */
+    public void release( final Session session ) throws RepositoryException {
+        ArgCheck.isNotNull( session, "session" ); //$NON-NLS-1$
+
+        if ( !session.isLive() ) {
+            this.preparedQueries.remove( session );
+            return;
+        }
+
+        try {
+            session.refresh( false );
+        } catch ( final RepositoryException e ) {
+            logout( session );
+            throw e;
+        }
+
+        if ( this.disposed || !this.idle.offerFirst( session ) ) {
+            logout( session );
+            return;
+        }
+
+        // dispose may have drained the pool while the session was being added
+        if ( this.disposed && this.idle.remove( session ) ) {
+            logout( session );
+        }
+    }
+
+    /**
+     * @return the number of idle sessions
+     */
+    public int size() {
+        return this.idle.size();
+    }
+
+    /**
+     * Logs out all idle sessions. Sessions returned after this call are logged out.
+     */
+    public void dispose() {
+        this.disposed = true;
+        Session session = null;
+
+        while ( ( session = this.idle.pollFirst() ) != null ) {
+            if ( session.isLive() ) {
+                session.logout();
+            }
+        }
+
+        this.preparedQueries.clear();
+    }
+
+    /**
+     * @param session
+     *        a session handed out by this pool (cannot be <code>null</code>)
+     * @return the parsed queries of the session or <code>null</code> if queries are not cached
+     */
+    public PreparedQueryCache getPreparedQueries( final Session session ) {
+        ArgCheck.isNotNull( session, "session" ); //$NON-NLS-1$
+
+        synchronized ( this.preparedQueries ) {
+            PreparedQueryCache cache = this.preparedQueries.get( session );
+
+            if ( ( cache == null ) && !this.disposed && session.isLive() ) {
+                cache = PreparedQueryCache.create();
+
+                if ( cache != null ) {
+                    this.preparedQueries.put( session, cache );
+                }
+            }
+
+            return cache;
+        }
+    }
+
+    private void logout( final Session session ) {
+        this.preparedQueries.remove( session );
+        session.logout();
+    }
+
+}
@@ -0,0 +1,577 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import javax.jcr.ImportUUIDBehavior;
+import javax.jcr.NodeIterator;
+import javax.jcr.Session;
+import javax.jcr.UnsupportedRepositoryOperationException;
+import javax.jcr.observation.Event;
+import javax.jcr.observation.EventJournal;
+import org.komodo.repository.Messages;
+import org.komodo.repository.RepositoryImpl;
+import org.komodo.spi.KException;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.FileUtils;
+import org.komodo.utils.KLog;
+
+/**
+ * Streams backups of the Komodo content of a workspace and restores them. A backup is a compressed ZIP stream holding a
+ * manifest followed by one system view document for each backed up subtree:
+ * <ul>
+ * <li>a full backup holds every child of the Komodo root</li>
+ * <li>an incremental backup holds the top-most nodes added or changed since a given time, as recorded by the repository's
+ * event journal, and its manifest lists the nodes removed since then</li>
+ * </ul>
+ * Backups and restores use their own sessions so they never hold up the {@link ModeshapeEngineThread engine thread}. A restore
+ * imports its subtrees in parallel through the workspace and undoes itself, from a backup of the content it replaces, if it
+ * fails.
+ * <p>
+ * A full backup is <strong>not</strong> a consistent snapshot. It reads each subtree as it stands when it is exported, so a
+ * transaction committed while the backup runs can be partly included. Changes committed while the backup runs are captured by
+ * an incremental backup from the time the full backup started.
+ */
+public class RepositoryBackup implements StringConstants {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private static final String MANIFEST = "manifest.properties"; //$NON-NLS-1$
+    private static final String SUBTREE_PREFIX = "subtree/"; //$NON-NLS-1$
+    private static final String CREATED = "created"; //$NON-NLS-1$
+    private static final String INCREMENTAL = "incremental"; //$NON-NLS-1$
+    private static final String REMOVED = "removed."; //$NON-NLS-1$
+    private static final String SOURCE_PATH = "srcAbsPath"; //$NON-NLS-1$
+    private static final String DESTINATION_PATH = "destAbsPath"; //$NON-NLS-1$
+    private static final String ENCODING = "UTF-8"; //$NON-NLS-1$
+    private static final String RESTORE_DIR_PREFIX = "komodo-restore"; //$NON-NLS-1$
+    private static final String PREVIOUS_BACKUP = "previous.zip"; //$NON-NLS-1$
+    private static final String UNDO_DIR = "undo"; //$NON-NLS-1$
+    private static final String XML_SUFFIX = ".xml"; //$NON-NLS-1$
+
+    private final WorkspaceIdentifier identifier;
+
+    /**
+     * @param identifier
+     *        the identifier of the workspace being backed up or restored (cannot be <code>null</code>)
+     */
+    public RepositoryBackup( final WorkspaceIdentifier identifier ) {
+        ArgCheck.isNotNull( identifier, "identifier" ); //$NON-NLS-1$
+        this.identifier = identifier;
+    }
+
+    /**
+     * Streams a full backup. The stream is not closed.
+     *
+     * @param stream
+     *        the stream the backup is written to (cannot be <code>null</code>)
+     * @return the time the backup started (the start of the next incremental backup)
+     * @throws Exception
+     *         if an error occurs
+     */
+    public long backup( final OutputStream stream ) throws Exception {
+        ArgCheck.isNotNull( stream, "stream" ); //$NON-NLS-1$
+        final long created = System.currentTimeMillis();
+        final Session session = ModeshapeUtils.createSession( this.identifier );
+
+        try {
+            write( session, stream, created, false, getKomodoChildren( session ), new TreeSet< String >() );
+        } finally {
+            session.logout();
+        }
+
+        return created;
+    }
+
+    /**
+     * Streams an incremental backup of the changes made since the specified time. The stream is not closed.
+     *
+     * @param stream
+     *        the stream the backup is written to (cannot be <code>null</code>)
+     * @param since
+     *        the time, in milliseconds, of the previous backup
+     * @return the time the backup started (the start of the next incremental backup)
+     * @throws Exception
+     *         if the repository does not keep an event journal or an error occurs
+     */
+    public long backup( final OutputStream stream,
+                        final long since ) throws Exception {
+        ArgCheck.isNotNull( stream, "stream" ); //$NON-NLS-1$
+        final long created = System.currentTimeMillis();
+        final Session session = ModeshapeUtils.createSession( this.identifier );
+
+        try {
+            EventJournal journal = null;
+
+            try {
+                journal = session.getWorkspace().getObservationManager().getEventJournal();
+            } catch ( final UnsupportedRepositoryOperationException e ) {
+                throw new KException( Messages.getString( Messages.Komodo.BACKUP_JOURNAL_DISABLED ), e );
+            }
+
+            if ( journal == null ) {
+                throw new KException( Messages.getString( Messages.Komodo.BACKUP_JOURNAL_DISABLED ) );
+            }
+
+            final Set< String > changed = new TreeSet<>();
+            final Set< String > removed = new TreeSet<>();
+            journal.skipTo( since );
+
+            while ( journal.hasNext() ) {
+                final Event event = journal.nextEvent();
+                final String path = event.getPath();
+
+                if ( ( path == null ) || !isKomodoPath( path ) ) {
+                    continue;
+                }
+
+                switch ( event.getType() ) {
+                    case Event.NODE_ADDED:
+                        changed.add( path );
+                        break;
+                    case Event.NODE_REMOVED:
+                        removed.add( path );
+                        break;
+                    case Event.NODE_MOVED: {
+                        final Map< ?, ? > info = event.getInfo();
+
+                        if ( info.containsKey( SOURCE_PATH ) ) {
+                            removed.add( ( String )info.get( SOURCE_PATH ) );
+                            changed.add( ( String )info.get( DESTINATION_PATH ) );
+                        } else {
+                            // children were reordered
+                            changed.add( path );
+                        }
+
+                        break;
+                    }
+                    case Event.PROPERTY_ADDED:
+                    case Event.PROPERTY_CHANGED:
+                    case Event.PROPERTY_REMOVED:
+                        changed.add( path.substring( 0, path.lastIndexOf( FORWARD_SLASH ) ) );
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            // the root itself is never replaced so a change to it is backed up as its children
+            if ( changed.remove( RepositoryImpl.KOMODO_ROOT ) ) {
+                changed.addAll( getKomodoChildren( session ) );
+            }
+
+            write( session, stream, created, true, topMost( changed ), removed );
+        } finally {
+            session.logout();
+        }
+
+        return created;
+    }
+
+    /**
+     * Restores a full or incremental backup. Restoring a full backup replaces all Komodo content. Restoring an incremental
+     * backup removes the nodes removed since the previous backup and replaces the subtrees it holds. The stream is not closed.
+     * <p>
+     * Each subtree is imported by the workspace, in parallel, so no session holds the restored content. Before anything is
+     * replaced a full backup of the current content is written to a temporary file. If the restore fails that backup is
+     * restored so the content is left as it was.
+     *
+     * @param stream
+     *        the stream the backup is read from (cannot be <code>null</code>)
+     * @throws Exception
+     *         if the stream is not a backup or an error occurs
+     */
+    public void restore( final InputStream stream ) throws Exception {
+        ArgCheck.isNotNull( stream, "stream" ); //$NON-NLS-1$
+        final File dir = Files.createTempDirectory( RESTORE_DIR_PREFIX ).toFile();
+
+        try {
+            final ZipInputStream zip = new ZipInputStream( stream );
+            final Properties manifest = readManifest( zip );
+            final Map< String, File > subtrees = spool( zip, new File( dir, SUBTREE_PREFIX ) );
+
+            // keep the current content so a failed restore can be undone
+            final File previous = new File( dir, PREVIOUS_BACKUP );
+            final OutputStream previousStream = new BufferedOutputStream( new FileOutputStream( previous ) );
+
+            try {
+                backup( previousStream );
+            } finally {
+                previousStream.close();
+            }
+
+            try {
+                replace( manifest, subtrees );
+            } catch ( final Exception e ) {
+                LOGGER.error( "RepositoryBackup.restore: restore failed so the previous content is being restored", e ); //$NON-NLS-1$
+
+                try {
+                    undo( previous, new File( dir, UNDO_DIR ) );
+                } catch ( final Exception undoError ) {
+                    e.addSuppressed( undoError );
+                }
+
+                throw e;
+            }
+
+            LOGGER.debug( "RepositoryBackup.restore: restored {0} subtrees of backup created {1}", //$NON-NLS-1$
+                          subtrees.size(),
+                          manifest.getProperty( CREATED ) );
+        } finally {
+            FileUtils.removeDirectoryAndChildren( dir );
+        }
+    }
+
+    private void undo( final File previous,
+                       final File dir ) throws Exception {
+        final InputStream stream = new BufferedInputStream( new FileInputStream( previous ) );
+
+        try {
+            final ZipInputStream zip = new ZipInputStream( stream );
+            final Properties manifest = readManifest( zip );
+            replace( manifest, spool( zip, dir ) );
+        } finally {
+            stream.close();
+        }
+    }
+
+    private Properties readManifest( final ZipInputStream zip ) throws Exception {
+        final ZipEntry entry = zip.getNextEntry();
+
+        if ( ( entry == null ) || !MANIFEST.equals( entry.getName() ) ) {
+            throw new KException( Messages.getString( Messages.Komodo.BACKUP_INVALID ) );
+        }
+
+        final Properties manifest = new Properties();
+        manifest.load( zip );
+        return manifest;
+    }
+
+    /*
+     * The subtree documents are written to files so they can be imported in parallel.
+     */
+    private Map< String, File > spool( final ZipInputStream zip,
+                                       final File dir ) throws Exception {
+        final Map< String, File > subtrees = new LinkedHashMap<>();
+        ZipEntry entry = null;
+
+        while ( ( entry = zip.getNextEntry() ) != null ) {
+            if ( !entry.getName().startsWith( SUBTREE_PREFIX ) ) {
+                continue;
+            }
+
+            final String path = URLDecoder.decode( entry.getName().substring( SUBTREE_PREFIX.length() ), ENCODING );
+            final File file = new File( dir, subtrees.size() + XML_SUFFIX );
+            FileUtils.write( zip, file );
+            subtrees.put( path, file );
+        }
+
+        return subtrees;
+    }
+
+    /*
+     * The removed nodes and the nodes being replaced are removed in one save and then each subtree is imported by the
+     * workspace, which saves it without a session holding it.
+     */
+    private void replace( final Properties manifest,
+                          final Map< String, File > subtrees ) throws Exception {
+        final Session session = ModeshapeUtils.createSession( this.identifier );
+
+        try {
+            removeNodes( session, manifest );
+
+            for ( final String path : subtrees.keySet() ) {
+                if ( session.nodeExists( path ) ) {
+                    session.getNode( path ).remove();
+                }
+            }
+
+            session.save();
+        } catch ( final Exception e ) {
+            session.refresh( false );
+            throw e;
+        } finally {
+            session.logout();
+        }
+
+        if ( subtrees.isEmpty() ) {
+            return;
+        }
+
+        final int threads = Math.min( subtrees.size(), Math.max( 1, Runtime.getRuntime().availableProcessors() ) );
+        final ExecutorService executor = Executors.newFixedThreadPool( threads, new ThreadFactory() {
+
+            @Override
+            public Thread newThread( final Runnable runnable ) {
+                final Thread thread = new Thread( runnable, "Komodo restore" ); //$NON-NLS-1$
+                thread.setDaemon( true );
+                return thread;
+            }
+
+        } );
+
+        try {
+            final List< Future< Void > > imports = new ArrayList<>( subtrees.size() );
+
+            for ( final Map.Entry< String, File > subtree : subtrees.entrySet() ) {
+                imports.add( executor.submit( new ImportTask( subtree.getKey(), subtree.getValue() ) ) );
+            }
+
+            Exception error = null;
+
+            // wait for every import so none is still writing when the caller undoes the restore
+            for ( final Future< Void > future : imports ) {
+                try {
+                    future.get();
+                } catch ( final ExecutionException e ) {
+                    final Exception cause = ( ( e.getCause() instanceof Exception ) ? ( Exception )e.getCause() : e );
+
+                    if ( error == null ) {
+                        error = cause;
+                    } else {
+                        error.addSuppressed( cause );
+                    }
+                }
+            }
+
+            if ( error != null ) {
+                throw error;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List< String > getKomodoChildren( final Session session ) throws Exception {
+        final List< String > paths = new ArrayList<>();
+
+        if ( session.nodeExists( RepositoryImpl.KOMODO_ROOT ) ) {
+            final NodeIterator itr = session.getNode( RepositoryImpl.KOMODO_ROOT ).getNodes();
+
+            while ( itr.hasNext() ) {
+                paths.add( itr.nextNode().getPath() );
+            }
+        }
+
+        return paths;
+    }
+
+    private boolean isKomodoPath( final String path ) {
+        return path.equals( RepositoryImpl.KOMODO_ROOT ) || path.startsWith( RepositoryImpl.KOMODO_ROOT + FORWARD_SLASH );
+    }
+
+    private String getParentPath( final String path ) {
+        final int index = path.lastIndexOf( FORWARD_SLASH );
+        return ( ( index <= 0 ) ? FORWARD_SLASH : path.substring( 0, index ) );
+    }
+
+    /*
+     * Drops every path that has an ancestor in the set since backing up the ancestor includes it.
+     */
+    private Set< String > topMost( final Set< String > paths ) {
+        final Set< String > result = new TreeSet<>();
+
+        for ( final String path : paths ) {
+            boolean covered = false;
+            String parent = getParentPath( path );
+
+            while ( !covered && !FORWARD_SLASH.equals( parent ) ) {
+                covered = paths.contains( parent );
+                parent = getParentPath( parent );
+            }
+
+            if ( !covered ) {
+                result.add( path );
+            }
+        }
+
+        return result;
+    }
+
+    private void write( final Session session,
+                        final OutputStream stream,
+                        final long created,
+                        final boolean incremental,
+                        final Iterable< String > subtrees,
+                        final Set< String > removed ) throws Exception {
+        final ZipOutputStream zip = new ZipOutputStream( stream );
+
+        { // manifest
+            final Properties manifest = new Properties();
+            manifest.setProperty( CREATED, Long.toString( created ) );
+            manifest.setProperty( INCREMENTAL, Boolean.toString( incremental ) );
+            int i = 0;
+
+            for ( final String path : removed ) {
+                manifest.setProperty( REMOVED + i++, path );
+            }
+
+            zip.putNextEntry( new ZipEntry( MANIFEST ) );
+            manifest.store( zip, null );
+            zip.closeEntry();
+        }
+
+        final OutputStream entryStream = new EntryOutputStream( zip );
+        int count = 0;
+
+        for ( final String path : subtrees ) {
+            // nodes removed after the journal was read are recorded by the next incremental backup
+            if ( !session.nodeExists( path ) ) {
+                continue;
+            }
+
+            zip.putNextEntry( new ZipEntry( SUBTREE_PREFIX + URLEncoder.encode( path, ENCODING ) ) );
+            session.exportSystemView( path, entryStream, false, false );
+            zip.closeEntry();
+            ++count;
+        }
+
+        zip.finish();
+        stream.flush();
+
+        LOGGER.debug( "RepositoryBackup.write: incremental = {0}, subtrees = {1}, removed = {2}", //$NON-NLS-1$
+                      incremental,
+                      count,
+                      removed.size() );
+    }
+
+    private void removeNodes( final Session session,
+                              final Properties manifest ) throws Exception {
+        final Set< String > paths = new TreeSet<>();
+
+        if ( Boolean.parseBoolean( manifest.getProperty( INCREMENTAL ) ) ) {
+            for ( final String key : manifest.stringPropertyNames() ) {
+                if ( key.startsWith( REMOVED ) ) {
+                    paths.add( manifest.getProperty( key ) );
+                }
+            }
+        } else {
+            paths.addAll( getKomodoChildren( session ) );
+        }
+
+        for ( final String path : topMost( paths ) ) {
+            if ( session.nodeExists( path ) ) {
+                session.getNode( path ).remove();
+            }
+        }
+    }
+
+    /*
+     * Imports one subtree document with its own session.
+     */
+    private class ImportTask implements Callable< Void > {
+
+        private final String path;
+        private final File file;
+
+        ImportTask( final String path,
+                    final File file ) {
+            this.path = path;
+            this.file = file;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.util.concurrent.Callable#call()
+         */
+        @Override
+        public Void call() throws Exception {
+            final Session session = ModeshapeUtils.createSession( identifier );
+            final InputStream stream = new BufferedInputStream( new FileInputStream( this.file ) );
+
+            try {
+                session.getWorkspace().importXML( getParentPath( this.path ),
+                                                  stream,
+                                                  ImportUUIDBehavior.IMPORT_UUID_COLLISION_REMOVE_EXISTING );
+            } finally {
+                stream.close();
+                session.logout();
+            }
+
+            return null;
+        }
+
+    }
+
+    /*
+     * Keeps the export from closing the ZIP stream when it finishes a document.
+     */
+    private static class EntryOutputStream extends FilterOutputStream {
+
+        EntryOutputStream( final OutputStream stream ) {
+            super( stream );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.io.FilterOutputStream#write(byte[], int, int)
+         */
+        @Override
+        public void write( final byte[] bytes,
+                           final int offset,
+                           final int length ) throws IOException {
+            this.out.write( bytes, offset, length );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.io.FilterOutputStream#close()
+         */
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+    }
+
+}
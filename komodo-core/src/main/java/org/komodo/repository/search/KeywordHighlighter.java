@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.search;
+
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.StringUtils;
+
+/**
+ * Produces an excerpt of the text matched by a keyword search with each matched keyword surrounded by markers.
+ */
+public class KeywordHighlighter implements StringConstants {
+
+    /**
+     * The default marker placed before a matched keyword. Value is {@value} .
+     */
+    public static final String DEFAULT_START_MARKER = "<b>"; //$NON-NLS-1$
+
+    /**
+     * The default marker placed after a matched keyword. Value is {@value} .
+     */
+    public static final String DEFAULT_END_MARKER = "</b>"; //$NON-NLS-1$
+
+    private static final String ELLIPSIS = "..."; //$NON-NLS-1$
+
+    private final Pattern pattern;
+    private final String startMarker;
+    private final String endMarker;
+
+    /**
+     * Constructs a highlighter using the {@link #DEFAULT_START_MARKER default markers}.
+     *
+     * @param keywords
+     *        the keywords to highlight (cannot be empty)
+     */
+    public KeywordHighlighter( final Collection< String > keywords ) {
+        this( keywords, DEFAULT_START_MARKER, DEFAULT_END_MARKER );
+    }
+
+    /**
+     * @param keywords
+     *        the keywords to highlight (cannot be empty)
+     * @param startMarker
+     *        the text placed before each match (cannot be <code>null</code>)
+     * @param endMarker
+     *        the text placed after each match (cannot be <code>null</code>)
+     */
+    public KeywordHighlighter( final Collection< String > keywords,
+                               final String startMarker,
+                               final String endMarker ) {
+        ArgCheck.isNotEmpty( keywords, "keywords" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( startMarker, "startMarker" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( endMarker, "endMarker" ); //$NON-NLS-1$
+
+        final StringBuilder regex = new StringBuilder();
+
+        for ( final String keyword : keywords ) {
+            final String term = term( keyword );
+
+            if ( term.isEmpty() ) {
+                continue;
+            }
+
+            if ( regex.length() != 0 ) {
+                regex.append( PIPE );
+            }
+
+            regex.append( Pattern.quote( term ) );
+        }
+
+        this.pattern = ( ( regex.length() == 0 ) ? null
+                                                 : Pattern.compile( regex.toString(),
+                                                                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE ) );
+        this.startMarker = startMarker;
+        this.endMarker = endMarker;
+    }
+
+    /**
+     * Keywords may carry full-text search syntax, like the exclusion prefix, quotes or wildcards, which is not part of the
+     * matched text.
+     */
+    private static String term( final String keyword ) {
+        if ( StringUtils.isEmpty( keyword ) ) {
+            return EMPTY_STRING;
+        }
+
+        String term = keyword.trim();
+
+        if ( term.startsWith( HYPHEN ) ) {
+            return EMPTY_STRING; // excluded words never appear in a match
+        }
+
+        if ( term.startsWith( QUOTE_MARK ) || term.startsWith( SPEECH_MARK ) ) {
+            term = term.substring( 1 );
+        }
+
+        if ( term.endsWith( QUOTE_MARK ) || term.endsWith( SPEECH_MARK ) ) {
+            term = term.substring( 0, term.length() - 1 );
+        }
+
+        while ( term.endsWith( STAR ) || term.endsWith( QUESTION_MARK ) ) {
+            term = term.substring( 0, term.length() - 1 );
+        }
+
+        return term.trim();
+    }
+
+    /**
+     * @param text
+     *        the text to highlight (can be empty)
+     * @param maxLength
+     *        the maximum number of characters of the text in the excerpt, not counting markers, or a negative number if the
+     *        whole text should be returned
+     * @return the excerpt with the keywords marked or <code>null</code> if none of the keywords are in the text
+     */
+    public String highlight( final String text,
+                             final int maxLength ) {
+        if ( ( this.pattern == null ) || StringUtils.isEmpty( text ) ) {
+            return null;
+        }
+
+        final Matcher matcher = this.pattern.matcher( text );
+
+        if ( !matcher.find() ) {
+            return null;
+        }
+
+        int start = 0;
+        int end = text.length();
+
+        // center the excerpt on the first match
+        if ( ( maxLength >= 0 ) && ( maxLength < text.length() ) ) {
+            start = Math.max( 0, matcher.start() - ( ( maxLength - ( matcher.end() - matcher.start() ) ) / 2 ) );
+            end = Math.min( text.length(), start + maxLength );
+            start = Math.max( 0, end - maxLength );
+        }
+
+        final StringBuilder excerpt = new StringBuilder();
+
+        if ( start > 0 ) {
+            excerpt.append( ELLIPSIS );
+        }
+
+        int index = start;
+        matcher.region( start, end );
+
+        while ( matcher.find() ) {
+            excerpt.append( text, index, matcher.start() );
+            excerpt.append( this.startMarker ).append( matcher.group() ).append( this.endMarker );
+            index = matcher.end();
+        }
+
+        excerpt.append( text, index, end );
+
+        if ( end < text.length() ) {
+            excerpt.append( ELLIPSIS );
+        }
+
+        return excerpt.toString();
+    }
+
+}
@@ -42,6 +42,8 @@ import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.KeywordCriteria;
+import org.komodo.spi.repository.Repository.QueryCursor;
+import org.komodo.spi.repository.Repository.QueryRow;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
 import org.komodo.utils.ArgCheck;
@@ -54,12 +56,18 @@ import org.modeshape.jcr.api.JcrConstants;
  */
 public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstants {
 
+    private static final Pattern BIND_VARIABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*"); //$NON-NLS-1$
+
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH:mm:ss"); //$NON-NLS-1$
 
     private final Repository repository;
 
     private FromType fromType;
 
+    private List<String> selectColumns;
+
+    private boolean orderByScore;
+
     private List<Clause> whereClauses;
 
     private String customWhereClause;
@@ -143,6 +151,56 @@ public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstan
         return this;
     }
 
+    /**
+     * @return the additional property columns projected by {@link #searchRows(UnitOfWork, long, long)} (never
+     *         <code>null</code> but can be empty)
+     */
+    public List<String> getSelectColumns() {
+        if (selectColumns == null) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(this.selectColumns);
+    }
+
+    /**
+     * Adds a property to the Select clause. The path and local name are always selected. Select columns are not persisted
+     * when the search is {@link #write(UnitOfWork, String) written}.
+     *
+     * @param property the name of the property to project (cannot be empty)
+     * @return this search object
+     */
+    public ObjectSearcher addSelectColumn(String property) {
+        ArgCheck.isNotEmpty(property, "property"); //$NON-NLS-1$
+
+        if (selectColumns == null)
+            selectColumns = new ArrayList<String>();
+
+        if (! selectColumns.contains(property))
+            selectColumns.add(property);
+
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if results are ranked by their full-text relevance, best match first
+     */
+    public boolean isOrderByScore() {
+        return this.orderByScore;
+    }
+
+    /**
+     * Ranks the results by the relevance score the full-text index gives to the CONTAINS clauses. The ordering is not
+     * persisted when the search is {@link #write(UnitOfWork, String) written}.
+     *
+     * @param orderByScore <code>true</code> if results should be ranked by relevance
+     * @return this search object
+     */
+    public ObjectSearcher setOrderByScore(boolean orderByScore) {
+        this.orderByScore = orderByScore;
+        return this;
+    }
+
     /**
      * @return set of node types for the From clause
      */
@@ -309,6 +367,44 @@ public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstan
         return addWhereContainsClause(operator, alias, property, KeywordCriteria.ANY, keyword);
     }
 
+    /**
+     * Add a keyword search of the properties with a full-text index covering the FROM type, eg. WHERE
+     * ( CONTAINS(alias.[mode:localName], 'term*') OR CONTAINS(alias.[vdb:description], 'term*') ). The keyword is matched
+     * as a prefix of the indexed terms so the full-text indexes can be used. If no index covers the type every property
+     * is searched.
+     * <p>
+     * This is an opt-in alternative to a substring search like {@link #addWhereContainsClause(LogicalOperator, String, String, String)
+     * CONTAINS(alias.*, '*term*')}. It only finds words that start with the keyword and only looks at the indexed properties.
+     *
+     * @param operator the AND/OR operator preceding the clause. Can be <null> if the first clause
+     * @param alias the alias of the type
+     * @param keyword the keyword that words of the properties start with (cannot be empty)
+     * @return this search object
+     */
+    public ObjectSearcher addWhereKeywordClause(LogicalOperator operator, String alias, String keyword) {
+        ArgCheck.isNotNull(fromType, "fromType"); //$NON-NLS-1$
+        ArgCheck.isNotEmpty(keyword, "keyword"); //$NON-NLS-1$
+
+        String term = keyword.endsWith(STAR) ? keyword : keyword + STAR;
+        List<String> properties = Collections.emptyList();
+
+        if (getRepository() instanceof RepositoryImpl)
+            properties = ((RepositoryImpl)getRepository()).getIndexRegistry().getTextPropertyNames(fromType.getType());
+
+        if (properties.isEmpty())
+            return addWhereContainsClause(operator, alias, STAR, term);
+
+        if (properties.size() == 1)
+            return addWhereContainsClause(operator, alias, properties.get(0), term);
+
+        Clause[] clauses = new Clause[properties.size()];
+        for (int i = 0; i < clauses.length; ++i) {
+            clauses[i] = new ContainsClause((i == 0) ? null : LogicalOperator.OR, alias, properties.get(i), KeywordCriteria.ANY, term);
+        }
+
+        return addWhereParanthesisClause(operator, clauses);
+    }
+
     /**
      * Add a PATH clause to the Where clause, eg. WHERE PATH(alias) = 'path1'
      *
@@ -426,6 +522,14 @@ public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstan
         buffer.append(OPEN_SQUARE_BRACKET);
         buffer.append(ModeShapeLexicon.LOCALNAME.getString());
         buffer.append(CLOSE_SQUARE_BRACKET);
+
+        for (String column : getSelectColumns()) {
+            buffer.append(COMMA);
+            buffer.append(SPACE);
+            buffer.append(OPEN_SQUARE_BRACKET);
+            buffer.append(column);
+            buffer.append(CLOSE_SQUARE_BRACKET);
+        }
     }
 
     private void createFrom(StringBuffer buffer) {
@@ -526,12 +630,34 @@ public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstan
         }
     }
 
+    private void createOrderBy(StringBuffer buffer) {
+        if (! orderByScore)
+            return;
+
+        // ORDER BY SCORE(alias) DESC
+        buffer.append(SPACE)
+                    .append(ORDER)
+                    .append(SPACE)
+                    .append(BY)
+                    .append(SPACE)
+                    .append("SCORE") //$NON-NLS-1$
+                    .append(OPEN_BRACKET);
+
+        if (! getFromType().getAlias().isEmpty())
+            buffer.append(getFromType().getAlias());
+
+        buffer.append(CLOSE_BRACKET)
+                    .append(SPACE)
+                    .append(DESC);
+    }
+
     private String createStatement(UnitOfWork uow) {
         StringBuffer buffer = new StringBuffer();
 
         createSelect(buffer);
         createFrom(buffer);
         createWhere(buffer, uow);
+        createOrderBy(buffer);
 
         return buffer.toString();
     }
@@ -551,7 +677,9 @@ public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstan
         int result = 1;
         result = prime * result + ((this.customWhereClause == null) ? 0 : this.customWhereClause.hashCode());
         result = prime * result + ((this.fromType == null) ? 0 : this.fromType.hashCode());
+        result = prime * result + (this.orderByScore ? 1231 : 1237);
         result = prime * result + ((this.repository == null) ? 0 : this.repository.hashCode());
+        result = prime * result + ((this.selectColumns == null) ? 0 : this.selectColumns.hashCode());
         result = prime * result + ((this.whereClauses == null) ? 0 : this.whereClauses.hashCode());
         return result;
     }
@@ -583,6 +711,10 @@ public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstan
         } else
             if (!this.repository.equals(other.repository))
                 return false;
+        if (this.orderByScore != other.orderByScore)
+            return false;
+        if (! getSelectColumns().equals(other.getSelectColumns()))
+            return false;
         if (this.whereClauses == null) {
             if (other.whereClauses != null)
                 return false;
@@ -605,20 +737,17 @@ public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstan
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        List<KomodoObject> results = Collections.emptyList();
-
-        // plug in parameters
-        for (Map.Entry<String, String> entry : parameters.entrySet()) {
-            if (entry.getValue() == null)
-                throw new KException("Search requires the parameter " + entry.getKey() + " but has not been provided a value"); //$NON-NLS-1$ //$NON-NLS-2$
-
-            String parameter = OPEN_BRACE + entry.getKey() + CLOSE_BRACE;
-            String quotedParameter = Pattern.quote(parameter);
-            statement = statement.replaceAll(quotedParameter, entry.getValue());
-        }
+        Map<String, String> bindVariables = new HashMap<>();
+        statement = prepare(statement, bindVariables);
 
         // execute query
-        results = getRepository().query(transaction, statement);
+        QueryCursor cursor = getRepository().query(transaction, statement, bindVariables, 0, -1, false);
+        if (! cursor.hasNext())
+            return Collections.emptyList();
+
+        List<KomodoObject> results = new ArrayList<>();
+        while (cursor.hasNext())
+            results.add(cursor.next());
 
         return results;
     }
@@ -636,6 +765,136 @@ public class ObjectSearcher implements TeiidSqlConstants.Reserved, StringConstan
         return objects;
     }
 
+    /**
+     * Performs the search using the parameters of this object searcher, only loading the requested page of results.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results or a negative number if all results should be returned
+     * @param countTotal
+     *        <code>true</code> if the total number of matches should be computed
+     * @return a cursor over the requested page of results (never <code>null</code>)
+     * @throws KException if error occurs
+     */
+    public QueryCursor searchObjects(final UnitOfWork transaction,
+                                     final long offset,
+                                     final long limit,
+                                     final boolean countTotal) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+
+        Map<String, String> bindVariables = new HashMap<>();
+        String statement = prepare(createStatement(transaction), bindVariables);
+        return getRepository().query(transaction, statement, bindVariables, offset, limit, countTotal);
+    }
+
+    /**
+     * Performs the search using the parameters of this object searcher, reading the path, local name, and
+     * {@link #getSelectColumns() select columns} straight from the query results without loading any objects.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results or a negative number if all results should be returned
+     * @return the projected rows (never <code>null</code> but can be empty)
+     * @throws KException if error occurs
+     */
+    public List<QueryRow> searchRows(final UnitOfWork transaction,
+                                     final long offset,
+                                     final long limit) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+
+        Map<String, String> bindVariables = new HashMap<>();
+        String statement = prepare(createStatement(transaction), bindVariables);
+        return getRepository().queryRows(transaction, statement, bindVariables, offset, limit);
+    }
+
+    /**
+     * Finds the text of a search result matched by the CONTAINS clauses and marks the matched keywords. Keywords of clauses
+     * excluding words are not highlighted.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param result
+     *        a result of this search (cannot be <code>null</code>)
+     * @param maxLength
+     *        the maximum length of the excerpt, not counting markers, or a negative number for the whole property value
+     * @return the highlighted excerpt or <code>null</code> if no property of the result contains a keyword
+     * @throws KException if error occurs
+     */
+    public String highlight(final UnitOfWork transaction,
+                            final KomodoObject result,
+                            final int maxLength) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( result, "result" ); //$NON-NLS-1$
+
+        for (Clause clause : getWhereClauses()) {
+            if (! (clause instanceof ContainsClause))
+                continue;
+
+            ContainsClause containsClause = (ContainsClause)clause;
+            if (containsClause.getKeywordCriteria() == KeywordCriteria.NONE || containsClause.getKeywords().isEmpty())
+                continue;
+
+            KeywordHighlighter highlighter = new KeywordHighlighter(containsClause.getKeywords());
+            String[] propertyNames = STAR.equals(containsClause.getProperty()) ? result.getPropertyNames(transaction)
+                                                                               : new String[] { containsClause.getProperty() };
+
+            for (String propertyName : propertyNames) {
+                Property property = result.getProperty(transaction, propertyName);
+                if (property == null)
+                    continue;
+
+                String[] values = property.isMultiple(transaction) ? property.getStringValues(transaction)
+                                                                   : new String[] { property.getStringValue(transaction) };
+
+                for (String value : values) {
+                    String excerpt = highlighter.highlight(value, maxLength);
+                    if (excerpt != null)
+                        return excerpt;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Parameters that make up a whole quoted literal are turned into bind variables so that the statement text, and
+     * therefore the prepared query, does not change with the parameter values. Other parameters, like those in paths
+     * or types, are substituted into the statement text.
+     *
+     * @param statement the statement containing parameters
+     * @param bindVariables collects the values of the bind variables keyed by variable name
+     * @return the statement ready to be executed
+     * @throws KException if a parameter has no value
+     */
+    private String prepare(String statement, Map<String, String> bindVariables) throws KException {
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            if (entry.getValue() == null)
+                throw new KException("Search requires the parameter " + entry.getKey() + " but has not been provided a value"); //$NON-NLS-1$ //$NON-NLS-2$
+
+            String parameter = OPEN_BRACE + entry.getKey() + CLOSE_BRACE;
+            String quotedParameter = QUOTE_MARK + parameter + QUOTE_MARK;
+
+            if (BIND_VARIABLE_NAME.matcher(entry.getKey()).matches() && statement.contains(quotedParameter)) {
+                statement = statement.replace(quotedParameter, DOLLAR_SIGN + entry.getKey());
+                bindVariables.put(entry.getKey(), entry.getValue());
+            }
+
+            statement = statement.replace(parameter, entry.getValue());
+        }
+
+        return statement;
+    }
+
     /**
      * Write the search object to the repository
      *
@@ -0,0 +1,344 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.validation;
+
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.komodo.core.KomodoLexicon;
+import org.komodo.spi.KException;
+import org.komodo.spi.outcome.Outcome.Level;
+import org.komodo.spi.repository.Property;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+import org.komodo.spi.repository.validation.Rule.PropertyRestriction;
+import org.komodo.spi.repository.validation.Rule.RuleType;
+import org.komodo.spi.repository.validation.Rule.ValidationType;
+
+/**
+ * An immutable snapshot of the settings of a {@link RuleImpl validation rule}, read from the rule node once so that evaluating
+ * the rule does not read the node again. The number bounds are parsed when the snapshot is taken. The pattern is compiled the
+ * first time it is used so a rule with an invalid pattern only fails when it is evaluated.
+ */
+final class CompiledRule {
+
+    private static final String[] NO_NAMES = new String[ 0 ];
+
+    private static String[] getStringValues( final UnitOfWork transaction,
+                                             final RuleImpl rule,
+                                             final String propName ) throws KException {
+        final Property prop = rule.getProperty( transaction, propName );
+        return ( ( prop == null ) ? NO_NAMES : prop.getStringValues( transaction ) );
+    }
+
+    private static boolean getBooleanValue( final UnitOfWork transaction,
+                                            final RuleImpl rule,
+                                            final String propName,
+                                            final boolean defaultValue ) throws KException {
+        final Property prop = rule.getProperty( transaction, propName );
+        return ( ( prop == null ) ? defaultValue : prop.getBooleanValue( transaction ) );
+    }
+
+    private static String getStringValue( final UnitOfWork transaction,
+                                          final RuleImpl rule,
+                                          final String propName ) throws KException {
+        final Property prop = rule.getProperty( transaction, propName );
+        return ( ( prop == null ) ? null : prop.getStringValue( transaction ) );
+    }
+
+    private final String name;
+    private final String nodeType;
+    private final ValidationType validationType;
+    private final RuleType ruleType;
+    private final Level severity;
+    private final boolean enabled;
+    private final boolean required;
+    private final String jcrName;
+    private final String regex;
+    private volatile Pattern pattern;
+    private final String minString;
+    private final Double minValue;
+    private final boolean minInclusive;
+    private final String maxString;
+    private final Double maxValue;
+    private final boolean maxInclusive;
+    private final boolean nonNumericBounds;
+    private final boolean matchType;
+    private final String[] propsExist;
+    private final String[] propsAbsent;
+    private final String[] childrenExist;
+    private final String[] childrenAbsent;
+    private final Map< String, String > nodeRestrictions;
+    private final Map< String, String > childRestrictions;
+
+    /**
+     * @param transaction
+     *        the transaction used to read the rule (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param rule
+     *        the rule being compiled (cannot be <code>null</code>)
+     * @throws KException
+     *         if an error occurs reading the rule
+     */
+    CompiledRule( final UnitOfWork transaction,
+                  final RuleImpl rule ) throws KException {
+        this.name = rule.getName( transaction );
+        this.nodeType = rule.getNodeType( transaction );
+        this.validationType = rule.getValidationType( transaction );
+        this.ruleType = rule.getRuleType( transaction );
+        this.severity = rule.getSeverity( transaction );
+        this.enabled = rule.isEnabled( transaction );
+        this.required = getBooleanValue( transaction, rule, KomodoLexicon.Rule.REQUIRED, false );
+        this.jcrName = getStringValue( transaction, rule, KomodoLexicon.Rule.JCR_NAME );
+        this.matchType = getBooleanValue( transaction, rule, KomodoLexicon.Rule.MATCH_TYPE, false );
+        this.propsExist = getStringValues( transaction, rule, KomodoLexicon.Rule.PROP_EXISTS );
+        this.propsAbsent = getStringValues( transaction, rule, KomodoLexicon.Rule.PROP_ABSENT );
+        this.childrenExist = getStringValues( transaction, rule, KomodoLexicon.Rule.CHILD_EXISTS );
+        this.childrenAbsent = getStringValues( transaction, rule, KomodoLexicon.Rule.CHILD_ABSENT );
+        this.nodeRestrictions = Collections.unmodifiableMap( rule.getPropRestrictions( transaction, PropertyRestriction.NODE ) );
+        this.childRestrictions = Collections.unmodifiableMap( rule.getPropRestrictions( transaction, PropertyRestriction.CHILD ) );
+
+        this.regex = getStringValue( transaction, rule, KomodoLexicon.Rule.PATTERN );
+        this.minString = getStringValue( transaction, rule, KomodoLexicon.Rule.MIN_VALUE );
+        this.minInclusive = getBooleanValue( transaction, rule, KomodoLexicon.Rule.MIN_VALUE_INCLUSIVE, true );
+        this.maxString = getStringValue( transaction, rule, KomodoLexicon.Rule.MAX_VALUE );
+        this.maxInclusive = getBooleanValue( transaction, rule, KomodoLexicon.Rule.MAX_VALUE_INCLUSIVE, true );
+
+        Double min = null;
+        Double max = null;
+        boolean nonNumeric = false;
+
+        try {
+            // NumberFormat is not thread safe so one is only used while compiling
+            final NumberFormat format = NumberFormat.getInstance();
+
+            if ( this.minString != null ) {
+                min = format.parse( this.minString ).doubleValue();
+            }
+
+            if ( this.maxString != null ) {
+                max = format.parse( this.maxString ).doubleValue();
+            }
+        } catch ( final ParseException e ) {
+            // not a valid number rule and should be caught by XSD validation
+            nonNumeric = true;
+        }
+
+        this.minValue = min;
+        this.maxValue = max;
+        this.nonNumericBounds = nonNumeric;
+    }
+
+    /**
+     * @return the name of the rule (never empty)
+     */
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the node type the rule applies to (can be <code>null</code>)
+     */
+    String getNodeType() {
+        return this.nodeType;
+    }
+
+    /**
+     * @return the validation type (never <code>null</code>)
+     */
+    ValidationType getValidationType() {
+        return this.validationType;
+    }
+
+    /**
+     * @return the rule type (never <code>null</code>)
+     */
+    RuleType getRuleType() {
+        return this.ruleType;
+    }
+
+    /**
+     * @return the severity of a failed evaluation (never <code>null</code>)
+     */
+    Level getSeverity() {
+        return this.severity;
+    }
+
+    /**
+     * @return <code>true</code> if the rule is enabled
+     */
+    boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @return <code>true</code> if the property or child validated by the rule must exist
+     */
+    boolean isRequired() {
+        return this.required;
+    }
+
+    /**
+     * @return the name of the property or the type of the child validated by the rule (can be <code>null</code>)
+     */
+    String getJcrName() {
+        return this.jcrName;
+    }
+
+    /**
+     * @param value
+     *        the node name or property value being checked (cannot be <code>null</code>)
+     * @return <code>true</code> if the value matches the pattern of the rule
+     * @throws KException
+     *         if the pattern of the rule is not valid
+     */
+    boolean matches( final String value ) throws KException {
+        assert ( this.regex != null );
+        Pattern result = this.pattern;
+
+        if ( result == null ) {
+            try {
+                result = Pattern.compile( this.regex );
+            } catch ( final Exception e ) {
+                throw new KException( e );
+            }
+
+            this.pattern = result;
+        }
+
+        return result.matcher( value ).matches();
+    }
+
+    /**
+     * @return <code>true</code> if the rule has a minimum value
+     */
+    boolean hasMinValue() {
+        return ( this.minString != null );
+    }
+
+    /**
+     * @return <code>true</code> if the rule has a maximum value
+     */
+    boolean hasMaxValue() {
+        return ( this.maxString != null );
+    }
+
+    /**
+     * @return the minimum value as found in the rule (can be <code>null</code>)
+     */
+    String getMinString() {
+        return this.minString;
+    }
+
+    /**
+     * @return the maximum value as found in the rule (can be <code>null</code>)
+     */
+    String getMaxString() {
+        return this.maxString;
+    }
+
+    /**
+     * @return <code>true</code> if a minimum or maximum value of the rule is not a number
+     */
+    boolean hasNonNumericBounds() {
+        return this.nonNumericBounds;
+    }
+
+    /**
+     * @param value
+     *        the value being checked
+     * @return <code>true</code> if the value is below the minimum value of the rule
+     */
+    boolean isBelowMin( final double value ) {
+        if ( this.minValue == null ) {
+            return false;
+        }
+
+        final int result = Double.compare( value, this.minValue );
+        return ( ( this.minInclusive && ( result < 0 ) ) || ( !this.minInclusive && ( result <= 0 ) ) );
+    }
+
+    /**
+     * @param value
+     *        the value being checked
+     * @return <code>true</code> if the value is above the maximum value of the rule
+     */
+    boolean isAboveMax( final double value ) {
+        if ( this.maxValue == null ) {
+            return false;
+        }
+
+        final int result = Double.compare( value, this.maxValue );
+        return ( ( this.maxInclusive && ( result > 0 ) ) || ( !this.maxInclusive && ( result >= 0 ) ) );
+    }
+
+    /**
+     * @return <code>true</code> if same name siblings are only checked among the children of the rule's child type
+     */
+    boolean isMatchType() {
+        return this.matchType;
+    }
+
+    /**
+     * @return the names of the properties that must exist (never <code>null</code>)
+     */
+    String[] getPropsExist() {
+        return this.propsExist;
+    }
+
+    /**
+     * @return the names of the properties that must not exist (never <code>null</code>)
+     */
+    String[] getPropsAbsent() {
+        return this.propsAbsent;
+    }
+
+    /**
+     * @return the types of the children that must exist (never <code>null</code>)
+     */
+    String[] getChildrenExist() {
+        return this.childrenExist;
+    }
+
+    /**
+     * @return the types of the children that must not exist (never <code>null</code>)
+     */
+    String[] getChildrenAbsent() {
+        return this.childrenAbsent;
+    }
+
+    /**
+     * @return the property restrictions of the objects the rule applies to (never <code>null</code>)
+     */
+    Map< String, String > getNodeRestrictions() {
+        return this.nodeRestrictions;
+    }
+
+    /**
+     * @return the property restrictions of the children validated by the rule (never <code>null</code>)
+     */
+    Map< String, String > getChildRestrictions() {
+        return this.childRestrictions;
+    }
+
+}
@@ -21,8 +21,6 @@
  */
 package org.komodo.repository.validation;
 
-import java.text.NumberFormat;
-import java.text.ParseException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
@@ -125,6 +123,26 @@ public class RuleImpl extends ObjectImpl implements Rule {
         return result.toString();
     }
 
+    /**
+     * A compiled rule and the version of the validation manager's rules it was compiled from.
+     */
+    private static final class Snapshot {
+
+        private final int rulesVersion;
+        private final CompiledRule rule;
+
+        Snapshot( final int rulesVersion,
+                  final CompiledRule rule ) {
+            this.rulesVersion = rulesVersion;
+            this.rule = rule;
+        }
+
+    }
+
+    private final ValidationManagerImpl manager;
+
+    private volatile Snapshot snapshot;
+
     /**
      * Constructs a validation rule.
      *
@@ -140,7 +158,69 @@ public class RuleImpl extends ObjectImpl implements Rule {
     public RuleImpl( final UnitOfWork uow,
                      final Repository repository,
                      final String path ) throws KException {
+        this( uow, repository, path, null );
+    }
+
+    /**
+     * Constructs a validation rule shared by the transactions using the specified validation manager.
+     *
+     * @param uow
+     *        the transaction (can be <code>null</code> if update should be automatically committed)
+     * @param repository
+     *        the repository where the relational object exists (cannot be <code>null</code>)
+     * @param path
+     *        the path (cannot be empty but assumed to be a path to a rule)
+     * @param manager
+     *        the validation manager tracking changes to the rules (can be <code>null</code> if the rule is not shared)
+     * @throws KException
+     *         if an error occurs
+     */
+    RuleImpl( final UnitOfWork uow,
+              final Repository repository,
+              final String path,
+              final ValidationManagerImpl manager ) throws KException {
         super( repository, path, 0 );
+        this.manager = manager;
+    }
+
+    /**
+     * Reads the settings of this rule. When the rule belongs to a validation manager, the result is kept until the manager's
+     * rules change. A transaction with uncommitted rule changes always reads the rule again and its result is not kept, so
+     * other transactions never see those changes. A rule without a manager is read each time.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @return the compiled rule (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    CompiledRule compile( final UnitOfWork transaction ) throws KException {
+        if ( this.manager == null ) {
+            return new CompiledRule( transaction, this );
+        }
+
+        final int version = this.manager.getRulesVersion( transaction );
+        final Snapshot current = this.snapshot;
+
+        if ( ( current != null ) && ( version != ValidationManagerImpl.UNSHARED_VERSION )
+             && ( current.rulesVersion == version ) ) {
+            return current.rule;
+        }
+
+        final CompiledRule result = new CompiledRule( transaction, this );
+
+        if ( version != ValidationManagerImpl.UNSHARED_VERSION ) {
+            this.snapshot = new Snapshot( version, result );
+        }
+
+        return result;
+    }
+
+    private void ruleChanged( final UnitOfWork transaction ) {
+        if ( this.manager != null ) {
+            this.manager.rulesChanged( transaction );
+        }
     }
 
     /**
@@ -156,23 +236,23 @@ public class RuleImpl extends ObjectImpl implements Rule {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
         ArgCheck.isNotNull( kobject, "kobject" ); //$NON-NLS-1$
 
-        if ( !isEnabled( transaction ) ) {
-            return new ProblemRule(getName(transaction),ProblemRule.Type.NOT_ENABLED).evaluate(transaction, kobject);
-        }
-
         try {
-            final RuleType ruleType = getRuleType( transaction );
+            final CompiledRule rule = compile( transaction );
+
+            if ( !rule.isEnabled() ) {
+                return new ProblemRule( rule.getName(), ProblemRule.Type.NOT_ENABLED ).evaluate( transaction, kobject );
+            }
 
-            switch ( getValidationType( transaction ) ) {
+            switch ( rule.getValidationType() ) {
                 case NODE:
-                    return evaluateNodeRule( transaction, kobject, ruleType );
+                    return evaluateNodeRule( transaction, kobject, rule );
                 case PROPERTY:
-                    return evaluatePropertyRule( transaction, kobject, ruleType );
+                    return evaluatePropertyRule( transaction, kobject, rule );
                 case CHILD:
-                    return evaluateChildRule( transaction, kobject, ruleType );
+                    return evaluateChildRule( transaction, kobject, rule );
                 default:
                     // need to add new validation type
-                    throw new RuntimeException( "Unexpected validation type of '" + getValidationType( transaction ) + '\'' ); //$NON-NLS-1$
+                    throw new RuntimeException( "Unexpected validation type of '" + rule.getValidationType() + '\'' ); //$NON-NLS-1$
             }
         } catch ( final Exception e ) {
             if ( e instanceof KException ) {
@@ -185,121 +265,65 @@ public class RuleImpl extends ObjectImpl implements Rule {
 
     private Result evaluateChildRule( final UnitOfWork transaction,
                                       final KomodoObject kobject,
-                                      final RuleType ruleType ) throws KException {
-        final Property childTypeProp = getProperty( transaction, KomodoLexicon.Rule.JCR_NAME );
-        assert ( childTypeProp != null );
+                                      final CompiledRule rule ) throws KException {
+        final String childType = rule.getJcrName();
+        assert ( childType != null );
 
-        final String childType = childTypeProp.getStringValue( transaction );
-        final Map<String,String> propRestrictions = getPropRestrictions(transaction,PropertyRestriction.CHILD);
-        
         // Determine if a child that passes the type and property restrictions exists
-        KomodoObject[] matchingChildren = ValidationUtils.getChildrenMatchingTypeAndPropRestrictions(transaction, kobject, childType, propRestrictions);
+        KomodoObject[] matchingChildren = ValidationUtils.getChildrenMatchingTypeAndPropRestrictions(transaction, kobject, childType, rule.getChildRestrictions());
         boolean hasChildWithTypeAndRestrictions = matchingChildren.length > 0;
         
-        // Determine if the property is required
-        final Property childRequired = getProperty( transaction, KomodoLexicon.Rule.REQUIRED );
-        boolean childRqd = false;
-        if(childRequired!=null) {
-            childRqd = childRequired.getBooleanValue( transaction );
-        }
-        
         String errorMsg = null;
         String[] args = null;
 
         // Child required but does not exist.
-        if(childRqd && !hasChildWithTypeAndRestrictions) {
+        if(rule.isRequired() && !hasChildWithTypeAndRestrictions) {
             // Use rule description if found, otherwise use a default 'child not found' message.
             errorMsg = getDescription( transaction );
             if( StringUtils.isBlank(errorMsg) ) {
                 args = new String[] { childType, kobject.getName( transaction ), kobject.getAbsolutePath() };
                 errorMsg = Messages.getString( Messages.Validation.CHILD_OF_REQUIRED_TYPE_NOT_FOUND, ( Object[] )args );
             }
-            return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), getSeverity( transaction ), errorMsg );
+            return new ResultImpl( kobject.getAbsolutePath(), rule.getName(), rule.getSeverity(), errorMsg );
         }
         
-        switch ( ruleType ) {
+        switch ( rule.getRuleType() ) {
             case NUMBER: {
                 final Integer childCount = matchingChildren.length;
-                boolean minChecked = false;
-                boolean maxChecked = false;
-
-                try {
-                    { // check min value
-                        final Property minValueProp = getProperty( transaction, KomodoLexicon.Rule.MIN_VALUE );
-
-                        if ( minValueProp != null ) {
-                            minChecked = true;
-                            boolean inclusive = true;
-                            final Property minInclusiveProp = getProperty( transaction, KomodoLexicon.Rule.MIN_VALUE_INCLUSIVE );
-
-                            if ( minInclusiveProp != null ) {
-                                inclusive = minInclusiveProp.getBooleanValue( transaction );
-                            }
-
-                            final String minString = minValueProp.getStringValue( transaction );
-                            final Number minValue = NumberFormat.getInstance().parse( minString );
-                            final int result = Double.compare( childCount.doubleValue(), minValue.doubleValue() );
-
-                            if ( ( inclusive && ( result < 0 ) ) || ( !inclusive && ( result <= 0 ) ) ) {
-                                // Get specific message or description
-                                errorMsg = getMessageOrDescription( transaction, MessageKey.CHILD_COUNT_BELOW_MIN_VALUE.name() );
-                                // If rule does not have message or description for the locale, use a default.
-                                if(StringUtils.isBlank(errorMsg)) {
-                                    args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), childCount.toString(), childType, minString };
-                                    errorMsg = Messages.getString( Messages.Validation.CHILD_COUNT_BELOW_MIN_VALUE, ( Object[] )args );
-                                }
-                            }
-                        }
-                    }
-
-                    if ( StringUtils.isBlank( errorMsg ) ) {
-                        { // check max value
-                            final Property maxValueProp = getProperty( transaction, KomodoLexicon.Rule.MAX_VALUE );
-
-                            if ( maxValueProp != null ) {
-                                maxChecked = true;
-                                boolean inclusive = true;
-                                final Property maxInclusiveProp = getProperty( transaction, KomodoLexicon.Rule.MAX_VALUE_INCLUSIVE );
-
-                                if ( maxInclusiveProp != null ) {
-                                    inclusive = maxInclusiveProp.getBooleanValue( transaction );
-                                }
 
-                                final String maxString = maxValueProp.getStringValue( transaction );
-                                final Number maxValue = NumberFormat.getInstance().parse( maxString );
-                                final int result = Double.compare( childCount.doubleValue(), maxValue.doubleValue() );
-
-                                if ( ( inclusive && ( result > 0 ) ) || ( !inclusive && ( result >= 0 ) ) ) {
-                                    // Get specific message or description
-                                    errorMsg = getMessageOrDescription( transaction, MessageKey.CHILD_COUNT_ABOVE_MAX_VALUE.name() );
-                                    // If rule does not have message or description for the locale, use a default.
-                                    if(StringUtils.isBlank(errorMsg)) {
-                                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), childCount.toString(), childType, maxString };
-                                        errorMsg = Messages.getString( Messages.Validation.CHILD_COUNT_ABOVE_MAX_VALUE, ( Object[] )args );
-                                    }
-                                }
-                            }
-                        }
-                    }
-
-                    if ( StringUtils.isBlank( errorMsg ) && !minChecked && !maxChecked ) {
-                        // Get specific message or description
-                        errorMsg = getMessageOrDescription( transaction, MessageKey.NUMBER_RULE_HAS_NO_VALUES.name() );
-                        // If rule does not have message or description for the locale, use a default.
-                        if(StringUtils.isBlank(errorMsg)) {
-                            args = new String[] { getName( transaction ) };
-                            errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_HAS_NO_VALUES, ( Object[] )args );
-                        }
-                    }
-                } catch ( final ParseException ex ) {
+                if ( rule.hasNonNumericBounds() ) {
                     // not a valid number rule and should be caught by XSD validation
                     // Get specific message or description
                     errorMsg = getMessageOrDescription( transaction, MessageKey.NUMBER_RULE_NON_NUMERIC_VALUES.name() );
                     // If rule does not have message or description for the locale, use a default.
                     if(StringUtils.isBlank(errorMsg)) {
-                        args = new String[] { getName( transaction ) };
+                        args = new String[] { rule.getName() };
                         errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_NON_NUMERIC_VALUES, ( Object[] )args );
                     }
+                } else if ( rule.isBelowMin( childCount.doubleValue() ) ) {
+                    // Get specific message or description
+                    errorMsg = getMessageOrDescription( transaction, MessageKey.CHILD_COUNT_BELOW_MIN_VALUE.name() );
+                    // If rule does not have message or description for the locale, use a default.
+                    if(StringUtils.isBlank(errorMsg)) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), childCount.toString(), childType, rule.getMinString() };
+                        errorMsg = Messages.getString( Messages.Validation.CHILD_COUNT_BELOW_MIN_VALUE, ( Object[] )args );
+                    }
+                } else if ( rule.isAboveMax( childCount.doubleValue() ) ) {
+                    // Get specific message or description
+                    errorMsg = getMessageOrDescription( transaction, MessageKey.CHILD_COUNT_ABOVE_MAX_VALUE.name() );
+                    // If rule does not have message or description for the locale, use a default.
+                    if(StringUtils.isBlank(errorMsg)) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), childCount.toString(), childType, rule.getMaxString() };
+                        errorMsg = Messages.getString( Messages.Validation.CHILD_COUNT_ABOVE_MAX_VALUE, ( Object[] )args );
+                    }
+                } else if ( !rule.hasMinValue() && !rule.hasMaxValue() ) {
+                    // Get specific message or description
+                    errorMsg = getMessageOrDescription( transaction, MessageKey.NUMBER_RULE_HAS_NO_VALUES.name() );
+                    // If rule does not have message or description for the locale, use a default.
+                    if(StringUtils.isBlank(errorMsg)) {
+                        args = new String[] { rule.getName() };
+                        errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_HAS_NO_VALUES, ( Object[] )args );
+                    }
                 }
 
                 break;
@@ -314,20 +338,16 @@ public class RuleImpl extends ObjectImpl implements Rule {
                 for( KomodoObject kidObj : matchingChildren ) {
                     
                     { // props exist
-                        final Property propExistsProp = getProperty( transaction, KomodoLexicon.Rule.PROP_EXISTS );
-
-                        if ( propExistsProp != null ) {
-                            for ( final String prop : propExistsProp.getStringValues( transaction ) ) {
-                                if ( !kidObj.hasProperty( transaction, prop ) ) {
-                                    // Get specific message or description
-                                    errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_REQUIRED_PROPERTY_NOT_FOUND.name() );
-                                    // If rule does not have message or description for the locale, use a default.
-                                    if(StringUtils.isBlank(errorMsg)) {
-                                        args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, prop };
-                                        errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_PROPERTY_NOT_FOUND, ( Object[] )args );
-                                    }
-                                    break;
+                        for ( final String prop : rule.getPropsExist() ) {
+                            if ( !kidObj.hasProperty( transaction, prop ) ) {
+                                // Get specific message or description
+                                errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_REQUIRED_PROPERTY_NOT_FOUND.name() );
+                                // If rule does not have message or description for the locale, use a default.
+                                if(StringUtils.isBlank(errorMsg)) {
+                                    args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, prop };
+                                    errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_PROPERTY_NOT_FOUND, ( Object[] )args );
                                 }
+                                break;
                             }
                         }
                     }
@@ -337,20 +357,16 @@ public class RuleImpl extends ObjectImpl implements Rule {
                     }
 
                     { // props absent
-                        final Property propAbsentProp = getProperty( transaction, KomodoLexicon.Rule.PROP_ABSENT );
-
-                        if ( propAbsentProp != null ) {
-                            for ( final String prop : propAbsentProp.getStringValues( transaction ) ) {
-                                if ( kidObj.hasProperty( transaction, prop ) ) {
-                                    // Get specific message or description
-                                    errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_ABSENT_PROPERTY_FOUND.name() );
-                                    // If rule does not have message or description for the locale, use a default.
-                                    if(StringUtils.isBlank(errorMsg)) {
-                                        args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, prop };
-                                        errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_ABSENT_PROPERTY_FOUND, ( Object[] )args );
-                                    }
-                                    break;
+                        for ( final String prop : rule.getPropsAbsent() ) {
+                            if ( kidObj.hasProperty( transaction, prop ) ) {
+                                // Get specific message or description
+                                errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_ABSENT_PROPERTY_FOUND.name() );
+                                // If rule does not have message or description for the locale, use a default.
+                                if(StringUtils.isBlank(errorMsg)) {
+                                    args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, prop };
+                                    errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_ABSENT_PROPERTY_FOUND, ( Object[] )args );
                                 }
+                                break;
                             }
                         }
                     }
@@ -360,20 +376,16 @@ public class RuleImpl extends ObjectImpl implements Rule {
                     }
 
                     { // children exist
-                        final Property childExistsProp = getProperty( transaction, KomodoLexicon.Rule.CHILD_EXISTS );
-
-                        if ( childExistsProp != null ) {
-                            for ( final String kidType : childExistsProp.getStringValues( transaction ) ) {
-                                if ( kidObj.getChildrenOfType( transaction, kidType ).length == 0 ) {
-                                    // Get specific message or description
-                                    errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND.name() );
-                                    // If rule does not have message or description for the locale, use a default.
-                                    if(StringUtils.isBlank(errorMsg)) {
-                                        args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, kidType };
-                                        errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND, ( Object[] )args );
-                                    }
-                                    break;
+                        for ( final String kidType : rule.getChildrenExist() ) {
+                            if ( kidObj.getChildrenOfType( transaction, kidType ).length == 0 ) {
+                                // Get specific message or description
+                                errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND.name() );
+                                // If rule does not have message or description for the locale, use a default.
+                                if(StringUtils.isBlank(errorMsg)) {
+                                    args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, kidType };
+                                    errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND, ( Object[] )args );
                                 }
+                                break;
                             }
                         }
                     }
@@ -383,21 +395,17 @@ public class RuleImpl extends ObjectImpl implements Rule {
                     }
 
                     { // children absent
-                        final Property childAbsentProp = getProperty( transaction, KomodoLexicon.Rule.CHILD_ABSENT );
-
-                        if ( childAbsentProp != null ) {
-                            for ( final String kidType : childAbsentProp.getStringValues( transaction ) ) {
-                                if ( kidObj.getChildrenOfType( transaction, kidType ).length > 0 ) {
-                                    args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, kidType };
+                        for ( final String kidType : rule.getChildrenAbsent() ) {
+                            if ( kidObj.getChildrenOfType( transaction, kidType ).length > 0 ) {
+                                args = new String[] { kidObj.getName( transaction ), kidObj.getAbsolutePath(), childType, kidType };
 
-                                    // Get specific message or description
-                                    errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_ABSENT_CHILD_FOUND.name() );
-                                    // If rule does not have message or description for the locale, use a default.
-                                    if(StringUtils.isBlank(errorMsg)) {
-                                        errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_ABSENT_CHILD_FOUND, ( Object[] )args );
-                                    }
-                                    break;
+                                // Get specific message or description
+                                errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_ABSENT_CHILD_FOUND.name() );
+                                // If rule does not have message or description for the locale, use a default.
+                                if(StringUtils.isBlank(errorMsg)) {
+                                    errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_ABSENT_CHILD_FOUND, ( Object[] )args );
                                 }
+                                break;
                             }
                         }
                     }
@@ -408,15 +416,8 @@ public class RuleImpl extends ObjectImpl implements Rule {
             }
             case SAME_NAME_SIBLING: {
                 // Determine of only checking matches according to type
-                boolean matchOnType = false;
-                final Property matchOnTypeProp = getProperty( transaction, KomodoLexicon.Rule.MATCH_TYPE );
-
-                if ( matchOnTypeProp != null ) {
-                    matchOnType = matchOnTypeProp.getBooleanValue( transaction );
-                }
-                
                 KomodoObject[] kids = null;
-                if(matchOnType) {
+                if(rule.isMatchType()) {
                     kids = matchingChildren;
                 } else {
                     kids = kobject.getChildren( transaction );
@@ -451,27 +452,24 @@ public class RuleImpl extends ObjectImpl implements Rule {
         }
 
         if ( StringUtils.isBlank( errorMsg ) ) {
-            return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), Level.OK, StringConstants.EMPTY_STRING );
+            return new ResultImpl( kobject.getAbsolutePath(), rule.getName(), Level.OK, StringConstants.EMPTY_STRING );
         }
 
         assert ( !StringUtils.isBlank( errorMsg ) );
-        return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), getSeverity( transaction ), errorMsg );
+        return new ResultImpl( kobject.getAbsolutePath(), rule.getName(), rule.getSeverity(), errorMsg );
     }
     
     private Result evaluateNodeRule( final UnitOfWork transaction,
                                      final KomodoObject kobject,
-                                     final RuleType ruleType ) throws KException {
+                                     final CompiledRule rule ) throws KException {
         String errorMsg = null;
         String[] args = null;
 
-        switch ( ruleType ) {
+        switch ( rule.getRuleType() ) {
             case PATTERN: {
-                final Property patternProp = getProperty( transaction, KomodoLexicon.Rule.PATTERN );
-                assert ( patternProp != null );
-
                 final String name = kobject.getName( transaction );
 
-                if ( !name.matches( patternProp.getStringValue( transaction ) ) ) {
+                if ( !rule.matches( name ) ) {
                     args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath() };
 
                     // Get specific message or description
@@ -495,52 +493,41 @@ public class RuleImpl extends ObjectImpl implements Rule {
         }
 
         if ( StringUtils.isBlank( errorMsg ) ) {
-            return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), Level.OK, StringConstants.EMPTY_STRING );
+            return new ResultImpl( kobject.getAbsolutePath(), rule.getName(), Level.OK, StringConstants.EMPTY_STRING );
         }
 
         assert ( !StringUtils.isBlank( errorMsg ) );
-        return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), getSeverity( transaction ), errorMsg );
+        return new ResultImpl( kobject.getAbsolutePath(), rule.getName(), rule.getSeverity(), errorMsg );
     }
 
     private Result evaluatePropertyRule( final UnitOfWork transaction,
                                          final KomodoObject kobject,
-                                         final RuleType ruleType ) throws KException {
-        final Property jcrNameProp = getProperty( transaction, KomodoLexicon.Rule.JCR_NAME );
-        assert ( jcrNameProp != null );
+                                         final CompiledRule rule ) throws KException {
+        final String propName = rule.getJcrName();
+        assert ( propName != null );
 
-        final String propName = jcrNameProp.getStringValue( transaction );
         final boolean exists = kobject.hasProperty( transaction, propName );
         
-        // Determine if the property is required
-        final Property propRequired = getProperty( transaction, KomodoLexicon.Rule.REQUIRED );
-        boolean propRqd = false;
-        if(propRequired!=null) {
-            propRqd = propRequired.getBooleanValue( transaction );
-        }
-        
         String errorMsg = null;
         String[] args = null;
         
         // Property is required but does not exist
-        if ( propRqd && !exists ) {
+        if ( rule.isRequired() && !exists ) {
             // Use rule description if found, otherwise use a default 'property not found' message.
             errorMsg = getDescription( transaction );
             if( StringUtils.isBlank(errorMsg) ) {
                 args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName };
                 errorMsg = Messages.getString( Messages.Validation.REQUIRED_PROPERTY_NOT_FOUND, ( Object[] )args );
             }
-            return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), getSeverity( transaction ), errorMsg );
+            return new ResultImpl( kobject.getAbsolutePath(), rule.getName(), rule.getSeverity(), errorMsg );
         }
 
-        switch ( ruleType ) {
+        switch ( rule.getRuleType() ) {
             case PATTERN: {
                 // check value against the pattern
-                final Property patternProp = getProperty( transaction, KomodoLexicon.Rule.PATTERN );
-                assert ( patternProp != null );
-
                 final String value = kobject.getProperty( transaction, propName ).getStringValue( transaction );
 
-                if ( !value.matches( patternProp.getStringValue( transaction ) ) ) {
+                if ( !rule.matches( value ) ) {
                     args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName };
 
                     // Get specific message or description
@@ -554,94 +541,47 @@ public class RuleImpl extends ObjectImpl implements Rule {
                 break;
             }
             case NUMBER: {
-                boolean minChecked = false;
-                boolean maxChecked = false;
                 final String valueString = kobject.getProperty( transaction, propName ).getStringValue( transaction );
 
                 if ( StringUtils.isNumber( valueString ) ) {
-                    try {
-                        final Number value = NumberFormat.getInstance().parse( valueString );
-
-                        { // check min value
-                            final Property minValueProp = getProperty( transaction, KomodoLexicon.Rule.MIN_VALUE );
+                    final double value = Double.parseDouble( valueString );
 
-                            if ( minValueProp != null ) {
-                                minChecked = true;
-                                boolean inclusive = true;
-                                final Property minInclusiveProp = getProperty( transaction, KomodoLexicon.Rule.MIN_VALUE_INCLUSIVE );
-
-                                if ( minInclusiveProp != null ) {
-                                    inclusive = minInclusiveProp.getBooleanValue( transaction );
-                                }
-
-                                final String minString = minValueProp.getStringValue( transaction );
-                                final Number minValue = NumberFormat.getInstance().parse( minString );
-                                final int result = Double.compare( value.doubleValue(), minValue.doubleValue() );
-
-                                if ( ( inclusive && ( result < 0 ) ) || ( !inclusive && ( result <= 0 ) ) ) {
-                                    args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, valueString, minString };
+                    if ( rule.hasNonNumericBounds() ) {
+                        // not a valid number rule and should be caught by XSD validation
+                        args = new String[] { rule.getName() };
 
-                                    // Get specific message or description
-                                    errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_VALUE_BELOW_MIN_VALUE.name() );
-                                    // If rule does not have message or description for the locale, use a default.
-                                    if(StringUtils.isBlank(errorMsg)) {
-                                        errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_VALUE_BELOW_MIN_VALUE, ( Object[] )args );
-                                    }
-                                }
-                            }
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( transaction, MessageKey.NUMBER_RULE_NON_NUMERIC_VALUES.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_NON_NUMERIC_VALUES, ( Object[] )args );
                         }
+                    } else if ( rule.isBelowMin( value ) ) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, valueString, rule.getMinString() };
 
-                        if ( StringUtils.isBlank( errorMsg ) ) {
-                            { // check max value
-                                final Property maxValueProp = getProperty( transaction, KomodoLexicon.Rule.MAX_VALUE );
-
-                                if ( maxValueProp != null ) {
-                                    maxChecked = true;
-                                    boolean inclusive = true;
-                                    final Property maxInclusiveProp = getProperty( transaction,
-                                                                                   KomodoLexicon.Rule.MAX_VALUE_INCLUSIVE );
-
-                                    if ( maxInclusiveProp != null ) {
-                                        inclusive = maxInclusiveProp.getBooleanValue( transaction );
-                                    }
-
-                                    final String maxString = maxValueProp.getStringValue( transaction );
-                                    final Number maxValue = NumberFormat.getInstance().parse( maxString );
-                                    final int result = Double.compare( value.doubleValue(), maxValue.doubleValue() );
-
-                                    if ( ( inclusive && ( result > 0 ) ) || ( !inclusive && ( result >= 0 ) ) ) {
-                                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, valueString, maxString };
-
-                                        // Get specific message or description
-                                        errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_VALUE_ABOVE_MAX_VALUE.name() );
-                                        // If rule does not have message or description for the locale, use a default.
-                                        if(StringUtils.isBlank(errorMsg)) {
-                                            errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_VALUE_ABOVE_MAX_VALUE, ( Object[] )args );
-                                        }
-                                    }
-                                }
-                            }
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_VALUE_BELOW_MIN_VALUE.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_VALUE_BELOW_MIN_VALUE, ( Object[] )args );
                         }
+                    } else if ( rule.isAboveMax( value ) ) {
+                        args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, valueString, rule.getMaxString() };
 
-                        if ( StringUtils.isBlank( errorMsg ) && !minChecked && !maxChecked ) {
-                            args = new String[] { getName( transaction ) };
-
-                            // Get specific message or description
-                            errorMsg = getMessageOrDescription( transaction, MessageKey.NUMBER_RULE_HAS_NO_VALUES.name() );
-                            // If rule does not have message or description for the locale, use a default.
-                            if(StringUtils.isBlank(errorMsg)) {
-                                errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_HAS_NO_VALUES, ( Object[] )args );
-                            }
+                        // Get specific message or description
+                        errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_VALUE_ABOVE_MAX_VALUE.name() );
+                        // If rule does not have message or description for the locale, use a default.
+                        if(StringUtils.isBlank(errorMsg)) {
+                            errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_VALUE_ABOVE_MAX_VALUE, ( Object[] )args );
                         }
-                    } catch ( final ParseException ex ) {
-                        // not a valid number rule and should be caught by XSD validation
-                        args = new String[] { getName( transaction ) };
+                    } else if ( !rule.hasMinValue() && !rule.hasMaxValue() ) {
+                        args = new String[] { rule.getName() };
 
                         // Get specific message or description
-                        errorMsg = getMessageOrDescription( transaction, MessageKey.NUMBER_RULE_NON_NUMERIC_VALUES.name() );
+                        errorMsg = getMessageOrDescription( transaction, MessageKey.NUMBER_RULE_HAS_NO_VALUES.name() );
                         // If rule does not have message or description for the locale, use a default.
                         if(StringUtils.isBlank(errorMsg)) {
-                            errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_NON_NUMERIC_VALUES, ( Object[] )args );
+                            errorMsg = Messages.getString( Messages.Validation.NUMBER_RULE_HAS_NO_VALUES, ( Object[] )args );
                         }
                     }
                 }
@@ -650,21 +590,17 @@ public class RuleImpl extends ObjectImpl implements Rule {
             }
             case RELATIONSHIP: {
                 { // props exist
-                    final Property propExistsProp = getProperty( transaction, KomodoLexicon.Rule.PROP_EXISTS );
-
-                    if ( propExistsProp != null ) {
-                        for ( final String prop : propExistsProp.getStringValues( transaction ) ) {
-                            if ( !kobject.hasProperty( transaction, prop ) ) {
-                                args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, prop };
+                    for ( final String prop : rule.getPropsExist() ) {
+                        if ( !kobject.hasProperty( transaction, prop ) ) {
+                            args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, prop };
 
-                                // Get specific message or description
-                                errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_REQUIRED_PROPERTY_NOT_FOUND.name() );
-                                // If rule does not have message or description for the locale, use a default.
-                                if(StringUtils.isBlank(errorMsg)) {
-                                    errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_REQUIRED_PROPERTY_NOT_FOUND, ( Object[] )args );
-                                }
-                                break;
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_REQUIRED_PROPERTY_NOT_FOUND.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_REQUIRED_PROPERTY_NOT_FOUND, ( Object[] )args );
                             }
+                            break;
                         }
                     }
                 }
@@ -674,21 +610,17 @@ public class RuleImpl extends ObjectImpl implements Rule {
                 }
 
                 { // props absent
-                    final Property propAbsentProp = getProperty( transaction, KomodoLexicon.Rule.PROP_ABSENT );
-
-                    if ( propAbsentProp != null ) {
-                        for ( final String prop : propAbsentProp.getStringValues( transaction ) ) {
-                            if ( kobject.hasProperty( transaction, prop ) ) {
-                                args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, prop };
+                    for ( final String prop : rule.getPropsAbsent() ) {
+                        if ( kobject.hasProperty( transaction, prop ) ) {
+                            args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, prop };
 
-                                // Get specific message or description
-                                errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_ABSENT_PROPERTY_FOUND.name() );
-                                // If rule does not have message or description for the locale, use a default.
-                                if(StringUtils.isBlank(errorMsg)) {
-                                    errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_ABSENT_PROPERTY_FOUND, ( Object[] )args );
-                                }
-                                break;
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_ABSENT_PROPERTY_FOUND.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_ABSENT_PROPERTY_FOUND, ( Object[] )args );
                             }
+                            break;
                         }
                     }
                 }
@@ -698,21 +630,17 @@ public class RuleImpl extends ObjectImpl implements Rule {
                 }
 
                 { // children exist
-                    final Property childExistsProp = getProperty( transaction, KomodoLexicon.Rule.CHILD_EXISTS );
-
-                    if ( childExistsProp != null ) {
-                        for ( final String childType : childExistsProp.getStringValues( transaction ) ) {
-                            if ( kobject.getChildrenOfType( transaction, childType ).length == 0 ) {
-                                args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, childType };
+                    for ( final String childType : rule.getChildrenExist() ) {
+                        if ( kobject.getChildrenOfType( transaction, childType ).length == 0 ) {
+                            args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, childType };
 
-                                // Get specific message or description
-                                errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND.name() );
-                                // If rule does not have message or description for the locale, use a default.
-                                if(StringUtils.isBlank(errorMsg)) {
-                                    errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND, ( Object[] )args );
-                                }
-                                break;
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( transaction, MessageKey.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                errorMsg = Messages.getString( Messages.Validation.RELATIONSHIP_RULE_REQUIRED_CHILD_NOT_FOUND, ( Object[] )args );
                             }
+                            break;
                         }
                     }
                 }
@@ -722,21 +650,17 @@ public class RuleImpl extends ObjectImpl implements Rule {
                 }
 
                 { // children absent
-                    final Property childAbsentProp = getProperty( transaction, KomodoLexicon.Rule.CHILD_ABSENT );
-
-                    if ( childAbsentProp != null ) {
-                        for ( final String childType : childAbsentProp.getStringValues( transaction ) ) {
-                            if ( kobject.getChildrenOfType( transaction, childType ).length > 0 ) {
-                                args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, childType };
+                    for ( final String childType : rule.getChildrenAbsent() ) {
+                        if ( kobject.getChildrenOfType( transaction, childType ).length > 0 ) {
+                            args = new String[] { kobject.getName( transaction ), kobject.getAbsolutePath(), propName, childType };
 
-                                // Get specific message or description
-                                errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_ABSENT_CHILD_FOUND.name() );
-                                // If rule does not have message or description for the locale, use a default.
-                                if(StringUtils.isBlank(errorMsg)) {
-                                    errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_ABSENT_CHILD_FOUND, ( Object[] )args );
-                                }
-                                break;
+                            // Get specific message or description
+                            errorMsg = getMessageOrDescription( transaction, MessageKey.PROPERTY_RULE_ABSENT_CHILD_FOUND.name() );
+                            // If rule does not have message or description for the locale, use a default.
+                            if(StringUtils.isBlank(errorMsg)) {
+                                errorMsg = Messages.getString( Messages.Validation.PROPERTY_RULE_ABSENT_CHILD_FOUND, ( Object[] )args );
                             }
+                            break;
                         }
                     }
                 }
@@ -752,10 +676,10 @@ public class RuleImpl extends ObjectImpl implements Rule {
         }
 
         if ( StringUtils.isBlank( errorMsg ) ) {
-            return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), Level.OK, StringConstants.EMPTY_STRING );
+            return new ResultImpl( kobject.getAbsolutePath(), rule.getName(), Level.OK, StringConstants.EMPTY_STRING );
         }
 
-        return new ResultImpl( kobject.getAbsolutePath(), getName( transaction ), getSeverity( transaction ), errorMsg );
+        return new ResultImpl( kobject.getAbsolutePath(), rule.getName(), rule.getSeverity(), errorMsg );
     }
 
     /**
@@ -954,6 +878,7 @@ public class RuleImpl extends ObjectImpl implements Rule {
     @Override
     public void setRequired(UnitOfWork transaction,
                             boolean newRequired) throws KException {
+        ruleChanged( transaction );
         setObjectProperty( transaction, "setRequired", KomodoLexicon.Rule.REQUIRED, newRequired ); //$NON-NLS-1$
     }
     
@@ -965,11 +890,13 @@ public class RuleImpl extends ObjectImpl implements Rule {
     @Override
     public boolean isApplicable(UnitOfWork transaction,
                                 KomodoObject kObject) throws KException {
+        final CompiledRule rule = compile(transaction);
+
         // Object type must be compatible with the rule.
-        if (!ValidationUtils.objectTypeMatches(transaction, kObject, getNodeType(transaction))) return false;
+        if (!ValidationUtils.objectTypeMatches(transaction, kObject, rule.getNodeType())) return false;
         
         // Object properties must be compatible with the rule.
-        if (!ValidationUtils.objectPropsPassRestrictions(transaction, kObject, getPropRestrictions(transaction,Rule.PropertyRestriction.NODE))) return false;
+        if (!ValidationUtils.objectPropsPassRestrictions(transaction, kObject, rule.getNodeRestrictions())) return false;
         
         return true;
     }
@@ -995,6 +922,7 @@ public class RuleImpl extends ObjectImpl implements Rule {
     @Override
     public void setEnabled( final UnitOfWork transaction,
                             final boolean newEnabled ) throws KException {
+        ruleChanged( transaction );
         setObjectProperty( transaction, "setEnabled", KomodoLexicon.Rule.ENABLED, newEnabled ); //$NON-NLS-1$
     }
 
@@ -1007,6 +935,7 @@ public class RuleImpl extends ObjectImpl implements Rule {
     @Override
     public void setSeverity( final UnitOfWork transaction,
                              final Level newLevel ) throws KException {
+        ruleChanged( transaction );
         setObjectProperty( transaction, "setSeverity", KomodoLexicon.Rule.ENABLED, newLevel ); //$NON-NLS-1$
     }
 
@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.komodo.spi.KException;
+import org.komodo.spi.repository.Descriptor;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository.UnitOfWork;
+
+/**
+ * The {@link CompiledRule compiled} validation rules, indexed by name and by the node type they apply to. Finding the rules
+ * for an object only looks at the rules of its primary type and mixins instead of testing every rule. Instances are immutable.
+ */
+final class RuleIndex {
+
+    private static final List< RuleImpl > NO_RULES = Collections.emptyList();
+
+    private final Map< String, RuleImpl > byName = new LinkedHashMap<>();
+    private final Map< String, List< RuleImpl > > byNodeType = new HashMap<>();
+    private final Map< RuleImpl, Integer > positions = new IdentityHashMap<>();
+
+    private final Comparator< RuleImpl > definitionOrder = new Comparator< RuleImpl >() {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+         */
+        @Override
+        public int compare( final RuleImpl thisRule,
+                            final RuleImpl thatRule ) {
+            return Integer.compare( RuleIndex.this.positions.get( thisRule ), RuleIndex.this.positions.get( thatRule ) );
+        }
+    };
+
+    /**
+     * @param transaction
+     *        the transaction used to compile the rules (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param rules
+     *        the rules in the order they are defined (cannot be <code>null</code>)
+     * @throws KException
+     *         if an error occurs compiling a rule
+     */
+    RuleIndex( final UnitOfWork transaction,
+               final List< RuleImpl > rules ) throws KException {
+        for ( final RuleImpl rule : rules ) {
+            final CompiledRule compiled = rule.compile( transaction );
+            this.positions.put( rule, this.byName.size() );
+            this.byName.put( compiled.getName(), rule );
+
+            // a rule without a node type never applies
+            final String nodeType = compiled.getNodeType();
+
+            if ( nodeType != null ) {
+                List< RuleImpl > typeRules = this.byNodeType.get( nodeType );
+
+                if ( typeRules == null ) {
+                    typeRules = new ArrayList<>();
+                    this.byNodeType.put( nodeType, typeRules );
+                }
+
+                typeRules.add( rule );
+            }
+        }
+
+        for ( final Map.Entry< String, List< RuleImpl > > entry : this.byNodeType.entrySet() ) {
+            entry.setValue( Collections.unmodifiableList( entry.getValue() ) );
+        }
+    }
+
+    /**
+     * @param ruleName
+     *        the name of the rule being requested (can be empty)
+     * @return the rule or <code>null</code> if not found
+     */
+    RuleImpl get( final String ruleName ) {
+        return this.byName.get( ruleName );
+    }
+
+    /**
+     * @return all the rules in the order they are defined (never <code>null</code>)
+     */
+    Collection< RuleImpl > getRules() {
+        return Collections.unmodifiableCollection( this.byName.values() );
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param kobject
+     *        the object whose rules are being requested (cannot be <code>null</code>)
+     * @return the rules for the object's primary type and mixins, in the order they are defined (never <code>null</code> and
+     *         not modifiable). The property restrictions of the rules have not been checked.
+     * @throws KException
+     *         if an error occurs
+     */
+    List< RuleImpl > getRules( final UnitOfWork transaction,
+                               final KomodoObject kobject ) throws KException {
+        if ( this.byNodeType.isEmpty() ) {
+            return NO_RULES;
+        }
+
+        List< RuleImpl > result = this.byNodeType.get( kobject.getPrimaryType( transaction ).getName() );
+        boolean merged = false;
+
+        for ( final Descriptor mixin : kobject.getDescriptors( transaction ) ) {
+            final List< RuleImpl > mixinRules = this.byNodeType.get( mixin.getName() );
+
+            if ( mixinRules != null ) {
+                if ( result == null ) {
+                    result = mixinRules;
+                } else {
+                    if ( !merged ) {
+                        result = new ArrayList<>( result );
+                        merged = true;
+                    }
+
+                    result.addAll( mixinRules );
+                }
+            }
+        }
+
+        if ( result == null ) {
+            return NO_RULES;
+        }
+
+        if ( merged ) {
+            Collections.sort( result, this.definitionOrder );
+            return Collections.unmodifiableList( result );
+        }
+
+        return result;
+    }
+
+}
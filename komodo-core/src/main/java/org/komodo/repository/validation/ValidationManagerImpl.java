@@ -29,9 +29,13 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.Set;
 import org.komodo.core.Messages;
+import org.komodo.repository.RepositoryImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.repository.KomodoObject;
@@ -47,17 +51,33 @@ import org.komodo.utils.KLog;
 
 /**
  * An implementation of an {@link ValidationManager} that can be used by repositories.
+ * <p>
+ * The rules are read, {@link CompiledRule compiled} and {@link RuleIndex indexed by node type} once and shared by all
+ * transactions, so an object is only checked against the rules of its primary type and mixins. They are compiled again after
+ * the repository reports saved changes to the rule nodes through {@link #rulesChanged()}, or after a transaction that changed
+ * rules through this manager or a rule's setters completes. That transaction compiles the rules it uses on its own, so it
+ * sees its own changes but they are not shared.
  */
 public class ValidationManagerImpl implements ValidationManager {
 
     private static final KLog LOGGER = KLog.getLogger();
 
+    /**
+     * The {@link #getRulesVersion(UnitOfWork) rules version} of a transaction with uncommitted rule changes.
+     */
+    static final int UNSHARED_VERSION = -1;
+
     private final Repository repo;
     private final String RULES_SCHEMA_FILE = "komodoValidation.xsd"; //$NON-NLS-1$
     private File rulesSchemaFile;
     private boolean defaultRulesExist = false;
     private KomodoObject validationAreaRoot;
 
+    private final Object rulesLock = new Object();
+    private RuleIndex compiledRules; // guarded by rulesLock
+    private int rulesVersion; // guarded by rulesLock
+    private final Set< UnitOfWork > pendingTransactions = new HashSet<>(); // guarded by rulesLock
+
     /**
      * @param repo
      *        the repository where the validation rules are stored (cannot be <code>null</code>)
@@ -205,6 +225,8 @@ public class ValidationManagerImpl implements ValidationManager {
         // If rules exist, no need to reload - unless overwriting
         if(defaultRulesExist && !overwriteExisting) return;
 
+        rulesChanged( uow );
+
         try {
             RuleParser parser = new RuleParser(rulesSchemaFile, this.repo, uow);
 
@@ -229,6 +251,8 @@ public class ValidationManagerImpl implements ValidationManager {
     }
 
     protected void clearValidationRules(final UnitOfWork uow) throws Exception {
+        rulesChanged( uow );
+
         KomodoObject defaultValidationArea = RuleFactory.getValidationDefaultAreaNode(uow, this.repo);
         KomodoObject[] rules = defaultValidationArea.getChildren(uow);
         for(KomodoObject rule : rules) {
@@ -236,6 +260,89 @@ public class ValidationManagerImpl implements ValidationManager {
         }
     }
 
+    /**
+     * Discards the compiled rules. They are compiled again the next time they are needed.
+     */
+    public void rulesChanged() {
+        synchronized ( this.rulesLock ) {
+            this.compiledRules = null;
+            ++this.rulesVersion;
+        }
+    }
+
+    /**
+     * Records that a transaction changed rules. Until it completes, it compiles the rules on its own and other transactions
+     * keep using the rules compiled before the change.
+     *
+     * @param uow
+     *        the transaction changing rules (cannot be <code>null</code>)
+     */
+    void rulesChanged( final UnitOfWork uow ) {
+        synchronized ( this.rulesLock ) {
+            this.pendingTransactions.add( uow );
+            this.compiledRules = null;
+            ++this.rulesVersion;
+        }
+    }
+
+    /**
+     * @param transaction
+     *        the transaction compiling rules (cannot be <code>null</code>)
+     * @return the version of the rules, which changes each time rules are changed, or {@link #UNSHARED_VERSION} if the
+     *         transaction has uncommitted rule changes and the rules it compiles must not be shared
+     */
+    int getRulesVersion( final UnitOfWork transaction ) {
+        synchronized ( this.rulesLock ) {
+            removeCompletedTransactions();
+            return ( this.pendingTransactions.contains( transaction ) ? UNSHARED_VERSION : this.rulesVersion );
+        }
+    }
+
+    // guarded by rulesLock
+    private void removeCompletedTransactions() {
+        final Iterator< UnitOfWork > itr = this.pendingTransactions.iterator();
+
+        while ( itr.hasNext() ) {
+            if ( itr.next().getState().isFinal() ) {
+                // the rule changes have been committed or discarded
+                itr.remove();
+                this.compiledRules = null;
+                ++this.rulesVersion;
+            }
+        }
+    }
+
+    private RuleIndex getCompiledRules( final UnitOfWork transaction ) throws KException {
+        final int version;
+
+        synchronized ( this.rulesLock ) {
+            removeCompletedTransactions();
+
+            if ( ( this.compiledRules != null ) && !this.pendingTransactions.contains( transaction ) ) {
+                return this.compiledRules;
+            }
+
+            version = this.rulesVersion;
+        }
+
+        final List< RuleImpl > rules = new ArrayList<>();
+
+        for ( final KomodoObject kobject : getValidationAreaRoot( transaction ).getChildren( transaction ) ) {
+            rules.add( new RuleImpl( transaction, this.repo, kobject.getAbsolutePath(), this ) );
+        }
+
+        final RuleIndex result = new RuleIndex( transaction, rules );
+
+        synchronized ( this.rulesLock ) {
+            // uncommitted rule changes are only seen by the transaction that made them
+            if ( ( version == this.rulesVersion ) && !this.pendingTransactions.contains( transaction ) ) {
+                this.compiledRules = result;
+            }
+        }
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -247,15 +354,14 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         final List< Rule > result = new ArrayList<>();
-        KomodoObject defaultValidationArea = getValidationAreaRoot(transaction);
 
         // Collect all available Rules
-        for ( final KomodoObject kobject : defaultValidationArea.getChildren( transaction ) ) {
-            final Rule rule = new RuleImpl( transaction, this.repo, kobject.getAbsolutePath() );
-            if(rule.isEnabled(transaction)) {
+        for ( final RuleImpl rule : getCompiledRules( transaction ).getRules() ) {
+            final CompiledRule compiled = rule.compile( transaction );
+            if(compiled.isEnabled()) {
                 result.add( rule );
             } else {
-                result.add( new ProblemRule(rule.getName(transaction),ProblemRule.Type.NOT_ENABLED) );
+                result.add( new ProblemRule(compiled.getName(),ProblemRule.Type.NOT_ENABLED) );
             }
         }
 
@@ -276,14 +382,10 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        KomodoObject defaultValidationArea = getValidationAreaRoot(transaction);
-
         // Check all available Rules for a match.
-        if(defaultValidationArea.hasChild(transaction, ruleId)) {
-            KomodoObject ruleObj = defaultValidationArea.getChild(transaction, ruleId);
-            if(ruleObj!=null) {
-                return new RuleImpl( transaction, this.repo, ruleObj.getAbsolutePath() );
-            }
+        final RuleImpl rule = getCompiledRules( transaction ).get( ruleId );
+        if(rule!=null) {
+            return rule;
         }
 
         return new ProblemRule(ruleId, ProblemRule.Type.NOT_FOUND);
@@ -315,16 +417,15 @@ public class ValidationManagerImpl implements ValidationManager {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         final List< Rule > result = new ArrayList<>();
-        KomodoObject defaultValidationArea = getValidationAreaRoot(transaction);
 
-        // Check all available Rules - determine if they are applicable for the supplied object.
-        for ( final KomodoObject kobject : defaultValidationArea.getChildren( transaction ) ) {
-            final Rule rule = new RuleImpl( transaction, this.repo, kobject.getAbsolutePath() );
-            if(rule.isApplicable(transaction, kObj)) {
-                if(rule.isEnabled(transaction)) {
+        // Check the Rules indexed by the object's types - determine if they are applicable for the supplied object.
+        for ( final RuleImpl rule : getCompiledRules( transaction ).getRules( transaction, kObj ) ) {
+            final CompiledRule compiled = rule.compile( transaction );
+            if(ValidationUtils.objectPropsPassRestrictions(transaction, kObj, compiled.getNodeRestrictions())) {
+                if(compiled.isEnabled()) {
                     result.add( rule );
                 } else {
-                    result.add(new ProblemRule(rule.getName(transaction),ProblemRule.Type.NOT_ENABLED));
+                    result.add(new ProblemRule(compiled.getName(),ProblemRule.Type.NOT_ENABLED));
                 }
             }
         }
@@ -345,6 +446,8 @@ public class ValidationManagerImpl implements ValidationManager {
     public void setRuleEnabled(final UnitOfWork transaction,
                                boolean isEnabled,
                                String... ruleIds ) throws KException {
+        rulesChanged( transaction );
+
         for(String ruleId : ruleIds) {
             getRule(transaction,ruleId).setEnabled(transaction, isEnabled);
         }
@@ -359,6 +462,8 @@ public class ValidationManagerImpl implements ValidationManager {
     public void setRuleSeverity(final UnitOfWork transaction,
                                 Outcome.Level severity,
                                 String... ruleIds ) throws KException {
+        rulesChanged( transaction );
+
         for(String ruleId : ruleIds) {
             getRule(transaction,ruleId).setSeverity(transaction, severity);
         }
@@ -22,6 +22,7 @@
 package org.komodo.relational.dataservice.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Objects;
@@ -51,7 +52,6 @@ import org.komodo.relational.resource.UdfFile;
 import org.komodo.relational.teiid.Teiid;
 import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.vdb.internal.VdbImpl;
-import org.komodo.repository.RepositoryTools;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.DocumentType;
@@ -1270,60 +1270,26 @@ public class DataserviceImpl extends RelationalObjectImpl implements Dataservice
         dataservice.setModifiedBy(transaction, getModifiedBy(transaction));
         dataservice.setLastModified(transaction, getLastModified(transaction));
 
-        for (VdbEntry vdbEntry : getVdbEntries(transaction)) {
-            VdbEntry entry = RelationalModelFactory.createVdbEntry(transaction,
-                                                                          getRepository(),
-                                                                          dataservice,
-                                                                           vdbEntry.getName(transaction));
-            RepositoryTools.copyProperties(transaction, vdbEntry, entry);
-        }
+        // entries are copied as whole subtrees by the repository rather than recreated and copied property by property
+        final List< DataServiceEntry< ? > > entries = new ArrayList<>();
+        entries.addAll(Arrays.asList(getVdbEntries(transaction)));
+        entries.addAll(Arrays.asList(getUdfEntries(transaction)));
+        entries.addAll(Arrays.asList(getConnectionEntries(transaction)));
+        entries.addAll(Arrays.asList(getDdlEntries(transaction)));
+        entries.addAll(Arrays.asList(getResourceEntries(transaction)));
+        entries.addAll(Arrays.asList(getDriverEntries(transaction)));
 
-        for (UdfEntry udfEntry : getUdfEntries(transaction)) {
-            UdfEntry entry = RelationalModelFactory.createUdfEntry(transaction,
-                                                                          getRepository(),
-                                                                          dataservice,
-                                                                          udfEntry.getName(transaction));
-            RepositoryTools.copyProperties(transaction, udfEntry, entry);
-        }
+        final ServiceVdbEntry serviceVdbEntry = getServiceVdbEntry(transaction);
 
-        for (ConnectionEntry connEntry : getConnectionEntries(transaction)) {
-            ConnectionEntry entry = RelationalModelFactory.createConnectionEntry(transaction,
-                                                                          getRepository(),
-                                                                          dataservice,
-                                                                          connEntry.getName(transaction));
-            RepositoryTools.copyProperties(transaction, connEntry, entry);
+        if (serviceVdbEntry != null) {
+            entries.add(serviceVdbEntry);
         }
 
-        for (DdlEntry ddlEntry : getDdlEntries(transaction)) {
-            DdlEntry entry = RelationalModelFactory.createDdlEntry(transaction,
-                                                                          getRepository(),
-                                                                          dataservice,
-                                                                          ddlEntry.getName(transaction));
-            RepositoryTools.copyProperties(transaction, ddlEntry, entry);
-        }
+        final String parentPath = dataservice.getAbsolutePath();
 
-        for (ResourceEntry resourceEntry : getResourceEntries(transaction)) {
-            ResourceEntry entry = RelationalModelFactory.createResourceEntry(transaction,
-                                                                          getRepository(),
-                                                                          dataservice,
-                                                                          resourceEntry.getName(transaction));
-            RepositoryTools.copyProperties(transaction, resourceEntry, entry);
+        for (final DataServiceEntry< ? > entry : entries) {
+            getRepository().copy(transaction, entry.getAbsolutePath(), parentPath, entry.getName(transaction));
         }
-
-        for (DriverEntry driverEntry : getDriverEntries(transaction)) {
-            DriverEntry entry = RelationalModelFactory.createDriverEntry(transaction,
-                                                                          getRepository(),
-                                                                          dataservice,
-                                                                          driverEntry.getName(transaction));
-            RepositoryTools.copyProperties(transaction, driverEntry, entry);
-        }
-
-        ServiceVdbEntry serviceVdbEntry = getServiceVdbEntry(transaction);
-        ServiceVdbEntry entry = RelationalModelFactory.createServiceVdbEntry(transaction,
-                                                                                    getRepository(),
-                                                                                    dataservice,
-                                                                                    serviceVdbEntry.getName(transaction));
-        RepositoryTools.copyProperties(transaction, serviceVdbEntry, entry);
     }
 
 }
@@ -110,18 +110,15 @@ abstract class TableConstraintImpl extends RelationalChildRestrictedObject imple
             result = new Column[ 0 ];
         } else {
             final String[] columnRefs = property.getStringValues( transaction );
+            final KomodoObject[] kobjects = repository.getUsingIds( transaction, columnRefs );
             result = new Column[ columnRefs.length ];
-            int i = 0;
 
-            for ( final String columnId : columnRefs ) {
-                final KomodoObject kobject = repository.getUsingId( transaction, columnId );
-
-                if ( kobject == null ) {
-                    throw new KException( Messages.getString( Relational.REFERENCED_COLUMN_NOT_FOUND, columnId ) );
+            for ( int i = 0; i < columnRefs.length; ++i ) {
+                if ( kobjects[ i ] == null ) {
+                    throw new KException( Messages.getString( Relational.REFERENCED_COLUMN_NOT_FOUND, columnRefs[ i ] ) );
                 }
 
-                result[i] = new ColumnImpl( transaction, repository, kobject.getAbsolutePath() );
-                ++i;
+                result[ i ] = new ColumnImpl( transaction, repository, kobjects[ i ].getAbsolutePath() );
             }
         }
 
@@ -24,7 +24,6 @@ package org.komodo.relational.workspace;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import org.komodo.core.KomodoLexicon;
@@ -68,6 +67,8 @@ import org.komodo.spi.repository.Exportable;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.QueryCursor;
+import org.komodo.spi.repository.Repository.QueryRow;
 import org.komodo.spi.repository.Repository.State;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.RepositoryObserver;
@@ -107,6 +108,17 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
                                                               + " WHERE ISDESCENDANTNODE('%s')" //$NON-NLS-1$
                                                               + " AND [jcr:name] LIKE '%s'" //$NON-NLS-1$
                                                               + " ORDER BY [jcr:path] ASC"; //$NON-NLS-1$
+
+    private static final String FIND_ALL_OF_PRIMARY_TYPE_QUERY_PATTERN = "SELECT [jcr:path] FROM [%1$s]" //$NON-NLS-1$
+                                                                         + " WHERE ISDESCENDANTNODE('%2$s')" //$NON-NLS-1$
+                                                                         + " AND [jcr:primaryType] = '%1$s'" //$NON-NLS-1$
+                                                                         + " ORDER BY [jcr:path] ASC"; //$NON-NLS-1$
+
+    private static final String FIND_MATCHING_OF_PRIMARY_TYPE_QUERY_PATTERN = "SELECT [jcr:path] FROM [%1$s]"  //$NON-NLS-1$
+                                                                              + " WHERE ISDESCENDANTNODE('%2$s')" //$NON-NLS-1$
+                                                                              + " AND [jcr:primaryType] = '%1$s'" //$NON-NLS-1$
+                                                                              + " AND [jcr:name] LIKE '%3$s'" //$NON-NLS-1$
+                                                                              + " ORDER BY [jcr:path] ASC"; //$NON-NLS-1$
     // @formatter:on
 
     private static class CacheKey {
@@ -581,25 +593,11 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         }
 
         try {
-            String queryText = null;
-
-            if ( StringUtils.isBlank( namePattern ) ) {
-                queryText = String.format( FIND_ALL_QUERY_PATTERN, type, parentPath );
-            } else {
-                queryText = String.format( FIND_MATCHING_QUERY_PATTERN, type, parentPath, namePattern );
-            }
+            final String queryText = findByTypeQuery( type, parentPath, namePattern, includeSubTypes );
 
-            final List< KomodoObject > kObjs = getRepository().query( transaction, queryText );
-            List< KomodoObject > results = new ArrayList< > ();
-            for( final KomodoObject kObj : kObjs ) {
-                if(includeSubTypes) {
-                    results.add(kObj);
-                } else if ( type.equals(kObj.getPrimaryType(transaction).getName()) ) {
-                    results.add(kObj);
-                }
-            }
-
-            final int numPaths = results.size();
+            // paths are read from the query rows so no objects are constructed
+            final List< QueryRow > rows = getRepository().queryRows( transaction, queryText, 0, -1 );
+            final int numPaths = rows.size();
 
             if ( numPaths == 0 ) {
                 return StringConstants.EMPTY_ARRAY;
@@ -608,8 +606,8 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
             final String[] result = new String[ numPaths ];
             int i = 0;
 
-            for ( final KomodoObject kObject : results ) {
-                result[ i++ ] = kObject.getAbsolutePath();
+            for ( final QueryRow row : rows ) {
+                result[ i++ ] = row.getPath();
             }
 
             return result;
@@ -618,6 +616,72 @@ public class WorkspaceManager extends ObjectImpl implements RelationalObject {
         }
     }
 
+    private static String findByTypeQuery( final String type,
+                                           final String parentPath,
+                                           final String namePattern,
+                                           final boolean includeSubTypes ) {
+        if ( StringUtils.isBlank( namePattern ) ) {
+            return String.format( ( includeSubTypes ? FIND_ALL_QUERY_PATTERN : FIND_ALL_OF_PRIMARY_TYPE_QUERY_PATTERN ),
+                                  type,
+                                  parentPath );
+        }
+
+        return String.format( ( includeSubTypes ? FIND_MATCHING_QUERY_PATTERN : FIND_MATCHING_OF_PRIMARY_TYPE_QUERY_PATTERN ),
+                              type,
+                              parentPath,
+                              namePattern );
+    }
+
+    /**
+     * The type, name, offset, and limit criteria are all evaluated by the query engine so only the requested page of objects
+     * is loaded.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param type
+     *        the lexicon node type name of objects being found (cannot be empty)
+     * @param parentPath
+     *        the parent path whose children recursively will be checked (can be empty if searching from the workspace root)
+     * @param namePattern
+     *        the pattern used to match object names (can be empty if all objects of the given type are being requested)
+     * @param includeSubTypes
+     *        determines whether sub types are included in the return
+     * @param offset
+     *        the number of matching objects to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of objects to return or a negative number if all objects should be returned
+     * @param countTotal
+     *        <code>true</code> if the total number of matching objects should be computed
+     * @return a cursor over the requested page of objects ordered by path (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    public QueryCursor findByType( final UnitOfWork transaction,
+                                   final String type,
+                                   String parentPath,
+                                   final String namePattern,
+                                   final boolean includeSubTypes,
+                                   final long offset,
+                                   final long limit,
+                                   final boolean countTotal ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
+                         "transaction state must be NOT_STARTED and was " + transaction.getState() ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( type, "type" ); //$NON-NLS-1$
+
+        if ( StringUtils.isBlank( parentPath ) ) {
+            parentPath = RepositoryImpl.komodoWorkspacePath(transaction);
+        }
+
+        try {
+            final String queryText = findByTypeQuery( type, parentPath, namePattern, includeSubTypes );
+            return getRepository().query( transaction, queryText, offset, limit, countTotal );
+        } catch ( final Exception e ) {
+            throw handleError( e );
+        }
+    }
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> and must have a state of
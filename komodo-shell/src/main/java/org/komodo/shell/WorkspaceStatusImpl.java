@@ -45,6 +45,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import javax.jcr.Node;
 
 import org.komodo.core.KEngine;
 import org.komodo.repository.ObjectImpl;
@@ -60,6 +61,7 @@ import org.komodo.shell.util.KomodoObjectUtils;
 import org.komodo.shell.util.PrintUtils;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
@@ -1206,6 +1208,29 @@ public class WorkspaceStatusImpl implements PropertyProvider, WorkspaceStatus {
             this.delegate = delegate;
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#cacheType(java.lang.String,
+         *      org.komodo.spi.repository.KomodoType)
+         */
+        @Override
+        public void cacheType( final String absPath,
+                               final KomodoType type ) {
+            ( ( RepositoryImpl.UnitOfWorkImpl )this.delegate ).cacheType( absPath, type );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#cacheNode(java.lang.String, javax.jcr.Node)
+         */
+        @Override
+        public void cacheNode( final String absPath,
+                               final Node node ) {
+            ( ( RepositoryImpl.UnitOfWorkImpl )this.delegate ).cacheNode( absPath, node );
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -1241,6 +1266,46 @@ public class WorkspaceStatusImpl implements PropertyProvider, WorkspaceStatus {
             return this.delegate.getCallback();
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#evictNodes(java.lang.String)
+         */
+        @Override
+        public void evictNodes( final String absPath ) {
+            ( ( RepositoryImpl.UnitOfWorkImpl )this.delegate ).evictNodes( absPath );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#evictType(java.lang.String)
+         */
+        @Override
+        public void evictType( final String absPath ) {
+            ( ( RepositoryImpl.UnitOfWorkImpl )this.delegate ).evictType( absPath );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#getCachedNode(java.lang.String)
+         */
+        @Override
+        public Node getCachedNode( final String absPath ) {
+            return ( ( RepositoryImpl.UnitOfWorkImpl )this.delegate ).getCachedNode( absPath );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#getCachedType(java.lang.String)
+         */
+        @Override
+        public KomodoType getCachedType( final String absPath ) {
+            return ( ( RepositoryImpl.UnitOfWorkImpl )this.delegate ).getCachedType( absPath );
+        }
+
         UnitOfWork getDelegate() {
             return this.delegate;
         }
@@ -1285,6 +1350,16 @@ public class WorkspaceStatusImpl implements PropertyProvider, WorkspaceStatus {
             return this.delegate.hasChanges();
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#isHomeProvisioned()
+         */
+        @Override
+        public boolean isHomeProvisioned() {
+            return ( ( RepositoryImpl.UnitOfWorkImpl )this.delegate ).isHomeProvisioned();
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -1295,6 +1370,16 @@ public class WorkspaceStatusImpl implements PropertyProvider, WorkspaceStatus {
             return this.delegate.isRollbackOnly();
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#setHomeProvisioned()
+         */
+        @Override
+        public void setHomeProvisioned() {
+            ( ( RepositoryImpl.UnitOfWorkImpl )this.delegate ).setHomeProvisioned();
+        }
+
         /**
          * {@inheritDoc}
          *
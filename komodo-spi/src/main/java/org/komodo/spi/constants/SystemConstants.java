@@ -43,4 +43,112 @@ public interface SystemConstants {
      */
     String VDB_BUILDER_DATA_DIR = "vdbbuilder.dataDir"; //$NON-NLS-1$
 
+    /**
+     * The system property that can be set with the maximum number of idle sessions kept for read-only transactions of the
+     * local repository. A value of zero disables pooling. Default is <code>10</code>.
+     */
+    String READ_SESSION_POOL_SIZE = "komodo.readSessionPoolSize"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the number of worker threads the local repository engine uses to commit, roll
+     * back and create sessions. Requests of the same user are always handled by the same worker. Default is the number of
+     * available processors.
+     */
+    String ENGINE_WORKERS = "komodo.engineWorkers"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the number of milliseconds an engine worker waits for further commits to
+     * save together with the one it is about to save. Default is zero which disables group commit.
+     */
+    String GROUP_COMMIT_WINDOW = "komodo.groupCommitWindow"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the maximum number of commits saved together when group commit is enabled.
+     * Default is 32.
+     */
+    String GROUP_COMMIT_MAX_SIZE = "komodo.groupCommitMaxSize"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the maximum number of parsed queries cached for each repository session. A
+     * value of zero disables the cache. Default is <code>50</code>.
+     */
+    String PREPARED_QUERY_CACHE_SIZE = "komodo.preparedQueryCacheSize"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the number of nodes each chunk of a bulk load writes when the load is created
+     * with the configured chunk size. A value of zero writes a single chunk. Default is <code>500</code>.
+     */
+    String BULK_LOAD_CHUNK_SIZE = "komodo.bulkLoadChunkSize"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set to <code>true</code> to keep the repository event journal that incremental backups
+     * are read from. Every commit then also writes to the journal. Default is <code>false</code>.
+     */
+    String JOURNALING = "komodo.journaling"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the cache profile of the local repository: <code>small</code>,
+     * <code>medium</code> or <code>large</code>. Each profile bounds the number of entries the cache keeps in memory. Default
+     * is <code>medium</code>.
+     *
+     * @see #CACHE_MAX_ENTRIES
+     */
+    String CACHE_PROFILE = "komodo.cacheProfile"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the maximum number of entries the local repository cache keeps in memory,
+     * overriding the bound of the cache profile.
+     *
+     * @see #CACHE_PROFILE
+     */
+    String CACHE_MAX_ENTRIES = "komodo.cacheMaxEntries"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the number of milliseconds a transaction commit may take, from being queued
+     * to the sequencers completing, before it is logged as slow. Default is <code>1000</code>.
+     */
+    String SLOW_TRANSACTION_THRESHOLD = "komodo.slowTransactionThreshold"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set to <code>true</code> so the default local repository keeps its content, indexes and
+     * binaries in memory only. Nothing is written to the data directory and the content is lost when the repository stops.
+     * Default is <code>false</code>.
+     */
+    String IN_MEMORY_REPOSITORY = "komodo.inMemoryRepository"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the type of the default repository: <code>LOCAL</code> or
+     * <code>SHARED</code>. A shared repository replicates its content between the Komodo instances of a cluster. Default is
+     * <code>LOCAL</code>.
+     *
+     * @see #CLUSTER_NAME
+     */
+    String REPOSITORY_TYPE = "komodo.repositoryType"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the name of the cluster a shared repository joins. Instances only cluster with
+     * instances using the same name. Default is <code>komodo-cluster</code>.
+     *
+     * @see #REPOSITORY_TYPE
+     */
+    String CLUSTER_NAME = "komodo.clusterName"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the address a shared repository listens on for the other cluster members.
+     * Default is <code>127.0.0.1</code>.
+     */
+    String CLUSTER_BIND_ADDRESS = "komodo.clusterBindAddress"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the first port a shared repository tries to listen on. The next free port is
+     * used when it is taken. Default is <code>7800</code>.
+     */
+    String CLUSTER_PORT = "komodo.clusterPort"; //$NON-NLS-1$
+
+    /**
+     * The system property that can be set with the members a shared repository contacts to join its cluster, as a comma
+     * separated list of <code>host[port]</code>. Default is <code>127.0.0.1[7800]</code>.
+     */
+    String CLUSTER_MEMBERS = "komodo.clusterMembers"; //$NON-NLS-1$
+
 }
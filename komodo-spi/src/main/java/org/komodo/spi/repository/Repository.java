@@ -24,6 +24,9 @@ package org.komodo.spi.repository;
 import java.io.File;
 import java.net.URL;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.komodo.spi.KException;
 
 /**
@@ -197,6 +200,30 @@ public interface Repository {
          */
         void commit();
 
+        /**
+         * Commits without blocking the calling thread. Equivalent to {@link #commitAsync(long, TimeUnit)} with no timeout.
+         *
+         * @return a future completed with this transaction once it is committed, or completed exceptionally with the
+         *         transaction error (never <code>null</code>)
+         */
+        CompletableFuture< UnitOfWork > commitAsync();
+
+        /**
+         * Commits without blocking the calling thread. The {@link #getCallback() callback} is still notified. If this is a roll
+         * back transaction then the future completes once it is rolled back. The future is never completed on a thread of the
+         * repository engine so dependent stages may use the repository synchronously.
+         *
+         * @param timeout
+         *        the time to wait before the future completes exceptionally with a {@link java.util.concurrent.TimeoutException}
+         *        (zero or negative means no timeout). The commit itself is not cancelled by a timeout.
+         * @param unit
+         *        the unit of the timeout (cannot be <code>null</code>)
+         * @return a future completed with this transaction once it is committed, or completed exceptionally with the
+         *         transaction error (never <code>null</code>)
+         */
+        CompletableFuture< UnitOfWork > commitAsync( final long timeout,
+                                                     final TimeUnit unit );
+
         /**
          * @return the listener being notified when the transaction is finished (can be <code>null</code>)
          */
@@ -267,6 +294,169 @@ public interface Repository {
 
     }
 
+    /**
+     * A lazily iterated page of query results. Objects are only constructed as they are requested.
+     */
+    public interface QueryCursor {
+
+        /**
+         * Indicates the total was not requested when the query was run.
+         */
+        long TOTAL_NOT_COUNTED = -1;
+
+        /**
+         * @return the total number of matches ignoring offset and limit or {@link #TOTAL_NOT_COUNTED} if the total was not
+         *         requested
+         */
+        long getTotal();
+
+        /**
+         * @return <code>true</code> if there are more objects in this page
+         */
+        boolean hasNext();
+
+        /**
+         * @return the next object in this page (never <code>null</code>)
+         * @throws KException
+         *         if there are no more objects or an error occurs
+         */
+        KomodoObject next() throws KException;
+
+    }
+
+    /**
+     * A lightweight query result row holding the selected column values of one matching node.
+     */
+    public interface QueryRow {
+
+        /**
+         * @return the selected column names (never <code>null</code>)
+         */
+        String[] getColumnNames();
+
+        /**
+         * @return the absolute path of the matching node (never empty)
+         */
+        String getPath();
+
+        /**
+         * @param column
+         *        the selected column name, with or without its selector qualifier (cannot be empty)
+         * @return the string value or <code>null</code> if the column was not selected or the node has no value
+         */
+        String getValue( final String column );
+
+    }
+
+    /**
+     * Writes a large subtree as a series of transactions, or chunks, so that the transient state held by the repository is
+     * bounded by the chunk size rather than by the size of the subtree. If the load fails the partially written subtree is
+     * removed.
+     */
+    public interface BulkLoad {
+
+        /**
+         * The number of nodes written by each chunk when the {@link org.komodo.spi.constants.SystemConstants#BULK_LOAD_CHUNK_SIZE
+         * chunk size system property} is not set.
+         */
+        int DEFAULT_CHUNK_SIZE = 500;
+
+        /**
+         * The chunk size that selects the size set by the {@link org.komodo.spi.constants.SystemConstants#BULK_LOAD_CHUNK_SIZE
+         * chunk size system property}.
+         */
+        int CONFIGURED_CHUNK_SIZE = -1;
+
+        /**
+         * @return the number of chunks committed so far
+         */
+        int getChunkCount();
+
+        /**
+         * @return the number of nodes reported as written so far
+         */
+        long getNodeCount();
+
+        /**
+         * @return the absolute path of the subtree removed if the load is rolled back or <code>null</code> if not set
+         */
+        String getRootPath();
+
+        /**
+         * The transaction changes with each committed chunk so it must be obtained again after {@link #nodesWritten(int)}.
+         *
+         * @return the transaction of the current chunk (never <code>null</code>)
+         * @throws KException
+         *         if the load has completed or been rolled back
+         */
+        UnitOfWork getTransaction() throws KException;
+
+        /**
+         * Commits the final chunk.
+         *
+         * @throws KException
+         *         if the commit fails, in which case the load has been rolled back
+         */
+        void complete() throws KException;
+
+        /**
+         * Records written nodes and commits the current chunk once the chunk size is reached.
+         *
+         * @param count
+         *        the number of nodes written in the current transaction since the last call
+         * @throws KException
+         *         if committing the chunk fails, in which case the load has been rolled back
+         */
+        void nodesWritten( final int count ) throws KException;
+
+        /**
+         * Abandons the current chunk and removes the subtree written by the committed chunks.
+         *
+         * @throws KException
+         *         if an error occurs
+         */
+        void rollback() throws KException;
+
+        /**
+         * @param rootPath
+         *        the absolute path of the subtree being loaded (cannot be empty)
+         */
+        void setRootPath( final String rootPath );
+
+    }
+
+    /**
+     * A listener notified as a {@link BulkLoad bulk load} progresses.
+     */
+    public interface BulkLoadListener {
+
+        /**
+         * @param bulkLoad
+         *        the load whose chunk was committed (never <code>null</code>)
+         */
+        void chunkCommitted( final BulkLoad bulkLoad );
+
+    }
+
+    /**
+     * A listener notified as the content of a repository is cleared.
+     */
+    public interface ClearListener {
+
+        /**
+         * @param path
+         *        the path of the subtree just removed (never empty)
+         * @param cleared
+         *        the number of subtrees removed so far
+         * @param total
+         *        the number of subtrees being removed
+         */
+        void subtreeCleared( final String path,
+                             final int cleared,
+                             final int total );
+
+    }
+
     /**
      * Prepares the given object to be acted upon by the transaction, including testing if
      * such operation violates any security constraints and ensuring that a user-space is
@@ -309,12 +499,40 @@ public interface Repository {
      */
     void addClient( RepositoryClient client );
 
+    /**
+     * @param listener
+     *        the listener notified of each batch of saved changes (cannot be <code>null</code>)
+     */
+    void addChangeListener( RepositoryChangeListener listener );
+
     /**
      * @param observer
      *        the observer to be added
      */
     void addObserver( RepositoryObserver observer );
 
+    /**
+     * Copies a workspace object, including all its properties and descendants. The copy is made in the transaction so it is
+     * saved, or discarded, with the rest of the transaction.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param sourcePath
+     *        the path of the workspace object being copied (cannot be empty)
+     * @param parentPath
+     *        the parent path where the copy is created (can be empty if adding at the root of the workspace)
+     * @param name
+     *        the name of the copy (cannot be empty)
+     * @return the copy (never <code>null</code>)
+     * @throws KException
+     *         if the source or parent does not exist or an error occurs
+     */
+    KomodoObject copy( final UnitOfWork transaction,
+                       final String sourcePath,
+                       final String parentPath,
+                       final String name ) throws KException;
+
     /**
      * @param userName
      *       the user name of the transaction initiator
@@ -332,6 +550,46 @@ public interface Repository {
                                   final boolean rollbackOnly,
                                   final UnitOfWorkListener callback ) throws KException;
 
+    /**
+     * Creates a transaction without blocking the calling thread while a repository session is obtained. The future is never
+     * completed on a thread of the repository engine so dependent stages may use the repository synchronously.
+     *
+     * @param userName
+     *       the user name of the transaction initiator
+     * @param name
+     *        a name for the transaction (cannot be empty)
+     * @param rollbackOnly
+     *        <code>true</code> if the transaction should only be rolled back
+     * @param callback
+     *        a listener that is notified when the transaction is finished (can be <code>null</code>
+     * @return a future completed with a unit of work transaction that must be either committed or rolled back, or completed
+     *         exceptionally if the transaction could not be created (never <code>null</code>)
+     * @see #createTransaction(String, String, boolean, UnitOfWorkListener)
+     */
+    CompletableFuture< UnitOfWork > createTransactionAsync( final String userName,
+                                                            final String name,
+                                                            final boolean rollbackOnly,
+                                                            final UnitOfWorkListener callback );
+
+    /**
+     * @param userName
+     *       the user name of the load initiator
+     * @param name
+     *        a name for the load used to name each chunk's transaction (cannot be empty)
+     * @param chunkSize
+     *        the number of nodes written by each chunk, zero to write a single chunk or
+     *        {@link BulkLoad#CONFIGURED_CHUNK_SIZE} to use the configured size
+     * @param listener
+     *        a listener notified after each chunk is committed (can be <code>null</code>)
+     * @return the bulk load, whose first chunk has been started (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    BulkLoad createBulkLoad( final String userName,
+                             final String name,
+                             final int chunkSize,
+                             final BulkLoadListener listener ) throws KException;
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> or have a state that is not
@@ -344,6 +602,88 @@ public interface Repository {
      */
     List<KomodoObject> query(UnitOfWork transaction, String query) throws KException;
 
+    /**
+     * The offset and limit are applied by the query engine so that only the requested page is ever loaded.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param query
+     *        the SQL query
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results to return or a negative number if all results should be returned
+     * @param countTotal
+     *        <code>true</code> if the total number of matches should be computed
+     *
+     * @return a cursor over the requested page of results (never <code>null</code>)
+     * @throws KException if error occurs
+     */
+    QueryCursor query(UnitOfWork transaction, String query, long offset, long limit, boolean countTotal) throws KException;
+
+    /**
+     * Statements that only differ by their bind variable values share one parsed query, so preparing a statement with
+     * <code>$name</code> variables rather than inlining the values avoids re-parsing on every execution.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param query
+     *        the SQL query
+     * @param bindVariables
+     *        the values of the query's bind variables keyed by variable name (can be <code>null</code> or empty)
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results to return or a negative number if all results should be returned
+     * @param countTotal
+     *        <code>true</code> if the total number of matches should be computed
+     *
+     * @return a cursor over the requested page of results (never <code>null</code>)
+     * @throws KException if error occurs
+     */
+    QueryCursor query(UnitOfWork transaction, String query, Map<String, String> bindVariables, long offset, long limit,
+                      boolean countTotal) throws KException;
+
+    /**
+     * Values are read directly from the query results so no objects are constructed and no nodes are loaded.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param query
+     *        the SQL query whose select clause names the columns being projected
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results to return or a negative number if all results should be returned
+     *
+     * @return the projected rows (never <code>null</code> but can be empty)
+     * @throws KException if error occurs
+     */
+    List<QueryRow> queryRows(UnitOfWork transaction, String query, long offset, long limit) throws KException;
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param query
+     *        the SQL query whose select clause names the columns being projected
+     * @param bindVariables
+     *        the values of the query's bind variables keyed by variable name (can be <code>null</code> or empty)
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results to return or a negative number if all results should be returned
+     *
+     * @return the projected rows (never <code>null</code> but can be empty)
+     * @throws KException if error occurs
+     * @see #queryRows(UnitOfWork, String, long, long)
+     */
+    List<QueryRow> queryRows(UnitOfWork transaction, String query, Map<String, String> bindVariables, long offset, long limit)
+        throws KException;
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> or have a state that is not
@@ -425,6 +765,22 @@ public interface Repository {
     KomodoObject getUsingId( final UnitOfWork transaction,
                              final String jcrUuid ) throws KException;
 
+    /**
+     * Gets the {@link KomodoObject}s with the specified identifiers.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param jcrUuids
+     *        the values of the <code>jcr:uuid</code> property (cannot be <code>null</code> and cannot contain empty values)
+     * @return the requested workspace Komodo objects in the order of the identifiers (never <code>null</code> but contains
+     *         <code>null</code> elements for identifiers that are not found)
+     * @throws KException
+     *         if an error occurs
+     */
+    KomodoObject[] getUsingIds( final UnitOfWork transaction,
+                                final String... jcrUuids ) throws KException;
+
     /**
      * @return the repository identifier (never <code>null</code>)
      */
@@ -534,6 +890,12 @@ public interface Repository {
      */
     void removeClient( RepositoryClient client );
 
+    /**
+     * @param listener
+     *        the listener to be removed
+     */
+    void removeChangeListener( RepositoryChangeListener listener );
+
     /**
      * @param observer
      *        the observer to be removed
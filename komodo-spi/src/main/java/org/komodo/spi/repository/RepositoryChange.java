@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.spi.repository;
+
+/**
+ * A single change made to the repository. Changes are delivered to {@link RepositoryChangeListener listeners} in batches,
+ * one batch for each saved transaction.
+ */
+public final class RepositoryChange {
+
+    /**
+     * The kinds of repository changes
+     */
+    public enum Type {
+
+        /**
+         * A node was added
+         */
+        NODE_ADDED,
+
+        /**
+         * A node was moved or renamed. The previous path is available.
+         */
+        NODE_MOVED,
+
+        /**
+         * A node was removed
+         */
+        NODE_REMOVED,
+
+        /**
+         * A property was added
+         */
+        PROPERTY_ADDED,
+
+        /**
+         * The value of a property was changed
+         */
+        PROPERTY_CHANGED,
+
+        /**
+         * A property was removed
+         */
+        PROPERTY_REMOVED,
+
+        /**
+         * A sequencer finished writing its output beneath a node
+         */
+        SEQUENCED;
+
+        /**
+         * @return <code>true</code> if the change path is the path of a property
+         */
+        public boolean isPropertyChange() {
+            return ( ( this == PROPERTY_ADDED ) || ( this == PROPERTY_CHANGED ) || ( this == PROPERTY_REMOVED ) );
+        }
+
+    }
+
+    private final String path;
+    private final String previousPath;
+    private final String primaryType;
+    private final long timestamp;
+    private final Type type;
+    private final String userId;
+
+    /**
+     * @param type
+     *        the kind of change (cannot be <code>null</code>)
+     * @param path
+     *        the absolute path of the changed node or property (cannot be empty)
+     * @param previousPath
+     *        the absolute path before a move (can be <code>null</code>)
+     * @param primaryType
+     *        the primary type of the changed node or of the node owning the changed property (can be <code>null</code> if
+     *        unknown)
+     * @param userId
+     *        the user who made the change (can be <code>null</code> if unknown)
+     * @param timestamp
+     *        the time of the change in milliseconds
+     */
+    public RepositoryChange( final Type type,
+                             final String path,
+                             final String previousPath,
+                             final String primaryType,
+                             final String userId,
+                             final long timestamp ) {
+        this.type = type;
+        this.path = path;
+        this.previousPath = previousPath;
+        this.primaryType = primaryType;
+        this.userId = userId;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the absolute path of the changed node or property (never empty)
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return the absolute path before a {@link Type#NODE_MOVED move} or <code>null</code>
+     */
+    public String getPreviousPath() {
+        return this.previousPath;
+    }
+
+    /**
+     * @return the primary type of the changed node or of the node owning the changed property (can be <code>null</code>)
+     */
+    public String getPrimaryType() {
+        return this.primaryType;
+    }
+
+    /**
+     * @return the time of the change in milliseconds
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return the kind of change (never <code>null</code>)
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * @return the user who made the change (can be <code>null</code>)
+     */
+    public String getUserId() {
+        return this.userId;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append( this.type ).append( ' ' ).append( this.path );
+
+        if ( this.previousPath != null ) {
+            builder.append( " from " ).append( this.previousPath ); //$NON-NLS-1$
+        }
+
+        builder.append( " [" ).append( this.primaryType ).append( "] by " ).append( this.userId ); //$NON-NLS-1$ //$NON-NLS-2$
+        return builder.toString();
+    }
+
+}
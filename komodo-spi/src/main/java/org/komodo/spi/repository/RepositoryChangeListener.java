@@ -0,0 +1,40 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.spi.repository;
+
+import java.util.List;
+
+/**
+ * A listener notified of the changes saved to a {@link Repository repository}.
+ */
+public interface RepositoryChangeListener {
+
+    /**
+     * Called once for each saved transaction, and once each time a sequencer finishes, on a repository notification thread.
+     * Implementations should return quickly.
+     *
+     * @param changes
+     *        the changes saved together (never <code>null</code> or empty)
+     */
+    void changesOccurred( final List< RepositoryChange > changes );
+
+}
@@ -80,6 +80,11 @@ public class SynchronousSequencerListener implements KSequencerListener {
         return session;
     }
 
+    @Override
+    public void changesSaved(int nodeCount) {
+        // nothing to do
+    }
+
     @Override
     public void sequencingCompleted() {
         latch.countDown();
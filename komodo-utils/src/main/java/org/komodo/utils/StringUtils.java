@@ -28,6 +28,7 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Pattern;
 import org.komodo.spi.constants.StringConstants;
 
 /**
@@ -891,12 +892,14 @@ public final class StringUtils implements StringConstants {
         return isBasicLatinLetter(c) || isBasicLatinDigit(c) || Character.isLetterOrDigit(c);
     }
 
+    private static final Pattern NUMBER_PATTERN = Pattern.compile( "-?\\d+(\\.\\d+)?" ); //$NON-NLS-1$
+
     /**
      * @param text the text being checked (can be empty)
      * @return <code>true</code> if the text can be converted to a number
      */
     public static boolean isNumber( final String text ) {
-        return ( !isBlank( text ) && text.matches( "-?\\d+(\\.\\d+)?" ) ); //$NON-NLS-1$
+        return ( !isBlank( text ) && NUMBER_PATTERN.matcher( text ).matches() );
     }
 
     //
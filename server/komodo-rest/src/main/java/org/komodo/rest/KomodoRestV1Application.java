@@ -203,6 +203,11 @@ public class KomodoRestV1Application extends Application implements RepositoryOb
          */
         String ABOUT = "about"; //$NON-NLS-1$
 
+        /**
+         * The transaction metrics segment
+         */
+        String METRICS = "metrics"; //$NON-NLS-1$
+
         /**
          * The name of the URI path segment for a Vdb in the Komodo workspace.
          */
@@ -918,6 +918,11 @@ public final class RelationalMessages {
          */
         SCHEMA_SERVICE_GET_SCHEMA_NOT_FOUND,
 
+        /**
+         * An error occurred while trying to obtain the transaction metrics
+         */
+        METRICS_SERVICE_ERROR,
+
         /**
          * An error indicating a VDB search failed
          */
@@ -66,10 +66,13 @@ import org.komodo.spi.query.LogicalOperator;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository.KeywordCriteria;
+import org.komodo.spi.repository.Repository.QueryCursor;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
 import org.modeshape.jcr.api.JcrConstants;
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -83,6 +86,8 @@ import io.swagger.annotations.ApiResponses;
 @Api(tags = {V1Constants.SEARCH_SEGMENT})
 public final class KomodoSearchService extends KomodoService {
 
+    private static final int ALL_AVAILABLE = -1;
+
     /**
      * @param engine
      *        the Komodo Engine (cannot be <code>null</code> and must be started)
@@ -113,6 +118,67 @@ public final class KomodoSearchService extends KomodoService {
         return JcrConstants.NT_UNSTRUCTURED;
     }
 
+    /**
+     * @param uriInfo
+     *        the request URI information (cannot be <code>null</code>)
+     * @param key
+     *        the name of the query parameter (cannot be empty)
+     * @param minimum
+     *        the smallest allowed value
+     * @param defaultValue
+     *        the value used when the parameter is missing, invalid, or smaller than the minimum
+     * @return the value of the paging query parameter
+     */
+    private int pagingParameter(final UriInfo uriInfo, final String key, final int minimum, final int defaultValue) {
+        final String qparam = uriInfo.getQueryParameters().getFirst( key );
+
+        if ( qparam != null ) {
+            try {
+                final int value = Integer.parseInt( qparam );
+
+                if ( value >= minimum ) {
+                    return value;
+                }
+            } catch ( final Exception e ) {
+                // use default
+            }
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Converts the requested page of search results into rest objects. Results without a rest object (those of an unknown
+     * type) do not count towards the page size so the page is only short when the results run out.
+     *
+     * @param uow
+     *        the transaction (cannot be <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (cannot be <code>null</code>)
+     * @param os
+     *        the searcher (cannot be <code>null</code>)
+     * @return the rest objects of the page (never <code>null</code>)
+     * @throws Exception
+     *         if the search fails
+     */
+    private List<RestBasicEntity> searchPage(final UnitOfWork uow, final UriInfo uriInfo, final ObjectSearcher os) throws Exception {
+        final int start = pagingParameter( uriInfo, QueryParamKeys.START, 0, 0 );
+        final int size = pagingParameter( uriInfo, QueryParamKeys.SIZE, 1, ALL_AVAILABLE );
+
+        // no limit on the query so skipped results are replaced by the ones following the page, which are loaded lazily
+        final QueryCursor searchObjects = os.searchObjects(uow, start, ALL_AVAILABLE, false);
+        final List<RestBasicEntity> entities = new ArrayList<>();
+
+        while (((size == ALL_AVAILABLE) || (entities.size() < size)) && searchObjects.hasNext()) {
+            KomodoObject kObject = searchObjects.next();
+            RestBasicEntity entity = entityFactory.create(kObject, uriInfo.getBaseUri(), uow);
+            if (entity != null) // if kType in UNKNOWN then the entity is not created
+                entities.add(entity);
+        }
+
+        return entities;
+    }
+
     private ObjectSearcher createObjectSearcher(String type, String parent, String ancestor,
                                                                              String path, String contains, String name) {
         final String ALIAS = "nt";  //$NON-NLS-1$
@@ -212,6 +278,20 @@ public final class KomodoSearchService extends KomodoService {
     @Produces( MediaType.APPLICATION_JSON )
     @ApiOperation(value = "Search the workspace using criteria",
                              response = RestBasicEntity[].class)
+    @ApiImplicitParams({
+        @ApiImplicitParam(
+                          name = QueryParamKeys.SIZE,
+                          value = "The number of objects to return. If not present, all objects are returned",
+                          required = false,
+                          dataType = "integer",
+                          paramType = "query"),
+        @ApiImplicitParam(
+                          name = QueryParamKeys.START,
+                          value = "Index of the first object to return",
+                          required = false,
+                          dataType = "integer",
+                          paramType = "query")
+    })
     @ApiResponses(value = {
         @ApiResponse(code = 406, message = "Only JSON is returned by this operation"),
         @ApiResponse(code = 403, message = "An error has occurred.")
@@ -265,16 +345,8 @@ public final class KomodoSearchService extends KomodoService {
                 os = createObjectSearcher(type, parent, ancestor, path, contains, objectName);
             }
 
-            // Execute the search
-            List<KomodoObject> searchObjects = os.searchObjects(uow);
-
-            // Convert the results into rest objects for the response
-            List<RestBasicEntity> entities = new ArrayList<>();
-            for (KomodoObject kObject : searchObjects) {
-                RestBasicEntity entity = entityFactory.create(kObject, uriInfo.getBaseUri(), uow);
-                if (entity != null) // if kType in UNKNOWN then the entity is not created
-                    entities.add(entity);
-            }
+            // Execute the search only loading the requested page
+            List<RestBasicEntity> entities = searchPage(uow, uriInfo, os);
 
             return commit( uow, mediaTypes, entities );
 
@@ -387,16 +459,8 @@ public final class KomodoSearchService extends KomodoService {
                 os.setParameterValue(parameter.getKey(), value);
             }
 
-            // Execute the search
-            List<KomodoObject> searchObjects = os.searchObjects(uow);
-
-            // Convert the results into rest objects for the response
-            List<RestBasicEntity> entities = new ArrayList<>();
-            for (KomodoObject kObject : searchObjects) {
-                RestBasicEntity entity = entityFactory.create(kObject, uriInfo.getBaseUri(), uow);
-                if (entity != null) // if kType in UNKNOWN then the entity is not created
-                    entities.add(entity);
-            }
+            // Execute the search only loading the requested page
+            List<RestBasicEntity> entities = searchPage(uow, uriInfo, os);
 
             return commit( uow, mediaTypes, entities );
 
@@ -21,10 +21,12 @@
  */
 package org.komodo.rest.service;
 
+import static org.komodo.rest.relational.RelationalMessages.Error.METRICS_SERVICE_ERROR;
 import static org.komodo.rest.relational.RelationalMessages.Error.SCHEMA_SERVICE_GET_SCHEMA_ERROR;
 import static org.komodo.rest.relational.RelationalMessages.Error.VDB_SERVICE_GET_VDBS_ERROR;
 import java.io.File;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.ws.rs.GET;
@@ -49,7 +51,10 @@ import org.komodo.importer.ImportOptions.OptionKeys;
 import org.komodo.relational.importer.vdb.VdbImporter;
 import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.workspace.WorkspaceManager;
+import org.komodo.repository.RepositoryImpl;
+import org.komodo.repository.SharedRepository;
 import org.komodo.repository.SynchronousCallback;
+import org.komodo.repository.TransactionMetrics;
 import org.komodo.rest.KomodoRestException;
 import org.komodo.rest.KomodoRestV1Application;
 import org.komodo.rest.KomodoRestV1Application.V1Constants;
@@ -83,6 +88,26 @@ public final class KomodoUtilService extends KomodoService {
 
     private static final String REPO_VDB_TOTAL = "Repository Vdb Total"; //$NON-NLS-1$
 
+    private static final String REPO_NODE_LABEL = "Repository Cluster Node"; //$NON-NLS-1$
+
+    private static final String TRANSACTION_METRICS_LABEL = "Transaction Metrics"; //$NON-NLS-1$
+
+    static final String COMMITS_LABEL = "Commits"; //$NON-NLS-1$
+
+    private static final String FAILURES_LABEL = "Failures"; //$NON-NLS-1$
+
+    private static final String SLOW_LABEL = "Slow Transactions"; //$NON-NLS-1$
+
+    private static final String NODES_LABEL = "Mean Nodes Changed"; //$NON-NLS-1$
+
+    private static final String MEAN_LABEL = "mean ms"; //$NON-NLS-1$
+
+    private static final String P95_LABEL = "95th percentile ms"; //$NON-NLS-1$
+
+    private static final String MAX_LABEL = "max ms"; //$NON-NLS-1$
+
+    private static final String BUCKETS_LABEL = "histogram"; //$NON-NLS-1$
+
     static final String APP_NAME = "App Name"; //$NON-NLS-1$
 
     static final String APP_TITLE = "App Title"; //$NON-NLS-1$
@@ -143,6 +168,12 @@ public final class KomodoUtilService extends KomodoService {
         repoStatus.addAttribute(REPO_WKSP_LABEL, id.getWorkspaceName());
         repoStatus.addAttribute(REPO_CONFIG_LABEL, id.getConfiguration().toString());
 
+        if (this.repo instanceof SharedRepository) {
+            String node = ((SharedRepository)this.repo).getNodeName();
+            if (node != null)
+                repoStatus.addAttribute(REPO_NODE_LABEL, node);
+        }
+
         List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
         UnitOfWork uow = null;
         try {
@@ -173,6 +204,64 @@ public final class KomodoUtilService extends KomodoService {
         }
     }
 
+    /**
+     * @param headers
+     *        the request headers (never <code>null</code>)
+     * @param uriInfo
+     *        the request URI information (never <code>null</code>)
+     * @return the latency of each phase of the transaction commits made against the repository
+     * @throws KomodoRestException if error occurs
+     */
+    @GET
+    @Path(V1Constants.METRICS)
+    @ApiOperation( value = "Display the transaction commit metrics of the repository", response = String.class )
+    @ApiResponses(value = {
+        @ApiResponse(code = 403, message = "An error has occurred.")
+    })
+    public Response metrics(final @Context HttpHeaders headers,
+                            final @Context UriInfo uriInfo) throws KomodoRestException {
+
+        SecurityPrincipal principal = checkSecurityContext(headers);
+        if (principal.hasErrorResponse())
+            return principal.getErrorResponse();
+
+        List<MediaType> mediaTypes = headers.getAcceptableMediaTypes();
+        KomodoStatusObject status = new KomodoStatusObject(TRANSACTION_METRICS_LABEL);
+
+        if (this.repo instanceof RepositoryImpl) {
+            TransactionMetrics metrics = ((RepositoryImpl)this.repo).getTransactionMetrics();
+            status.addAttribute(COMMITS_LABEL, Long.toString(metrics.getCommits()));
+            status.addAttribute(FAILURES_LABEL, Long.toString(metrics.getFailures()));
+            status.addAttribute(SLOW_LABEL, Long.toString(metrics.getSlowTransactions()));
+            status.addAttribute(NODES_LABEL, Double.toString(metrics.getMeanNodeCount()));
+
+            for (TransactionMetrics.Phase phase : TransactionMetrics.Phase.values()) {
+                TransactionMetrics.Histogram histogram = metrics.getHistogram(phase);
+                String prefix = phase.name().toLowerCase() + SPACE;
+                status.addAttribute(prefix + MEAN_LABEL, Double.toString(histogram.getMean()));
+                status.addAttribute(prefix + P95_LABEL, Long.toString(histogram.getPercentile(95)));
+                status.addAttribute(prefix + MAX_LABEL, Long.toString(histogram.getMax()));
+                status.addAttribute(prefix + BUCKETS_LABEL, Arrays.toString(histogram.getBucketCounts()));
+            }
+        }
+
+        UnitOfWork uow = null;
+        try {
+            uow = systemTx("getMetrics", true); //$NON-NLS-1$
+            return commit(uow, mediaTypes, status);
+        } catch (Exception ex) {
+            if ((uow != null) && (uow.getState() != State.ROLLED_BACK)) {
+                uow.rollback();
+            }
+
+            if (ex instanceof KomodoRestException) {
+                throw (KomodoRestException)ex;
+            }
+
+            return createErrorResponseWithForbidden(mediaTypes, ex, METRICS_SERVICE_ERROR);
+        }
+    }
+
     /**
      * @param sampleName
      * @return the sample content for the given sample name
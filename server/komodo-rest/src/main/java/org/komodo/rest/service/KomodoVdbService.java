@@ -83,7 +83,6 @@ import org.komodo.relational.vdb.Translator;
 import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.vdb.VdbImport;
 import org.komodo.relational.workspace.WorkspaceManager;
-import org.komodo.repository.ObjectImpl;
 import org.komodo.rest.KomodoRestException;
 import org.komodo.rest.KomodoRestV1Application.V1Constants;
 import org.komodo.rest.KomodoService;
@@ -109,6 +108,7 @@ import org.komodo.rest.relational.response.RestVdbTranslator;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository.QueryCursor;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
 import org.komodo.utils.StringNameValidator;
@@ -771,31 +771,6 @@ public final class KomodoVdbService extends KomodoService {
         try {
             final String searchPattern = uriInfo.getQueryParameters().getFirst( QueryParamKeys.PATTERN );
 
-            // find VDBs
-            uow = createTransaction(principal, "getVdbs", true ); //$NON-NLS-1$
-            Vdb[] vdbs = null;
-
-            WorkspaceManager wsMgr = getWorkspaceManager(uow);
-            if ( StringUtils.isBlank( searchPattern ) ) {
-                vdbs = wsMgr.findVdbs( uow );
-                LOGGER.debug( "getVdbs:found '{0}' VDBs", vdbs.length ); //$NON-NLS-1$
-            } else {
-                final String[] vdbPaths = wsMgr.findByType( uow, VdbLexicon.Vdb.VIRTUAL_DATABASE, null, searchPattern, false );
-
-                if ( vdbPaths.length == 0 ) {
-                    vdbs = Vdb.NO_VDBS;
-                } else {
-                    vdbs = new Vdb[ vdbPaths.length ];
-                    int i = 0;
-
-                    for ( final String path : vdbPaths ) {
-                        vdbs[ i++ ] = wsMgr.resolve( uow, new ObjectImpl( wsMgr.getRepository(), path, 0 ), Vdb.class );
-                    }
-
-                    LOGGER.debug( "getVdbs:found '{0}' VDBs using pattern '{1}'", vdbs.length, searchPattern ); //$NON-NLS-1$
-                }
-            }
-
             int start = 0;
 
             { // start query parameter
@@ -834,25 +809,31 @@ public final class KomodoVdbService extends KomodoService {
                 }
             }
 
+            // find VDBs (only the requested page is loaded)
+            uow = createTransaction(principal, "getVdbs", true ); //$NON-NLS-1$
+            final WorkspaceManager wsMgr = getWorkspaceManager(uow);
+            final QueryCursor vdbs = wsMgr.findByType( uow,
+                                                       VdbLexicon.Vdb.VIRTUAL_DATABASE,
+                                                       null,
+                                                       searchPattern,
+                                                       false,
+                                                       start,
+                                                       size,
+                                                       false );
+
             final List< RestVdb > entities = new ArrayList< >();
-            int i = 0;
 
             KomodoProperties properties = new KomodoProperties();
             properties.addProperty(VDB_EXPORT_XML_PROPERTY, false);
-            for ( final Vdb vdb : vdbs ) {
-                if ( ( start == 0 ) || ( i >= start ) ) {
-                    if ( ( size == ALL_AVAILABLE ) || ( entities.size() < size ) ) {
-                        RestVdb entity = entityFactory.create(vdb, uriInfo.getBaseUri(), uow, properties);
-                        entities.add(entity);
-                        LOGGER.debug("getVdbs:VDB '{0}' entity was constructed", vdb.getName(uow)); //$NON-NLS-1$
-                    } else {
-                        break;
-                    }
-                }
-
-                ++i;
+            while ( vdbs.hasNext() ) {
+                final Vdb vdb = wsMgr.resolve( uow, vdbs.next(), Vdb.class );
+                RestVdb entity = entityFactory.create(vdb, uriInfo.getBaseUri(), uow, properties);
+                entities.add(entity);
+                LOGGER.debug("getVdbs:VDB '{0}' entity was constructed", vdb.getName(uow)); //$NON-NLS-1$
             }
 
+            LOGGER.debug( "getVdbs:found '{0}' VDBs using pattern '{1}'", entities.size(), searchPattern ); //$NON-NLS-1$
+
             // create response
             return commit( uow, mediaTypes, entities );
 
@@ -90,6 +90,24 @@ public final class KomodoUtilServiceTest extends AbstractKomodoServiceTest {
         assertTrue(entity.contains(KomodoUtilService.APP_DESCRIPTION));
     }
 
+    @Test
+    public void shouldGetMetrics() throws Exception {
+        loadSamples(USER_NAME);
+
+        // get
+        URI uri = UriBuilder.fromUri(_uriBuilder.baseUri())
+                                                    .path(V1Constants.SERVICE_SEGMENT)
+                                                    .path(V1Constants.METRICS).build();
+
+        ClientRequest request = request(uri, MediaType.APPLICATION_JSON_TYPE);
+        ClientResponse<String> response = request.get(String.class);
+        assertNotNull(response.getEntity());
+
+        final String entity = response.getEntity();
+        assertTrue(entity.contains(KomodoUtilService.COMMITS_LABEL));
+        assertTrue(entity.contains("total 95th percentile ms"));
+    }
+
     @Test
     public void shouldReturnSwaggerSpec() throws Exception {
 